@@ -1,8 +1,17 @@
 import React, { useState, useEffect } from 'react';
 import { Link } from 'react-router-dom';
 import { FaUsers, FaBuilding, FaChartLine, FaPlus, FaEye, FaEdit, FaTrash } from 'react-icons/fa';
-import { employeeAPI, departmentAPI } from '../services/api';
+import { dashboardAPI } from '../services/api';
 import { authService } from '../services/authService';
+import { subscribeToChanges } from '../services/events';
+
+const RECENT_EMPLOYEES = 5;
+const RECENT_DEPARTMENTS = 3;
+
+// Add delta to the employee count of a listed department (no-op for null: unassigned employees)
+const adjustCount = (departments, id, delta) =>
+  id == null ? departments : departments.map(dept =>
+    dept.id === id ? { ...dept, employeeCount: Math.max(0, dept.employeeCount + delta) } : dept);
 
 function Dashboard() {
   const [stats, setStats] = useState({
@@ -18,23 +27,70 @@ function Dashboard() {
     fetchDashboardData();
   }, []);
 
+  // Creates and edits are applied in place; deletes and bulk changes reload the summary so the
+  // recent lists can be backfilled
+  useEffect(() => subscribeToChanges((event) => {
+    switch (event.type) {
+      case 'employee.created':
+        setStats(prev => prev.recentEmployees.some(emp => emp.id === event.entityId) ? prev : {
+          ...prev,
+          totalEmployees: prev.totalEmployees + 1,
+          recentEmployees: [event.data, ...prev.recentEmployees].slice(0, RECENT_EMPLOYEES),
+          recentDepartments: adjustCount(prev.recentDepartments, event.departmentId, 1)
+        });
+        break;
+      case 'employee.updated':
+      case 'employee.assigned':
+        setStats(prev => ({
+          ...prev,
+          recentEmployees: prev.recentEmployees.map(emp => emp.id === event.entityId ? event.data : emp),
+          recentDepartments: event.previousDepartmentId === event.departmentId ? prev.recentDepartments
+            : adjustCount(adjustCount(prev.recentDepartments, event.previousDepartmentId, -1), event.departmentId, 1)
+        }));
+        break;
+      case 'department.created':
+        setStats(prev => prev.recentDepartments.some(dept => dept.id === event.entityId) ? prev : {
+          ...prev,
+          totalDepartments: prev.totalDepartments + 1,
+          recentDepartments: [{ ...event.data, employeeCount: 0 }, ...prev.recentDepartments].slice(0, RECENT_DEPARTMENTS)
+        });
+        break;
+      case 'department.updated':
+        setStats(prev => ({
+          ...prev,
+          recentDepartments: prev.recentDepartments.map(dept =>
+            dept.id === event.entityId ? { ...dept, ...event.data } : dept)
+        }));
+        break;
+      case 'employee.deleted':
+      case 'employee.upserted':
+      case 'employees.transferred':
+      case 'employees.imported':
+      case 'department.deleted':
+      case 'resync':
+        loadSummary().catch(error => console.error('Error refreshing dashboard data:', error));
+        break;
+      default:
+        break;
+    }
+  }), []);
+
+  const loadSummary = async () => {
+    const response = await dashboardAPI.getSummary(RECENT_EMPLOYEES, RECENT_DEPARTMENTS);
+    const summary = response.data;
+
+    setStats({
+      totalEmployees: summary.totalEmployees,
+      totalDepartments: summary.totalDepartments,
+      recentEmployees: summary.recentEmployees,
+      recentDepartments: summary.recentDepartments
+    });
+  };
+
   const fetchDashboardData = async () => {
     try {
       setLoading(true);
-      const [employeesRes, departmentsRes] = await Promise.all([
-        employeeAPI.getAllEmployees(),
-        departmentAPI.getAllDepartments()
-      ]);
-
-      const employees = employeesRes.data;
-      const departments = departmentsRes.data;
-
-      setStats({
-        totalEmployees: employees.length,
-        totalDepartments: departments.length,
-        recentEmployees: employees.slice(-5).reverse(),
-        recentDepartments: departments.slice(-3).reverse()
-      });
+      await loadSummary();
     } catch (error) {
       console.error('Error fetching dashboard data:', error);
     } finally {
@@ -526,7 +582,7 @@ function Dashboard() {
                       {department.name}
                     </div>
                     <div style={{ fontSize: '0.9rem', color: '#7f8c8d' }}>
-                      {department.employees?.length || 0} employees
+                      {department.employeeCount} employees
                     </div>
                   </div>
                   <div style={{ fontSize: '0.8rem', color: '#95a5a6' }}>
@@ -12,6 +12,12 @@ import {
   FaFileAlt
 } from 'react-icons/fa';
 import { departmentAPI } from '../services/api';
+import { subscribeToChanges } from '../services/events';
+
+// Add delta to the employee count of one department (no-op for null: unassigned employees)
+const adjustCount = (departments, id, delta) =>
+  id == null ? departments : departments.map(dept =>
+    dept.id === id ? { ...dept, employeeCount: Math.max(0, dept.employeeCount + delta) } : dept);
 
 function DepartmentList() {
   const [departments, setDepartments] = useState([]);
@@ -23,6 +29,56 @@ function DepartmentList() {
     fetchDepartments();
   }, []);
 
+  // Keep names and headcounts current from pushed changes instead of reloading the list
+  useEffect(() => subscribeToChanges((event) => {
+    switch (event.type) {
+      case 'department.created':
+        setDepartments(prev => prev.some(dept => dept.id === event.entityId)
+          ? prev : [...prev, { ...event.data, employeeCount: 0 }]);
+        break;
+      case 'department.updated':
+        setDepartments(prev => prev.map(dept => dept.id === event.entityId ? { ...dept, ...event.data } : dept));
+        break;
+      case 'department.deleted':
+        setDepartments(prev => adjustCount(prev.filter(dept => dept.id !== event.entityId),
+          event.departmentId, event.data.transferred));
+        break;
+      case 'employee.created':
+        setDepartments(prev => adjustCount(prev, event.departmentId, 1));
+        break;
+      case 'employee.deleted':
+        setDepartments(prev => adjustCount(prev, event.departmentId, -1));
+        break;
+      case 'employee.updated':
+      case 'employee.assigned':
+        if (event.previousDepartmentId !== event.departmentId) {
+          setDepartments(prev => adjustCount(adjustCount(prev, event.previousDepartmentId, -1), event.departmentId, 1));
+        }
+        break;
+      case 'employees.transferred':
+        setDepartments(prev => adjustCount(adjustCount(prev, event.previousDepartmentId, -event.data.transferred),
+          event.departmentId, event.data.transferred));
+        break;
+      case 'employee.upserted':
+      case 'employees.imported':
+      case 'resync':
+        // Which departments changed is not known; one grouped query recounts them all
+        reloadInPlace();
+        break;
+      default:
+        break;
+    }
+  }), []);
+
+  const reloadInPlace = async () => {
+    try {
+      const response = await departmentAPI.getAllDepartments();
+      setDepartments(response.data);
+    } catch (err) {
+      console.error('Error refreshing departments:', err);
+    }
+  };
+
   const fetchDepartments = async () => {
     try {
       setLoading(true);
@@ -37,18 +93,36 @@ function DepartmentList() {
   };
 
   const handleDelete = async (id, name) => {
-    if (window.confirm(`Are you sure you want to delete "${name}"? This will also remove all employees from this department.`)) {
+    if (window.confirm(`Are you sure you want to delete "${name}"?`)) {
       try {
         await departmentAPI.deleteDepartment(id);
         setDepartments(departments.filter(dept => dept.id !== id));
         toast.success(`Department "${name}" deleted successfully!`);
       } catch (err) {
+        if (err.response?.status === 409) {
+          handleDeleteNonEmpty(id, name);
+          return;
+        }
         toast.error('Failed to delete department');
         console.error('Delete error:', err);
       }
     }
   };
 
+  // The department still has employees: only delete it if they may be left without a department
+  const handleDeleteNonEmpty = async (id, name) => {
+    if (window.confirm(`"${name}" still has employees. Delete it anyway and leave them without a department?`)) {
+      try {
+        const response = await departmentAPI.deleteDepartment(id, { policy: 'unassign' });
+        setDepartments(departments.filter(dept => dept.id !== id));
+        toast.success(response.data);
+      } catch (err) {
+        toast.error(err.response?.data || 'Failed to delete department');
+        console.error('Delete error:', err);
+      }
+    }
+  };
+
   const handleSearch = () => {
     // Client-side search for departments
     if (!searchTerm.trim()) {
@@ -161,7 +235,7 @@ function DepartmentList() {
                     <td>
                       <div style={{ display: 'flex', alignItems: 'center', gap: '0.5rem', color: 'var(--info-color)', fontWeight: '600' }}>
                         <FaUsers style={{ fontSize: '0.8rem' }} />
-                        {department.employees?.length || 0}
+                        {department.employeeCount}
                       </div>
                     </td>
                     <td>
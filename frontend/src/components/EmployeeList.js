@@ -1,4 +1,4 @@
-import React, { useState, useEffect } from 'react';
+import React, { useState, useEffect, useRef } from 'react';
 import { Link } from 'react-router-dom';
 import { toast } from 'react-hot-toast';
 import { 
@@ -15,6 +15,7 @@ import {
   FaIdCard
 } from 'react-icons/fa';
 import { employeeAPI, departmentAPI } from '../services/api';
+import { subscribeToChanges } from '../services/events';
 
 function EmployeeList() {
   const [employees, setEmployees] = useState([]);
@@ -23,19 +24,71 @@ function EmployeeList() {
   const [error, setError] = useState(null);
   const [searchTerm, setSearchTerm] = useState('');
   const [selectedDepartment, setSelectedDepartment] = useState('');
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
+  // Fetches the next page for whichever listing (all, search, department) is shown
+  const pageSource = useRef((params) => employeeAPI.getAllEmployees(params));
+  // Read by the change listener, which is registered once
+  const nextCursorRef = useRef(null);
+  nextCursorRef.current = nextCursor;
 
   useEffect(() => {
     fetchData();
   }, []);
 
+  // Apply pushed changes to the rows on screen; bulk changes and resyncs reload the current listing
+  useEffect(() => subscribeToChanges((event) => {
+    switch (event.type) {
+      case 'employee.created':
+        // Listings are in id order, so a new employee belongs after the last page
+        if (!nextCursorRef.current) {
+          setEmployees(prev => prev.some(emp => emp.id === event.entityId) ? prev : [...prev, event.data]);
+        }
+        break;
+      case 'employee.updated':
+      case 'employee.assigned':
+      case 'employee.upserted':
+        setEmployees(prev => prev.map(emp =>
+          emp.id === event.entityId && emp.version <= event.data.version ? event.data : emp));
+        break;
+      case 'employee.deleted':
+        setEmployees(prev => prev.filter(emp => emp.id !== event.entityId));
+        break;
+      case 'department.created':
+        setDepartments(prev => prev.some(dept => dept.id === event.entityId)
+          ? prev : [...prev, { ...event.data, employeeCount: 0 }]);
+        break;
+      case 'department.updated':
+        setDepartments(prev => prev.map(dept => dept.id === event.entityId ? { ...dept, ...event.data } : dept));
+        setEmployees(prev => prev.map(emp =>
+          emp.department?.id === event.entityId ? { ...emp, department: event.data } : emp));
+        break;
+      case 'department.deleted':
+        setDepartments(prev => prev.filter(dept => dept.id !== event.entityId));
+        if (event.data.transferred > 0) {
+          reloadInPlace();
+        }
+        break;
+      case 'employees.transferred':
+      case 'employees.imported':
+      case 'resync':
+        reloadInPlace();
+        break;
+      default:
+        break;
+    }
+  }), []);
+
   const fetchData = async () => {
     try {
       setLoading(true);
+      pageSource.current = (params) => employeeAPI.getAllEmployees(params);
       const [employeesRes, departmentsRes] = await Promise.all([
-        employeeAPI.getAllEmployees(),
+        pageSource.current(),
         departmentAPI.getAllDepartments()
       ]);
-      setEmployees(employeesRes.data);
+      setEmployees(employeesRes.data.items);
+      setNextCursor(employeesRes.data.nextCursor);
       setDepartments(departmentsRes.data);
     } catch (err) {
       setError('Failed to load employees');
@@ -45,6 +98,21 @@ function EmployeeList() {
     }
   };
 
+  // Refresh the first page of the current listing and the departments without the loading screen
+  const reloadInPlace = async () => {
+    try {
+      const [employeesRes, departmentsRes] = await Promise.all([
+        pageSource.current(),
+        departmentAPI.getAllDepartments()
+      ]);
+      setEmployees(employeesRes.data.items);
+      setNextCursor(employeesRes.data.nextCursor);
+      setDepartments(departmentsRes.data);
+    } catch (err) {
+      console.error('Error refreshing employees:', err);
+    }
+  };
+
   const handleDelete = async (id, name) => {
     if (window.confirm(`Are you sure you want to delete ${name}?`)) {
       try {
@@ -66,9 +134,11 @@ function EmployeeList() {
 
     try {
       setLoading(true);
-      const response = await employeeAPI.searchEmployeesByName(searchTerm);
-      setEmployees(response.data);
-      toast.success(`Found ${response.data.length} employee(s)`);
+      pageSource.current = (params) => employeeAPI.searchEmployeesByName(searchTerm, params);
+      const response = await pageSource.current();
+      setEmployees(response.data.items);
+      setNextCursor(response.data.nextCursor);
+      toast.success(`Found ${response.data.items.length}${response.data.hasMore ? '+' : ''} employee(s)`);
     } catch (err) {
       toast.error('Failed to search employees');
       console.error('Search error:', err);
@@ -85,8 +155,10 @@ function EmployeeList() {
 
     try {
       setLoading(true);
-      const response = await employeeAPI.getEmployeesByDepartmentId(selectedDepartment);
-      setEmployees(response.data);
+      pageSource.current = (params) => employeeAPI.getEmployeesByDepartmentId(selectedDepartment, params);
+      const response = await pageSource.current();
+      setEmployees(response.data.items);
+      setNextCursor(response.data.nextCursor);
     } catch (err) {
       setError('Failed to filter employees by department');
       console.error('Filter error:', err);
@@ -95,6 +167,24 @@ function EmployeeList() {
     }
   };
 
+  const handleLoadMore = async () => {
+    if (!nextCursor) {
+      return;
+    }
+
+    try {
+      setLoadingMore(true);
+      const response = await pageSource.current({ after: nextCursor });
+      setEmployees(prev => [...prev, ...response.data.items]);
+      setNextCursor(response.data.nextCursor);
+    } catch (err) {
+      toast.error('Failed to load more employees');
+      console.error('Load more error:', err);
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const handleClear = () => {
     setSearchTerm('');
     setSelectedDepartment('');
@@ -182,7 +272,7 @@ function EmployeeList() {
       <div className="card">
         <div style={{ display: 'flex', alignItems: 'center', gap: '0.5rem', marginBottom: '1rem' }}>
           <FaUsers className="icon" style={{ color: 'var(--primary-color)' }} />
-          <h3>Employees ({filteredEmployees.length})</h3>
+          <h3>Employees ({filteredEmployees.length}{nextCursor ? '+' : ''})</h3>
         </div>
         
         {filteredEmployees.length > 0 ? (
@@ -266,6 +356,13 @@ function EmployeeList() {
                 ))}
               </tbody>
             </table>
+            {nextCursor && (
+              <div style={{ textAlign: 'center', marginTop: '1rem' }}>
+                <button className="btn btn-secondary" onClick={handleLoadMore} disabled={loadingMore}>
+                  {loadingMore ? 'Loading...' : 'Load more'}
+                </button>
+              </div>
+            )}
           </div>
         ) : (
           <div style={{ textAlign: 'center', padding: '3rem', color: '#666' }}>
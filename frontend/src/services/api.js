@@ -38,8 +38,8 @@ api.interceptors.response.use(
 
 // Employee API calls
 export const employeeAPI = {
-  // Get all employees
-  getAllEmployees: () => api.get('/api/employees'),
+  // Get one page of employees; params: { sort, after, limit }
+  getAllEmployees: (params = {}) => api.get('/api/employees', { params }),
   
   // Get employee by ID
   getEmployeeById: (id) => api.get(`/api/employees/${id}`),
@@ -47,11 +47,23 @@ export const employeeAPI = {
   // Get employee by email
   getEmployeeByEmail: (email) => api.get(`/api/employees/email/${email}`),
   
-  // Get employees by department ID
-  getEmployeesByDepartmentId: (departmentId) => api.get(`/api/employees/department/${departmentId}`),
+  // Get one page of employees by department ID
+  getEmployeesByDepartmentId: (departmentId, params = {}) =>
+    api.get(`/api/employees/department/${departmentId}`, { params }),
   
-  // Search employees by name
-  searchEmployeesByName: (name) => api.get(`/api/employees/name/${name}`),
+  // Search one page of employees by name
+  searchEmployeesByName: (name, params = {}) => api.get(`/api/employees/name/${name}`, { params }),
+  
+  // Multi-criteria search; params: { departmentIds, minSalary, maxSalary, namePrefix, emailDomain, sort, after, limit }
+  searchEmployees: (params = {}) =>
+    api.get('/api/employees/search', { params, paramsSerializer: { indexes: null } }),
+  
+  // Ranked name/email prefix suggestions
+  typeahead: (q, limit = 10) => api.get('/api/employees/typeahead', { params: { q, limit } }),
+  
+  // Employees and departments changed or deleted after a feed position (omit since for a full
+  // sync); pass the response's nextSince as since on the next call
+  getChanges: (since, limit) => api.get('/api/employees/changes', { params: { since, limit } }),
   
   // Create new employee
   createEmployee: (employee) => api.post('/api/employees', employee),
@@ -59,6 +71,9 @@ export const employeeAPI = {
   // Update employee
   updateEmployee: (id, employee) => api.put(`/api/employees/${id}`, employee),
   
+  // Create or update the employee with this email (201 created, 200 updated)
+  upsertEmployeeByEmail: (email, employee) => api.put(`/api/employees/by-email/${encodeURIComponent(email)}`, employee),
+  
   // Delete employee
   deleteEmployee: (id) => api.delete(`/api/employees/${id}`),
   
@@ -81,6 +96,9 @@ export const departmentAPI = {
   // Get department by ID
   getDepartmentById: (id) => api.get(`/api/departments/${id}`),
   
+  // Get one page of a department's employees; params: { sort, after, limit }
+  getDepartmentEmployees: (id, params = {}) => api.get(`/api/departments/${id}/employees`, { params }),
+  
   // Get department by name
   getDepartmentByName: (name) => api.get(`/api/departments/name/${name}`),
   
@@ -90,8 +108,15 @@ export const departmentAPI = {
   // Update department
   updateDepartment: (id, department) => api.put(`/api/departments/${id}`, department),
   
-  // Delete department
-  deleteDepartment: (id) => api.delete(`/api/departments/${id}`),
+  // Delete department; options { policy: 'reject' | 'reassign' | 'unassign', targetDepartmentId? }.
+  // The default policy rejects departments that still have employees with 409
+  deleteDepartment: (id, options = {}) => api.delete(`/api/departments/${id}`, { params: options }),
+  
+  // Headcount and salary statistics of a department (total, average, min, max, bands)
+  getDepartmentStats: (id) => api.get(`/api/departments/${id}/stats`),
+  
+  // Move employees to another department in one request: { targetDepartmentId, employeeIds?, filter? }
+  transferEmployees: (fromId, transfer) => api.post(`/api/departments/${fromId}/transfer`, transfer),
   
   // Check if department exists
   departmentExists: (id) => api.get(`/api/departments/exists/${id}`),
@@ -100,4 +125,23 @@ export const departmentAPI = {
   departmentExistsByName: (name) => api.get(`/api/departments/exists/name/${name}`),
 };
 
+// Dashboard API calls
+export const dashboardAPI = {
+  // Get counts, recent items and per-department headcounts
+  getSummary: (recentEmployees = 5, recentDepartments = 3) =>
+    api.get('/api/dashboard/summary', { params: { recentEmployees, recentDepartments } }),
+};
+
+// Statistics API calls
+export const statsAPI = {
+  // Company-wide headcount and salary statistics
+  getSalaryStats: () => api.get('/api/stats/salaries'),
+};
+
+// Audit log API calls (admin only)
+export const auditAPI = {
+  // Entries newest first; params: { entity, entityId, principal, after, limit }
+  getEntries: (params = {}) => api.get('/api/audit', { params }),
+};
+
 export default api;
@@ -0,0 +1,124 @@
+const API_BASE_URL = 'http://localhost:8080';
+
+// Change stream from /api/events, shared by every mounted component. EventSource cannot send the
+// Authorization header, so the stream is read with fetch and parsed here; after a dropped
+// connection it reconnects with Last-Event-ID and the server replays what was missed (or sends
+// 'resync' when it no longer can).
+const listeners = new Set();
+let connection = null;
+
+// listener(event) receives { id, type, entityId, departmentId, previousDepartmentId, data, timestamp };
+// returns the function that unsubscribes it
+export const subscribeToChanges = (listener) => {
+  listeners.add(listener);
+  if (!connection) {
+    connection = new AbortController();
+    run(connection);
+  }
+  return () => {
+    listeners.delete(listener);
+    if (listeners.size === 0 && connection) {
+      connection.abort();
+      connection = null;
+    }
+  };
+};
+
+const run = async (controller) => {
+  let lastEventId = null;
+  let retryMillis = 3000;
+
+  while (!controller.signal.aborted) {
+    try {
+      const headers = { Accept: 'text/event-stream' };
+      const token = localStorage.getItem('token');
+      if (token) {
+        headers.Authorization = `Bearer ${token}`;
+      }
+      if (lastEventId) {
+        headers['Last-Event-ID'] = lastEventId;
+      }
+      const response = await fetch(`${API_BASE_URL}/api/events`, { headers, signal: controller.signal });
+      if (response.status === 401 || response.status === 403) {
+        // Not signed in; the REST calls handle the redirect to the login page
+        return;
+      }
+      if (!response.ok) {
+        throw new Error(`Event stream returned ${response.status}`);
+      }
+
+      const reader = response.body.pipeThrough(new TextDecoderStream()).getReader();
+      let buffer = '';
+      for (;;) {
+        const { value, done } = await reader.read();
+        if (done) {
+          break;
+        }
+        buffer += value.replace(/\r\n?/g, '\n');
+        let boundary;
+        while ((boundary = buffer.indexOf('\n\n')) >= 0) {
+          const block = buffer.slice(0, boundary);
+          buffer = buffer.slice(boundary + 2);
+          const message = parseBlock(block);
+          if (message.retry) {
+            retryMillis = message.retry;
+          }
+          if (message.id) {
+            lastEventId = message.id;
+          }
+          if (message.data) {
+            dispatch(JSON.parse(message.data));
+          }
+        }
+      }
+    } catch (err) {
+      if (controller.signal.aborted) {
+        return;
+      }
+      console.error('Event stream error:', err);
+    }
+    await sleep(retryMillis, controller.signal);
+  }
+};
+
+// One event block: 'field:value' lines; lines starting with ':' are comments (heartbeats)
+const parseBlock = (block) => {
+  const message = { data: null, id: null, retry: null };
+  for (const line of block.split('\n')) {
+    if (!line || line.startsWith(':')) {
+      continue;
+    }
+    const colon = line.indexOf(':');
+    const field = colon < 0 ? line : line.slice(0, colon);
+    let value = colon < 0 ? '' : line.slice(colon + 1);
+    if (value.startsWith(' ')) {
+      value = value.slice(1);
+    }
+    if (field === 'data') {
+      message.data = message.data === null ? value : `${message.data}\n${value}`;
+    } else if (field === 'id') {
+      message.id = value;
+    } else if (field === 'retry' && /^\d+$/.test(value)) {
+      message.retry = parseInt(value, 10);
+    }
+  }
+  return message;
+};
+
+const dispatch = (event) => {
+  listeners.forEach((listener) => {
+    try {
+      listener(event);
+    } catch (err) {
+      console.error('Change listener failed:', err);
+    }
+  });
+};
+
+const sleep = (millis, signal) => new Promise((resolve) => {
+  const timer = setTimeout(resolve, millis);
+  signal.addEventListener('abort', () => {
+    clearTimeout(timer);
+    resolve();
+  }, { once: true });
+});
@@ -0,0 +1,89 @@
+package com.apc.ems.Controllers;
+
+import com.apc.ems.DTOs.EmployeeView;
+import com.apc.ems.Entities.Department;
+import com.apc.ems.Entities.Employee;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response-body serialization of realistic payloads: a page of employees (each with its
+ * department) as entities and as view records, and the department list.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    private static final int DEPARTMENTS = 20;
+
+    // Page sizes: the default limit and the maximum limit
+    @Param({"50", "500"})
+    public int employees;
+
+    private ObjectMapper objectMapper;
+    private List<Employee> employeeEntities;
+    private List<EmployeeView> employeeViews;
+    private List<Department> departments;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        departments = new ArrayList<>(DEPARTMENTS);
+        for (int i = 0; i < DEPARTMENTS; i++) {
+            Department department = new Department();
+            department.setId((long) i + 1);
+            department.setName("Department " + i);
+            department.setDescription("Description of department " + i + " and what it is responsible for");
+            departments.add(department);
+        }
+
+        employeeEntities = new ArrayList<>(employees);
+        employeeViews = new ArrayList<>(employees);
+        for (int i = 0; i < employees; i++) {
+            Employee employee = new Employee();
+            employee.setId((long) i + 1);
+            employee.setName("Employee Number" + i);
+            employee.setEmail("employee.number" + i + "@example.com");
+            employee.setPhone("+1-555-01" + String.format("%04d", i));
+            employee.setSalary(40_000.0 + i * 37.5);
+            employee.setDepartment(departments.get(i % DEPARTMENTS));
+            employeeEntities.add(employee);
+            employeeViews.add(EmployeeView.of(employee));
+        }
+    }
+
+    @Benchmark
+    public byte[] employeeEntities() throws Exception {
+        return objectMapper.writeValueAsBytes(employeeEntities);
+    }
+
+    @Benchmark
+    public byte[] employeeViews() throws Exception {
+        return objectMapper.writeValueAsBytes(employeeViews);
+    }
+
+    @Benchmark
+    public byte[] departments() throws Exception {
+        return objectMapper.writeValueAsBytes(departments);
+    }
+}
@@ -0,0 +1,120 @@
+package com.apc.ems.Service;
+
+import com.apc.ems.DTOs.CursorPage;
+import com.apc.ems.DTOs.EmployeeSearchCriteria;
+import com.apc.ems.DTOs.EmployeeView;
+import com.apc.ems.EmsApplication;
+import com.apc.ems.Entities.Department;
+import com.apc.ems.Entities.Employee;
+import com.apc.ems.Repository.EmployeeRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * EmployeeService create, multi-criteria search and page listing against the embedded H2
+ * database of the test profile, seeded with 20 departments and 10,000 employees.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmployeeServiceBenchmark {
+
+    private static final int DEPARTMENTS = 20;
+    private static final int EMPLOYEES = 10_000;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+    private List<Long> departmentIds;
+    private EmployeeSearchCriteria criteria;
+    private final AtomicLong created = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(EmsApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .properties("logging.level.root=WARN")
+                .run();
+        employeeService = context.getBean(EmployeeService.class);
+        DepartmentService departmentService = context.getBean(DepartmentService.class);
+        EmployeeRepository employeeRepository = context.getBean(EmployeeRepository.class);
+
+        departmentIds = new ArrayList<>(DEPARTMENTS);
+        List<Department> departments = new ArrayList<>(DEPARTMENTS);
+        for (int i = 0; i < DEPARTMENTS; i++) {
+            Department department = new Department();
+            department.setName("Benchmark Department " + i);
+            department = departmentService.createDepartment(department);
+            departments.add(department);
+            departmentIds.add(department.getId());
+        }
+
+        List<Employee> employees = new ArrayList<>(EMPLOYEES);
+        for (int i = 0; i < EMPLOYEES; i++) {
+            Employee employee = new Employee();
+            employee.setName((i % 2 == 0 ? "Alex " : "Sam ") + "Benchmark" + i);
+            employee.setEmail("seed" + i + (i % 4 == 0 ? "@corp.example.com" : "@example.com"));
+            employee.setSalary(35_000.0 + (i % 100) * 1_000);
+            employee.setDepartment(departments.get(i % DEPARTMENTS));
+            employees.add(employee);
+        }
+        new TransactionTemplate(context.getBean(PlatformTransactionManager.class))
+                .executeWithoutResult(status -> employeeRepository.saveAll(employees));
+
+        criteria = new EmployeeSearchCriteria();
+        criteria.setDepartmentIds(List.of(departmentIds.get(3)));
+        criteria.setMinSalary(60_000.0);
+        criteria.setMaxSalary(90_000.0);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public Employee create() {
+        long n = created.incrementAndGet();
+        Department department = new Department();
+        department.setId(departmentIds.get((int) (n % DEPARTMENTS)));
+        Employee employee = new Employee();
+        employee.setName("Created Benchmark" + n);
+        employee.setEmail("created" + n + "@example.com");
+        employee.setSalary(50_000.0);
+        employee.setDepartment(department);
+        return employeeService.createEmployee(employee);
+    }
+
+    @Benchmark
+    public CursorPage<EmployeeView> search() {
+        return employeeService.searchEmployees(criteria, "salary", null, 50);
+    }
+
+    @Benchmark
+    public CursorPage<EmployeeView> listPage() {
+        return employeeService.getEmployeesPage("name", null, 50);
+    }
+}
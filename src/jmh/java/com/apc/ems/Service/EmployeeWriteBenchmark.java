@@ -0,0 +1,98 @@
+package com.apc.ems.Service;
+
+import com.apc.ems.DTOs.EmployeeUpsertResult;
+import com.apc.ems.EmsApplication;
+import com.apc.ems.Entities.Department;
+import com.apc.ems.Entities.Employee;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Employee write throughput with several concurrent writers against the embedded H2 database
+ * of the test profile: creates with fresh e-mails, and upserts over a fixed pool of e-mails
+ * so that writers keep colliding on the same rows.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 6, time = 3)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmployeeWriteBenchmark {
+
+    private static final int DEPARTMENTS = 10;
+    private static final int UPSERT_EMAILS = 200;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+    private List<Long> departmentIds;
+    private final AtomicLong created = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(EmsApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .properties("logging.level.root=WARN")
+                .run();
+        employeeService = context.getBean(EmployeeService.class);
+        DepartmentService departmentService = context.getBean(DepartmentService.class);
+
+        departmentIds = new ArrayList<>(DEPARTMENTS);
+        for (int i = 0; i < DEPARTMENTS; i++) {
+            Department department = new Department();
+            department.setName("Write Benchmark Department " + i);
+            departmentIds.add(departmentService.createDepartment(department).getId());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public Employee create() {
+        long n = created.incrementAndGet();
+        return employeeService.createEmployee(employee(n, "created" + n + "@example.com"));
+    }
+
+    @Benchmark
+    public EmployeeUpsertResult upsert() {
+        long n = ThreadLocalRandom.current().nextInt(UPSERT_EMAILS);
+        String email = "upserted" + n + "@example.com";
+        return employeeService.upsertEmployeeByEmail(email, employee(n, email));
+    }
+
+    private Employee employee(long n, String email) {
+        Department department = new Department();
+        department.setId(departmentIds.get((int) (n % DEPARTMENTS)));
+        Employee employee = new Employee();
+        employee.setName("Write Benchmark" + n);
+        employee.setEmail(email);
+        employee.setSalary(40_000.0 + ThreadLocalRandom.current().nextInt(60) * 1_000);
+        employee.setDepartment(department);
+        return employee;
+    }
+}
@@ -0,0 +1,168 @@
+package com.apc.ems.loadtest;
+
+import com.apc.ems.Entities.Employee;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic synthetic dataset: the same seed and sizes always produce the same rows.
+ *
+ * <p>Department sizes follow a Zipf distribution (a few very large departments, a long
+ * tail of small ones), salaries are log-normal around a per-department median, and names
+ * are drawn from common first-name and surname pools so that typeahead and prefix search
+ * see realistic duplicates. Rows go in through plain JDBC batches, bypassing JPA, so a
+ * million employees load in well under a minute on a local database. Meant for an empty
+ * schema: department and user names are fixed per index and would collide on a second run.
+ */
+public class DatasetGenerator {
+
+    public static final String USER_PASSWORD = "loadtest-password";
+    public static final String DEPARTMENT_PREFIX = "LT Department ";
+    public static final String USER_PREFIX = "loaduser";
+
+    private static final int BATCH_SIZE = 1_000;
+
+    private static final String[] FIRST_NAMES = {
+            "James", "Mary", "John", "Patricia", "Robert", "Jennifer", "Michael", "Linda", "William", "Elizabeth",
+            "David", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah", "Charles", "Karen",
+            "Priya", "Wei", "Aarav", "Mei", "Mohammed", "Fatima", "Carlos", "Sofia", "Hiroshi", "Yuki",
+            "Olga", "Ivan", "Amara", "Kwame", "Lucas", "Emma", "Noah", "Olivia", "Liam", "Ava",
+            "Mateo", "Isabella", "Arjun", "Ananya", "Chen", "Lin", "Omar", "Layla", "Diego", "Valentina"};
+
+    private static final String[] SURNAMES = {
+            "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez", "Martinez",
+            "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas", "Taylor", "Moore", "Jackson", "Martin",
+            "Lee", "Perez", "Thompson", "White", "Harris", "Sanchez", "Clark", "Ramirez", "Lewis", "Robinson",
+            "Patel", "Sharma", "Wang", "Zhang", "Li", "Nguyen", "Kim", "Tanaka", "Suzuki", "Ivanov",
+            "Kowalski", "Muller", "Schmidt", "Rossi", "Silva", "Santos", "Okafor", "Mensah", "Haddad", "Cohen"};
+
+    private static final String[] DEPARTMENT_WORDS = {
+            "Engineering", "Sales", "Support", "Finance", "Marketing", "Operations", "Legal", "Research",
+            "Procurement", "Facilities", "Security", "Analytics", "Design", "Training", "Logistics", "Quality"};
+
+    // Most staff use the corporate domain; contractors and subsidiaries make up the rest
+    private static final String[] EMAIL_DOMAINS = {"corp.example.com", "contractors.example.com", "labs.example.org"};
+    private static final double[] EMAIL_DOMAIN_CDF = {0.85, 0.95, 1.0};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+
+    public DatasetGenerator(DataSource dataSource, PasswordEncoder passwordEncoder) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    public record Spec(int departments, int employees, int users, long seed, double departmentSkew) {}
+
+    public record Result(List<Long> departmentIds, long firstEmployeeId, long lastEmployeeId, int users, long millis) {}
+
+    public Result generate(Spec spec) {
+        long start = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(spec.seed());
+
+        List<Long> departmentIds = insertDepartments(spec.departments());
+        double[] medians = new double[departmentIds.size()];
+        for (int i = 0; i < medians.length; i++) {
+            medians[i] = 45_000 + random.nextInt(50) * 1_000;
+        }
+        double[] departmentCdf = zipfCdf(departmentIds.size(), spec.departmentSkew());
+
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM employees", Long.class);
+        long firstId = (maxId == null ? 0 : maxId) + 1;
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < spec.employees(); i++) {
+            String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String last = SURNAMES[random.nextInt(SURNAMES.length)];
+            String domain = EMAIL_DOMAINS[pick(random, EMAIL_DOMAIN_CDF)];
+            int department = pick(random, departmentCdf);
+            double salary = Math.round(medians[department] * Math.exp(0.35 * random.nextGaussian()) / 100) * 100.0;
+            long id = firstId + i;
+            batch.add(new Object[] {
+                    id, 0L, first + " " + last,
+                    (first + "." + last + "." + id).toLowerCase(Locale.ROOT) + "@" + domain,
+                    String.format("+1-555-%03d-%04d", random.nextInt(1000), random.nextInt(10_000)),
+                    domain, salary, departmentIds.get(department)});
+            if (batch.size() == BATCH_SIZE) {
+                insertEmployees(batch);
+                batch.clear();
+            }
+        }
+        insertEmployees(batch);
+        long lastId = firstId + spec.employees() - 1;
+        advanceEmployeeSequence(lastId);
+
+        int users = insertUsers(spec.users());
+        return new Result(departmentIds, firstId, lastId, users, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private List<Long> insertDepartments(int count) {
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[] {DEPARTMENT_PREFIX + i + " " + DEPARTMENT_WORDS[i % DEPARTMENT_WORDS.length],
+                    "Synthetic " + DEPARTMENT_WORDS[i % DEPARTMENT_WORDS.length].toLowerCase(Locale.ROOT) + " team"});
+        }
+        // Change sequence 0: the generated rows predate the change feed and come with a full sync
+        jdbcTemplate.batchUpdate("INSERT INTO departments (version, name, description, change_seq) VALUES (0, ?, ?, 0)", rows);
+        // Ordered by id, which follows insertion order, so index i is department i
+        return jdbcTemplate.queryForList("SELECT id FROM departments WHERE name LIKE ? ORDER BY id",
+                Long.class, DEPARTMENT_PREFIX + "%");
+    }
+
+    private void insertEmployees(List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO employees (id, version, name, email, phone, email_domain, salary, department_id, change_seq) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0)", rows);
+        }
+    }
+
+    // Explicit ids were used, so move the pooled sequence past them (table on MySQL, sequence on H2).
+    // The pooled optimizer hands out ids below the stored value, so leave a full block of headroom.
+    private void advanceEmployeeSequence(long lastId) {
+        long next = lastId + Employee.ID_ALLOCATION_SIZE + 1;
+        try {
+            jdbcTemplate.update("UPDATE employees_seq SET next_val = ? WHERE next_val < ?", next, next);
+        } catch (DataAccessException e) {
+            jdbcTemplate.execute("ALTER SEQUENCE employees_seq RESTART WITH " + next);
+        }
+    }
+
+    // Users share one hash: BCrypt is deliberately slow and K distinct hashes would dominate the load time
+    private int insertUsers(int count) {
+        String hash = passwordEncoder.encode(USER_PASSWORD);
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[] {USER_PREFIX + i, USER_PREFIX + i + "@loadtest.example.com", hash,
+                    i % 10 == 0 ? "ADMIN" : "USER"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (username, email, password, role) VALUES (?, ?, ?, ?)", rows);
+        return count;
+    }
+
+    // Cumulative distribution with P(rank k) proportional to 1 / k^s
+    static double[] zipfCdf(int n, double s) {
+        double[] cdf = new double[n];
+        double sum = 0;
+        for (int k = 1; k <= n; k++) {
+            sum += 1 / Math.pow(k, s);
+            cdf[k - 1] = sum;
+        }
+        for (int k = 0; k < n; k++) {
+            cdf[k] /= sum;
+        }
+        return cdf;
+    }
+
+    // Index whose cumulative probability first exceeds a uniform draw
+    private static int pick(SplittableRandom random, double[] cdf) {
+        int index = Arrays.binarySearch(cdf, random.nextDouble());
+        return Math.min(index >= 0 ? index + 1 : -index - 1, cdf.length - 1);
+    }
+}
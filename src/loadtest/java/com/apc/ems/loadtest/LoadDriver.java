@@ -0,0 +1,263 @@
+package com.apc.ems.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model HTTP load: requests are started on a fixed schedule at the target rate whether
+ * or not earlier ones have finished, and latency is measured from the scheduled start. A
+ * slow server therefore shows up as latency instead of silently lowering the offered load.
+ * Requests that cannot start because {@code maxInFlight} are already outstanding are counted
+ * as errors.
+ */
+public class LoadDriver {
+
+    public enum Operation {
+        LIST_EMPLOYEES, GET_EMPLOYEE, SEARCH_EMPLOYEES, TYPEAHEAD, LIST_DEPARTMENTS, GET_DEPARTMENT,
+        DEPARTMENT_EMPLOYEES, CREATE_EMPLOYEE, UPDATE_EMPLOYEE, UPSERT_EMPLOYEE;
+
+        public String key() {
+            return name().toLowerCase(Locale.ROOT).replace('_', '-');
+        }
+
+        public static Operation fromKey(String key) {
+            return valueOf(key.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        }
+    }
+
+    public record Config(URI baseUri, double rate, Duration warmup, Duration duration, Map<Operation, Integer> mix,
+                         int sessions, int maxInFlight, long seed) {}
+
+    // Ids the generated requests refer to
+    public record Targets(List<Long> departmentIds, List<Long> employeeIds) {}
+
+    private static final String[] NAME_PREFIXES = {"ja", "mar", "pri", "wei", "car", "ol", "moh", "li", "em", "dav"};
+    // Upserts cycle over a small pool of e-mails so concurrent writers keep hitting the same rows
+    private static final int UPSERT_EMAILS = 500;
+
+    private static final String[] SURNAME_PREFIXES = {"sm", "pat", "gar", "wa", "ng", "ki", "lo", "sch", "ro", "co"};
+
+    private final Config config;
+    private final Targets targets;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client;
+    private final AtomicLong createdSequence = new AtomicLong();
+    private final List<long[]> created = new ArrayList<>();
+
+    public LoadDriver(Config config, Targets targets) {
+        this.config = config;
+        this.targets = targets;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    // Log in the first {@code sessions} generated users and return their bearer tokens
+    public List<String> login(String usernamePrefix, String password) throws IOException, InterruptedException {
+        List<String> tokens = new ArrayList<>(config.sessions());
+        for (int i = 0; i < config.sessions(); i++) {
+            ObjectNode body = objectMapper.createObjectNode()
+                    .put("username", usernamePrefix + i)
+                    .put("password", password);
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(config.baseUri().resolve("/api/auth/login"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                            .build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Login failed for " + usernamePrefix + i + ": "
+                        + response.statusCode() + " " + response.body());
+            }
+            tokens.add(objectMapper.readTree(response.body()).get("token").asText());
+        }
+        return tokens;
+    }
+
+    public LoadReport run(List<String> tokens) throws InterruptedException {
+        Operation[] schedule = weightedSchedule(config.mix());
+        Map<Operation, LoadReport.Recorder> recorders = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new LoadReport.Recorder());
+        }
+
+        SplittableRandom random = new SplittableRandom(config.seed());
+        Semaphore inFlight = new Semaphore(config.maxInFlight());
+        long intervalNanos = (long) (1_000_000_000L / config.rate());
+        long start = System.nanoTime();
+        long measureFrom = start + config.warmup().toNanos();
+        long end = measureFrom + config.duration().toNanos();
+
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long n = 0; ; n++) {
+                long scheduled = start + n * intervalNanos;
+                if (scheduled >= end) {
+                    break;
+                }
+                long wait = scheduled - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                Operation operation = schedule[random.nextInt(schedule.length)];
+                LoadReport.Recorder recorder = scheduled >= measureFrom ? recorders.get(operation) : null;
+                if (!inFlight.tryAcquire()) {
+                    if (recorder != null) {
+                        recorder.error();
+                    }
+                    continue;
+                }
+                HttpRequest request = request(operation, random.split(), tokens.get((int) (n % tokens.size())));
+                workers.execute(() -> {
+                    try {
+                        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                        onResponse(operation, response);
+                        if (recorder != null) {
+                            recorder.record(System.nanoTime() - scheduled, isSuccess(response.statusCode()));
+                        }
+                    } catch (IOException | InterruptedException e) {
+                        if (recorder != null) {
+                            recorder.error();
+                        }
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+            workers.shutdown();
+            workers.awaitTermination(1, TimeUnit.MINUTES);
+        }
+        return LoadReport.of(config, recorders);
+    }
+
+    private HttpRequest request(Operation operation, SplittableRandom random, String token) {
+        String path;
+        String method = "GET";
+        String body = null;
+        switch (operation) {
+            case LIST_EMPLOYEES -> path = "/api/employees?limit=50&sort=" + (random.nextBoolean() ? "name" : "id");
+            case GET_EMPLOYEE -> path = "/api/employees/" + pick(random, targets.employeeIds());
+            case SEARCH_EMPLOYEES -> path = "/api/employees/search?limit=50&departmentIds=" + pick(random, targets.departmentIds())
+                    + "&minSalary=" + (40_000 + random.nextInt(40) * 1_000)
+                    + (random.nextBoolean() ? "&namePrefix=" + encode(capitalize(SURNAME_PREFIXES[random.nextInt(SURNAME_PREFIXES.length)])) : "");
+            case TYPEAHEAD -> path = "/api/employees/typeahead?q=" + encode(NAME_PREFIXES[random.nextInt(NAME_PREFIXES.length)]);
+            case LIST_DEPARTMENTS -> path = "/api/departments";
+            case GET_DEPARTMENT -> path = "/api/departments/" + pick(random, targets.departmentIds());
+            case DEPARTMENT_EMPLOYEES -> path = "/api/departments/" + pick(random, targets.departmentIds()) + "/employees?limit=50";
+            case CREATE_EMPLOYEE -> {
+                path = "/api/employees";
+                method = "POST";
+                long sequence = createdSequence.incrementAndGet();
+                body = employeeJson(sequence, "lt.created." + sequence + "@corp.example.com", random);
+            }
+            case UPDATE_EMPLOYEE -> {
+                long[] target = createdEmployee(random);
+                if (target == null) {
+                    // Nothing created yet: updates need an e-mail we know, so create instead
+                    return request(Operation.CREATE_EMPLOYEE, random, token);
+                }
+                path = "/api/employees/" + target[0];
+                method = "PUT";
+                body = employeeJson(target[1], "lt.created." + target[1] + "@corp.example.com", random);
+            }
+            case UPSERT_EMPLOYEE -> {
+                long sequence = random.nextInt(UPSERT_EMAILS);
+                path = "/api/employees/by-email/" + encode(upsertEmail(sequence));
+                method = "PUT";
+                body = employeeJson(sequence, upsertEmail(sequence), random);
+            }
+            default -> throw new IllegalArgumentException(operation.name());
+        }
+        HttpRequest.Builder builder = HttpRequest.newBuilder(config.baseUri().resolve(path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", "Bearer " + token);
+        if (body != null) {
+            builder.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(body));
+        }
+        return builder.build();
+    }
+
+    // Remember created employees (id, sequence) so updates can target rows whose e-mail is known
+    private void onResponse(Operation operation, HttpResponse<String> response) throws IOException {
+        if (operation == Operation.CREATE_EMPLOYEE && response.statusCode() == 201) {
+            JsonNode node = objectMapper.readTree(response.body());
+            String email = node.path("email").asText();
+            long sequence = Long.parseLong(email.substring("lt.created.".length(), email.indexOf('@')));
+            synchronized (created) {
+                created.add(new long[] {node.path("id").asLong(), sequence});
+            }
+        }
+    }
+
+    private long[] createdEmployee(SplittableRandom random) {
+        synchronized (created) {
+            return created.isEmpty() ? null : created.get(random.nextInt(created.size()));
+        }
+    }
+
+    private static String upsertEmail(long sequence) {
+        return "lt.upserted." + sequence + "@corp.example.com";
+    }
+
+    private String employeeJson(long sequence, String email, SplittableRandom random) {
+        ObjectNode employee = objectMapper.createObjectNode()
+                .put("name", "Load Created " + sequence)
+                .put("email", email)
+                .put("phone", "+1-555-000-" + (sequence % 10_000))
+                .put("salary", 40_000 + random.nextInt(60) * 1_000);
+        employee.putObject("department").put("id", pick(random, targets.departmentIds()));
+        return employee.toString();
+    }
+
+    private static boolean isSuccess(int status) {
+        return (status >= 200 && status < 300) || status == 304;
+    }
+
+    private static Operation[] weightedSchedule(Map<Operation, Integer> mix) {
+        List<Operation> slots = new ArrayList<>();
+        mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                slots.add(operation);
+            }
+        });
+        if (slots.isEmpty()) {
+            throw new IllegalArgumentException("The request mix is empty");
+        }
+        return slots.toArray(Operation[]::new);
+    }
+
+    private static long pick(SplittableRandom random, List<Long> ids) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    private static String capitalize(String value) {
+        return Character.toUpperCase(value.charAt(0)) + value.substring(1);
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,150 @@
+package com.apc.ems.loadtest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Throughput and latency percentiles of one load run, overall and per operation, plus the
+ * threshold check that decides whether the run passes.
+ */
+public class LoadReport {
+
+    public record Stats(long requests, long errors, double throughput, double p50Millis, double p95Millis,
+                        double p99Millis, double maxMillis) {
+
+        public double errorRate() {
+            return requests == 0 ? 0 : (double) errors / requests;
+        }
+    }
+
+    public record Thresholds(double maxP99Millis, double maxErrorRate, double minThroughputRatio) {}
+
+    private final double targetRate;
+    private final Stats overall;
+    private final Map<String, Stats> operations;
+
+    private LoadReport(double targetRate, Stats overall, Map<String, Stats> operations) {
+        this.targetRate = targetRate;
+        this.overall = overall;
+        this.operations = operations;
+    }
+
+    static LoadReport of(LoadDriver.Config config, Map<LoadDriver.Operation, Recorder> recorders) {
+        double seconds = config.duration().toNanos() / 1e9;
+        Recorder all = new Recorder();
+        Map<String, Stats> operations = new LinkedHashMap<>();
+        recorders.forEach((operation, recorder) -> {
+            all.addAll(recorder);
+            if (recorder.requests() > 0) {
+                operations.put(operation.key(), recorder.stats(seconds));
+            }
+        });
+        return new LoadReport(config.rate(), all.stats(seconds), operations);
+    }
+
+    public double getTargetRate() {
+        return targetRate;
+    }
+
+    public Stats getOverall() {
+        return overall;
+    }
+
+    public Map<String, Stats> getOperations() {
+        return operations;
+    }
+
+    // Violated thresholds; empty when the run passes
+    public List<String> check(Thresholds thresholds) {
+        List<String> violations = new ArrayList<>();
+        if (overall.p99Millis() > thresholds.maxP99Millis()) {
+            violations.add(String.format(Locale.ROOT, "p99 %.1f ms exceeds %.1f ms",
+                    overall.p99Millis(), thresholds.maxP99Millis()));
+        }
+        if (overall.errorRate() > thresholds.maxErrorRate()) {
+            violations.add(String.format(Locale.ROOT, "error rate %.4f exceeds %.4f",
+                    overall.errorRate(), thresholds.maxErrorRate()));
+        }
+        double minThroughput = targetRate * thresholds.minThroughputRatio();
+        if (overall.throughput() < minThroughput) {
+            violations.add(String.format(Locale.ROOT, "throughput %.1f req/s below %.1f req/s",
+                    overall.throughput(), minThroughput));
+        }
+        return violations;
+    }
+
+    public String toTable() {
+        StringBuilder table = new StringBuilder(String.format(Locale.ROOT,
+                "%-22s %9s %7s %9s %9s %9s %9s %9s%n", "operation", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        operations.forEach((name, stats) -> table.append(row(name, stats)));
+        table.append(row("TOTAL", overall));
+        return table.toString();
+    }
+
+    private static String row(String name, Stats stats) {
+        return String.format(Locale.ROOT, "%-22s %9d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n", name, stats.requests(),
+                stats.errors(), stats.throughput(), stats.p50Millis(), stats.p95Millis(), stats.p99Millis(), stats.maxMillis());
+    }
+
+    /**
+     * Latencies of answered requests plus error counts: answers with a failure status, and
+     * requests that got no answer at all (I/O failure or not started at the in-flight cap).
+     * Calls are rare relative to the cost of an HTTP request, so a monitor is cheap enough.
+     */
+    static class Recorder {
+
+        private long[] latencies = new long[1024];
+        private int size;
+        private long failedAnswers;
+        private long unanswered;
+
+        synchronized void record(long nanos, boolean success) {
+            if (!success) {
+                failedAnswers++;
+            }
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = nanos;
+        }
+
+        synchronized void error() {
+            unanswered++;
+        }
+
+        synchronized long requests() {
+            return size + unanswered;
+        }
+
+        synchronized void addAll(Recorder other) {
+            synchronized (other) {
+                for (int i = 0; i < other.size; i++) {
+                    record(other.latencies[i], true);
+                }
+                failedAnswers += other.failedAnswers;
+                unanswered += other.unanswered;
+            }
+        }
+
+        synchronized Stats stats(double seconds) {
+            long[] sorted = Arrays.copyOf(latencies, size);
+            Arrays.sort(sorted);
+            long requests = requests();
+            return new Stats(requests, failedAnswers + unanswered, size / seconds,
+                    percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                    sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6);
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(index, 0)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.apc.ems.loadtest;
+
+import com.apc.ems.EmsApplication;
+import com.apc.ems.Service.SalaryStatsService;
+import com.apc.ems.Service.TypeaheadService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.sql.DataSource;
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+/**
+ * Seeds a dataset, drives the REST API at a target rate and fails when thresholds regress.
+ *
+ * <p>Without {@code --base-url} the application is started in-process on a random port
+ * against the test profile's embedded database, seeded with the generator and then loaded.
+ * With {@code --base-url} an already running server is loaded; run the generator first with
+ * the same seed against its database ({@code --seed-only} with {@code --spring.datasource.*}).
+ *
+ * <p>Options ({@code --name=value}): departments, employees, users, seed, skew, rate,
+ * warmup and duration (seconds), sessions, max-in-flight, mix
+ * ({@code operation:weight,...}), max-p99-ms, max-error-rate, min-throughput-ratio and
+ * report. Any other {@code --key=value} is passed to the in-process application.
+ */
+public class LoadTestHarness {
+
+    private static final String DEFAULT_MIX = "list-employees:25,get-employee:20,search-employees:15,typeahead:15,"
+            + "list-departments:10,get-department:5,department-employees:5,create-employee:3,update-employee:2";
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        DatasetGenerator.Spec spec = new DatasetGenerator.Spec(
+                intOption(options, "departments", 200),
+                intOption(options, "employees", 100_000),
+                intOption(options, "users", 50),
+                Long.parseLong(options.getOrDefault("seed", "42")),
+                Double.parseDouble(options.getOrDefault("skew", "1.1")));
+
+        ConfigurableApplicationContext context = null;
+        URI baseUri;
+        LoadDriver.Targets targets;
+        try {
+            if (options.containsKey("base-url")) {
+                baseUri = URI.create(options.get("base-url"));
+                targets = null;
+            } else {
+                context = new SpringApplicationBuilder(EmsApplication.class)
+                        .properties("server.port=0", "logging.level.root=WARN", "logging.level.com.apc.ems=INFO")
+                        .run(args);
+                DatasetGenerator.Result seeded = seed(context, spec);
+                if (options.containsKey("seed-only")) {
+                    return;
+                }
+                baseUri = URI.create("http://localhost:"
+                        + ((WebServerApplicationContext) context).getWebServer().getPort());
+                targets = new LoadDriver.Targets(seeded.departmentIds(),
+                        LongStream.rangeClosed(seeded.firstEmployeeId(), seeded.lastEmployeeId()).boxed().toList());
+            }
+
+            LoadDriver.Config config = new LoadDriver.Config(baseUri,
+                    Double.parseDouble(options.getOrDefault("rate", "200")),
+                    Duration.ofSeconds(intOption(options, "warmup", 10)),
+                    Duration.ofSeconds(intOption(options, "duration", 30)),
+                    parseMix(options.getOrDefault("mix", DEFAULT_MIX)),
+                    Math.min(intOption(options, "sessions", 20), spec.users()),
+                    intOption(options, "max-in-flight", 1_000),
+                    spec.seed());
+            if (targets == null) {
+                targets = discover(baseUri, config, spec);
+            }
+
+            LoadDriver driver = new LoadDriver(config, targets);
+            List<String> tokens = driver.login(DatasetGenerator.USER_PREFIX, DatasetGenerator.USER_PASSWORD);
+            System.out.printf("Driving %s at %.0f req/s for %ds (+%ds warm-up)%n", baseUri, config.rate(),
+                    config.duration().toSeconds(), config.warmup().toSeconds());
+            LoadReport report = driver.run(tokens);
+            System.out.print(report.toTable());
+
+            File reportFile = new File(options.getOrDefault("report", "target/loadtest-report.json"));
+            reportFile.getAbsoluteFile().getParentFile().mkdirs();
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(reportFile, report);
+            System.out.println("Report written to " + reportFile);
+
+            List<String> violations = report.check(new LoadReport.Thresholds(
+                    Double.parseDouble(options.getOrDefault("max-p99-ms", "500")),
+                    Double.parseDouble(options.getOrDefault("max-error-rate", "0.01")),
+                    Double.parseDouble(options.getOrDefault("min-throughput-ratio", "0.95"))));
+            if (!violations.isEmpty()) {
+                violations.forEach(violation -> System.out.println("THRESHOLD FAILED: " + violation));
+                System.exit(1);
+            }
+            System.out.println("All thresholds met");
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    // Load the dataset behind the application's back, then refresh what it caches in memory
+    private static DatasetGenerator.Result seed(ConfigurableApplicationContext context, DatasetGenerator.Spec spec) {
+        DatasetGenerator generator = new DatasetGenerator(context.getBean(DataSource.class),
+                context.getBean(PasswordEncoder.class));
+        DatasetGenerator.Result result = generator.generate(spec);
+        System.out.printf("Seeded %d departments, %d employees, %d users in %d ms (seed %d)%n",
+                result.departmentIds().size(), result.lastEmployeeId() - result.firstEmployeeId() + 1,
+                result.users(), result.millis(), spec.seed());
+        context.getBean(EntityManagerFactory.class).getCache().evictAll();
+        context.getBean(TypeaheadService.class).rebuild();
+        context.getBean(SalaryStatsService.class).rebuild();
+        return result;
+    }
+
+    // Against a remote server, target the departments and the first employee pages it serves
+    private static LoadDriver.Targets discover(URI baseUri, LoadDriver.Config config, DatasetGenerator.Spec spec)
+            throws Exception {
+        LoadDriver bootstrap = new LoadDriver(config, new LoadDriver.Targets(List.of(), List.of()));
+        String token = bootstrap.login(DatasetGenerator.USER_PREFIX, DatasetGenerator.USER_PASSWORD).get(0);
+        HttpClient client = HttpClient.newHttpClient();
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        List<Long> departmentIds = new ArrayList<>();
+        for (JsonNode department : get(client, objectMapper, baseUri.resolve("/api/departments"), token)) {
+            departmentIds.add(department.get("id").asLong());
+        }
+        List<Long> employeeIds = new ArrayList<>();
+        String cursor = null;
+        while (employeeIds.size() < Math.min(spec.employees(), 10_000)) {
+            JsonNode page = get(client, objectMapper, baseUri.resolve("/api/employees?limit=500"
+                    + (cursor == null ? "" : "&after=" + cursor)), token);
+            page.get("items").forEach(employee -> employeeIds.add(employee.get("id").asLong()));
+            if (page.get("nextCursor").isNull()) {
+                break;
+            }
+            cursor = page.get("nextCursor").asText();
+        }
+        return new LoadDriver.Targets(departmentIds, employeeIds);
+    }
+
+    private static JsonNode get(HttpClient client, ObjectMapper objectMapper, URI uri, String token) throws Exception {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri)
+                .header("Authorization", "Bearer " + token).build(), HttpResponse.BodyHandlers.ofString());
+        return objectMapper.readTree(response.body());
+    }
+
+    private static Map<LoadDriver.Operation, Integer> parseMix(String mix) {
+        Map<LoadDriver.Operation, Integer> weights = new EnumMap<>(LoadDriver.Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.split(":");
+            weights.put(LoadDriver.Operation.fromKey(parts[0]), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--")) {
+                int equals = arg.indexOf('=');
+                options.put(equals < 0 ? arg.substring(2) : arg.substring(2, equals),
+                        equals < 0 ? "true" : arg.substring(equals + 1));
+            }
+        }
+        return options;
+    }
+
+    private static int intOption(Map<String, String> options, String name, int defaultValue) {
+        String value = options.get(name);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+}
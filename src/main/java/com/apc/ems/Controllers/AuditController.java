@@ -0,0 +1,37 @@
+package com.apc.ems.Controllers;
+
+import com.apc.ems.DTOs.AuditEntryView;
+import com.apc.ems.DTOs.CursorPage;
+import com.apc.ems.Service.AuditLogService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/audit")
+@CrossOrigin(origins = "*")
+public class AuditController {
+
+    @Autowired
+    private AuditLogService auditLogService;
+
+    // GET /audit?entity=employee|department&entityId=&principal=&after=&limit= - Audit entries, newest first.
+    // Entries are written behind the change, so the latest may take up to the flush interval to appear.
+    @GetMapping
+    public ResponseEntity<?> getAuditEntries(@RequestParam(required = false) String entity,
+                                             @RequestParam(required = false) Long entityId,
+                                             @RequestParam(required = false) String principal,
+                                             @RequestParam(required = false) String after,
+                                             @RequestParam(required = false) Integer limit) {
+        try {
+            CursorPage<AuditEntryView> page = auditLogService.getAuditPage(entity, entityId, principal, after, limit);
+            return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
@@ -6,16 +6,23 @@ import com.apc.ems.DTOs.RegisterRequest;
 import com.apc.ems.Entities.User;
 import com.apc.ems.Repository.UserRepository;
 import com.apc.ems.Security.JwtUtil;
+import com.apc.ems.Security.PasswordHashingBusyException;
+import com.apc.ems.Security.PasswordHashingService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api/auth")
 @CrossOrigin(origins = "*")
@@ -28,76 +35,109 @@ public class AuthController {
     private UserRepository userRepository;
     
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
     
     @Autowired
     private JwtUtil jwtUtil;
     
+    // Boot's request-side executor (virtual threads when enabled); the hashing pool only hashes
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor continuationExecutor;
+    
+    // Password checks and hashing run on the bounded hashing pool; the servlet thread is
+    // released while BCrypt works and a saturated pool answers 503 with Retry-After. Token
+    // signing and the user insert continue on the application task executor.
     @PostMapping("/login")
-    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest loginRequest) {
+    public CompletableFuture<ResponseEntity<?>> login(@Valid @RequestBody LoginRequest loginRequest) {
         try {
             // First, let's check if the user exists
             User user = userRepository.findByUsername(loginRequest.getUsername())
                 .orElse(null);
             
             if (user == null) {
-                return ResponseEntity.badRequest()
-                    .body("User not found with username: " + loginRequest.getUsername());
+                return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                    .body("User not found with username: " + loginRequest.getUsername()));
             }
             
             // Check if password matches
-            if (!passwordEncoder.matches(loginRequest.getPassword(), user.getPassword())) {
-                return ResponseEntity.badRequest()
-                    .body("Invalid password");
-            }
-            
-            // Generate JWT token
-            String jwt = jwtUtil.generateToken(user);
-            
-            return ResponseEntity.ok(new AuthResponse(
-                jwt,
-                user.getUsername(),
-                user.getEmail(),
-                user.getRole().name()
-            ));
+            return passwordHashingService.matches(loginRequest.getPassword(), user.getPassword())
+                .<ResponseEntity<?>>thenApplyAsync(matches -> {
+                    if (!matches) {
+                        return ResponseEntity.badRequest()
+                            .body("Invalid password");
+                    }
+                    
+                    // Generate JWT token
+                    String jwt = jwtUtil.generateToken(user);
+                    
+                    return ResponseEntity.ok(new AuthResponse(
+                        jwt,
+                        user.getUsername(),
+                        user.getEmail(),
+                        user.getRole().name()
+                    ));
+                }, continuationExecutor)
+                .exceptionally(e -> ResponseEntity.badRequest()
+                    .body("Login error: " + rootMessage(e)));
+        } catch (PasswordHashingBusyException e) {
+            return CompletableFuture.completedFuture(busy(e));
         } catch (Exception e) {
-            return ResponseEntity.badRequest()
-                .body("Login error: " + e.getMessage());
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                .body("Login error: " + e.getMessage()));
         }
     }
     
     @PostMapping("/register")
-    public ResponseEntity<?> register(@Valid @RequestBody RegisterRequest registerRequest) {
+    public CompletableFuture<ResponseEntity<?>> register(@Valid @RequestBody RegisterRequest registerRequest) {
         try {
             // Check if username already exists
             if (userRepository.existsByUsername(registerRequest.getUsername())) {
-                return ResponseEntity.badRequest()
-                    .body("Username is already taken!");
+                return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                    .body("Username is already taken!"));
             }
             
             // Check if email already exists
             if (userRepository.existsByEmail(registerRequest.getEmail())) {
-                return ResponseEntity.badRequest()
-                    .body("Email is already in use!");
+                return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                    .body("Email is already in use!"));
             }
             
-            // Create new user
-            User user = new User(
-                registerRequest.getUsername(),
-                registerRequest.getEmail(),
-                passwordEncoder.encode(registerRequest.getPassword()),
-                registerRequest.getRole()
-            );
-            
-            userRepository.save(user);
-            
-            return ResponseEntity.ok("User registered successfully!");
+            // Create new user once the password hash is ready
+            return passwordHashingService.encode(registerRequest.getPassword())
+                .<ResponseEntity<?>>thenApplyAsync(encodedPassword -> {
+                    User user = new User(
+                        registerRequest.getUsername(),
+                        registerRequest.getEmail(),
+                        encodedPassword,
+                        registerRequest.getRole()
+                    );
+                    
+                    userRepository.save(user);
+                    
+                    return ResponseEntity.ok("User registered successfully!");
+                }, continuationExecutor)
+                .exceptionally(e -> ResponseEntity.badRequest()
+                    .body("Error during registration: " + rootMessage(e)));
+        } catch (PasswordHashingBusyException e) {
+            return CompletableFuture.completedFuture(busy(e));
         } catch (Exception e) {
-            return ResponseEntity.badRequest()
-                .body("Error during registration: " + e.getMessage());
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                .body("Error during registration: " + e.getMessage()));
         }
     }
     
+    // Unwrap the CompletionException added by the async stage
+    private String rootMessage(Throwable e) {
+        return e.getCause() != null ? e.getCause().getMessage() : e.getMessage();
+    }
+    
+    private ResponseEntity<?> busy(PasswordHashingBusyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+            .body(e.getMessage());
+    }
+    
     @PostMapping("/logout")
     public ResponseEntity<?> logout() {
         SecurityContextHolder.clearContext();
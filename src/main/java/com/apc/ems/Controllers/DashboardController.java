@@ -0,0 +1,45 @@
+package com.apc.ems.Controllers;
+
+import com.apc.ems.DTOs.CacheRegionStats;
+import com.apc.ems.DTOs.DashboardSummary;
+import com.apc.ems.Service.DashboardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@CrossOrigin(origins = "*")
+public class DashboardController {
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    // GET /dashboard/summary?recentEmployees=5&recentDepartments=3 - Dashboard counts and recent items
+    @GetMapping("/summary")
+    public ResponseEntity<?> getSummary(@RequestParam(defaultValue = "5") int recentEmployees,
+                                        @RequestParam(defaultValue = "3") int recentDepartments) {
+        try {
+            DashboardSummary summary = dashboardService.getSummary(recentEmployees, recentDepartments);
+            return ResponseEntity.ok(summary);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    // GET /dashboard/cache - Second-level cache statistics per region
+    @GetMapping("/cache")
+    public ResponseEntity<?> getCacheStatistics() {
+        try {
+            List<CacheRegionStats> regions = dashboardService.getCacheStatistics();
+            return ResponseEntity.ok(regions);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
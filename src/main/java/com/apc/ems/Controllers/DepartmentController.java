@@ -1,11 +1,28 @@
 package com.apc.ems.Controllers;
 
+import com.apc.ems.DTOs.CursorPage;
+import com.apc.ems.DTOs.DepartmentSummary;
+import com.apc.ems.DTOs.DepartmentTransferRequest;
+import com.apc.ems.DTOs.DepartmentView;
+import com.apc.ems.DTOs.EmployeeView;
+import com.apc.ems.DTOs.SalaryStats;
 import com.apc.ems.Entities.Department;
+import com.apc.ems.Service.DepartmentDeletePolicy;
+import com.apc.ems.Service.DepartmentNotEmptyException;
 import com.apc.ems.Service.DepartmentService;
+import com.apc.ems.Service.EmployeeService;
+import com.apc.ems.Service.EntityTags;
+import com.apc.ems.Service.PreconditionFailedException;
+import com.apc.ems.Service.SalaryStatsService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Optional;
@@ -18,35 +35,85 @@ public class DepartmentController {
     @Autowired
     private DepartmentService departmentService;
 
-    // GET /departments - Get all departments
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private SalaryStatsService salaryStatsService;
+
+    // GET /departments - Get all departments (summary shape with employee counts); If-None-Match is
+    // answered from table-level version aggregates without running the grouped summary query
     @GetMapping
-    public ResponseEntity<List<Department>> getAllDepartments() {
+    public ResponseEntity<List<DepartmentSummary>> getAllDepartments(WebRequest request) {
         try {
-            List<Department> departments = departmentService.getAllDepartments();
-            return ResponseEntity.ok(departments);
+            String tag = departmentService.getDepartmentListTag();
+            if (request.checkNotModified(tag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(tag).build();
+            }
+            List<DepartmentSummary> departments = departmentService.getAllDepartmentSummaries();
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(tag).body(departments);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
-    // GET /departments/{id} - Get department by ID
+    // GET /departments/{id} - Get department by ID (summary shape with employee count)
     @GetMapping("/{id}")
-    public ResponseEntity<Department> getDepartmentById(@PathVariable Long id) {
+    public ResponseEntity<DepartmentSummary> getDepartmentById(@PathVariable Long id) {
         try {
-            Optional<Department> department = departmentService.getDepartmentById(id);
-            return department.map(ResponseEntity::ok)
+            Optional<DepartmentSummary> department = departmentService.getDepartmentSummaryById(id);
+            return department.map(found -> ResponseEntity.ok()
+                                   .cacheControl(CacheControl.noCache())
+                                   .eTag(EntityTags.department(found))
+                                   .body(found))
                            .orElse(ResponseEntity.notFound().build());
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
-    // GET /departments/name/{name} - Get department by name
+    // GET /departments/{id}/employees?sort=&after=&limit= - Get one page of the department's employees
+    @GetMapping("/{id}/employees")
+    public ResponseEntity<?> getDepartmentEmployees(@PathVariable Long id,
+                                                    @RequestParam(required = false) String sort,
+                                                    @RequestParam(required = false) String after,
+                                                    @RequestParam(required = false) Integer limit) {
+        try {
+            if (!departmentService.departmentExists(id)) {
+                return ResponseEntity.notFound().build();
+            }
+            CursorPage<EmployeeView> page = employeeService.getEmployeesByDepartmentIdPage(id, sort, after, limit);
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(EntityTags.page(page)).body(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    // GET /departments/{id}/stats - Headcount, salary total/average/min/max and salary bands,
+    // served from the incrementally maintained aggregates
+    @GetMapping("/{id}/stats")
+    public ResponseEntity<SalaryStats> getDepartmentStats(@PathVariable Long id) {
+        try {
+            if (departmentService.getDepartmentById(id).isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.ok(salaryStatsService.getDepartmentStats(id));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    // GET /departments/name/{name} - Get department by name (summary shape with employee count)
     @GetMapping("/name/{name}")
-    public ResponseEntity<Department> getDepartmentByName(@PathVariable String name) {
+    public ResponseEntity<DepartmentSummary> getDepartmentByName(@PathVariable String name) {
         try {
-            Optional<Department> department = departmentService.getDepartmentByName(name);
-            return department.map(ResponseEntity::ok)
+            Optional<DepartmentSummary> department = departmentService.getDepartmentSummaryByName(name);
+            return department.map(found -> ResponseEntity.ok()
+                                   .cacheControl(CacheControl.noCache())
+                                   .eTag(EntityTags.department(found))
+                                   .body(found))
                            .orElse(ResponseEntity.notFound().build());
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -58,7 +125,7 @@ public class DepartmentController {
     public ResponseEntity<?> createDepartment(@RequestBody Department department) {
         try {
             Department createdDepartment = departmentService.createDepartment(department);
-            return ResponseEntity.status(HttpStatus.CREATED).body(createdDepartment);
+            return ResponseEntity.status(HttpStatus.CREATED).body(DepartmentView.of(createdDepartment));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         } catch (Exception e) {
@@ -67,12 +134,17 @@ public class DepartmentController {
         }
     }
 
-    // PUT /departments/{id} - Update department
+    // PUT /departments/{id} - Update department (optional If-Match for optimistic concurrency)
     @PutMapping("/{id}")
-    public ResponseEntity<?> updateDepartment(@PathVariable Long id, @RequestBody Department departmentDetails) {
+    public ResponseEntity<?> updateDepartment(@PathVariable Long id, @RequestBody Department departmentDetails,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
-            Department updatedDepartment = departmentService.updateDepartment(id, departmentDetails);
-            return ResponseEntity.ok(updatedDepartment);
+            Department updatedDepartment = departmentService.updateDepartment(id, departmentDetails, ifMatch);
+            return ResponseEntity.ok(DepartmentView.of(updatedDepartment));
+        } catch (PreconditionFailedException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(e.getMessage());
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Department " + id + " was modified concurrently, please retry");
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         } catch (Exception e) {
@@ -81,12 +153,36 @@ public class DepartmentController {
         }
     }
 
-    // DELETE /departments/{id} - Delete department
+    // POST /departments/{fromId}/transfer - Move all, listed or filtered employees to another department
+    @PostMapping("/{fromId}/transfer")
+    public ResponseEntity<?> transferEmployees(@PathVariable Long fromId, @RequestBody DepartmentTransferRequest transferRequest) {
+        try {
+            return ResponseEntity.ok(employeeService.transferEmployees(fromId, transferRequest));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                               .body("An error occurred while transferring employees");
+        }
+    }
+
+    // DELETE /departments/{id}?policy=reject|reassign|unassign&targetDepartmentId= - Delete department;
+    // a department that still has employees is only deleted with an explicit reassign or unassign policy
     @DeleteMapping("/{id}")
-    public ResponseEntity<?> deleteDepartment(@PathVariable Long id) {
+    public ResponseEntity<?> deleteDepartment(@PathVariable Long id,
+                                              @RequestParam(required = false) String policy,
+                                              @RequestParam(required = false) Long targetDepartmentId) {
         try {
-            departmentService.deleteDepartment(id);
-            return ResponseEntity.ok().body("Department deleted successfully");
+            DepartmentDeletePolicy deletePolicy = DepartmentDeletePolicy.resolve(policy);
+            int moved = departmentService.deleteDepartment(id, deletePolicy, targetDepartmentId);
+            return ResponseEntity.ok().body(moved == 0 ? "Department deleted successfully"
+                    : "Department deleted successfully, " + moved + " employee(s) "
+                      + (deletePolicy == DepartmentDeletePolicy.REASSIGN ? "reassigned" : "unassigned"));
+        } catch (DepartmentNotEmptyException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (DataIntegrityViolationException e) {
+            // An employee was added to the department while it was being deleted
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Department " + id + " gained employees while being deleted, please retry");
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         } catch (Exception e) {
@@ -1,12 +1,37 @@
 package com.apc.ems.Controllers;
 
+import com.apc.ems.DTOs.ChangeFeedPage;
+import com.apc.ems.DTOs.CursorPage;
 import com.apc.ems.Entities.Employee;
+import com.apc.ems.DTOs.BulkImportResult;
+import com.apc.ems.DTOs.EmployeeSearchCriteria;
+import com.apc.ems.DTOs.EmployeeSummary;
+import com.apc.ems.DTOs.EmployeeUpsertResult;
+import com.apc.ems.DTOs.EmployeeView;
+import com.apc.ems.Service.ChangeFeedService;
+import com.apc.ems.Service.DuplicateEmailException;
+import com.apc.ems.Service.EmployeeExportFormat;
+import com.apc.ems.Service.EmployeeImportService;
 import com.apc.ems.Service.EmployeeService;
+import com.apc.ems.Service.EntityTags;
+import com.apc.ems.Service.PreconditionFailedException;
+import com.apc.ems.Service.TypeaheadService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,23 +47,134 @@ public class EmployeeController {
         this.employeeService = employeeService;
     }
 
-    // GET /employees - Get all employees
+    private EmployeeImportService employeeImportService;
+
+    @Autowired
+    public void setEmployeeImportService(EmployeeImportService employeeImportService) {
+        this.employeeImportService = employeeImportService;
+    }
+
+    private TypeaheadService typeaheadService;
+
+    @Autowired
+    public void setTypeaheadService(TypeaheadService typeaheadService) {
+        this.typeaheadService = typeaheadService;
+    }
+
+    private ChangeFeedService changeFeedService;
+
+    @Autowired
+    public void setChangeFeedService(ChangeFeedService changeFeedService) {
+        this.changeFeedService = changeFeedService;
+    }
+
+    // Exports stream for as long as reading the table takes; every other async request keeps
+    // the default request timeout
+    @Value("${ems.export.timeout-ms:600000}")
+    private long exportTimeoutMillis;
+
+    // GET /employees?sort=&after=&limit= - Get one page of employees
     @GetMapping
-    public ResponseEntity<List<Employee>> getAllEmployees() {
+    public ResponseEntity<?> getAllEmployees(@RequestParam(required = false) String sort,
+                                             @RequestParam(required = false) String after,
+                                             @RequestParam(required = false) Integer limit) {
+        try {
+            CursorPage<EmployeeView> page = employeeService.getEmployeesPage(sort, after, limit);
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(EntityTags.page(page)).body(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    // GET /employees/export?format=ndjson|csv&departmentId= - Stream all employees. The body type
+    // must be declared for Spring to stream it, so the error message is streamed as well.
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportEmployees(@RequestParam(required = false) String format,
+                                                                 @RequestParam(required = false) Long departmentId,
+                                                                 @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                                                 WebRequest webRequest) {
+        try {
+            EmployeeExportFormat exportFormat = EmployeeExportFormat.resolve(format, accept);
+            StreamingResponseBody body = out -> employeeService.exportEmployees(departmentId, exportFormat, out);
+            // The streaming body goes async with this request's timeout
+            AsyncWebRequest asyncRequest = WebAsyncUtils.getAsyncManager(webRequest).getAsyncWebRequest();
+            if (asyncRequest != null) {
+                asyncRequest.setTimeout(exportTimeoutMillis);
+            }
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType(exportFormat.getMediaType() + ";charset=UTF-8"))
+                    .header(HttpHeaders.CONTENT_DISPOSITION,
+                            "attachment; filename=\"employees." + exportFormat.getExtension() + "\"")
+                    .body(body);
+        } catch (IllegalArgumentException e) {
+            String message = e.getMessage();
+            return ResponseEntity.badRequest()
+                    .contentType(MediaType.parseMediaType("text/plain;charset=UTF-8"))
+                    .body(out -> out.write(message.getBytes(StandardCharsets.UTF_8)));
+        }
+    }
+
+    // GET /employees/search?departmentIds=&minSalary=&maxSalary=&namePrefix=&emailDomain=&sort=&after=&limit=
+    @GetMapping("/search")
+    public ResponseEntity<?> searchEmployees(@ModelAttribute EmployeeSearchCriteria criteria,
+                                             @RequestParam(required = false) String sort,
+                                             @RequestParam(required = false) String after,
+                                             @RequestParam(required = false) Integer limit) {
+        try {
+            CursorPage<EmployeeView> page = employeeService.searchEmployees(criteria, sort, after, limit);
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(EntityTags.page(page)).body(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    // GET /employees/typeahead?q=&limit= - Ranked name/email prefix matches from the in-memory index
+    @GetMapping("/typeahead")
+    public ResponseEntity<List<EmployeeSummary>> typeahead(@RequestParam String q,
+                                                           @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(typeaheadService.typeahead(q, limit));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    // GET /employees/changes?since=&limit= - Employees and departments changed or deleted after since,
+    // oldest first; omit since for a full sync and pass nextSince back to continue
+    @GetMapping("/changes")
+    public ResponseEntity<?> getChanges(@RequestParam(required = false) String since,
+                                        @RequestParam(required = false) Integer limit) {
         try {
-            List<Employee> employees = employeeService.getAllEmployees();
-            return ResponseEntity.ok(employees);
+            ChangeFeedPage page = changeFeedService.getChangesSince(since, limit);
+            return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
-    // GET /employees/{id} - Get employee by ID
+    // GET /employees/{id} - Get employee by ID; If-None-Match is answered from the version columns alone
     @GetMapping("/{id}")
-    public ResponseEntity<Employee> getEmployeeById(@PathVariable Long id) {
+    public ResponseEntity<EmployeeView> getEmployeeById(@PathVariable Long id, WebRequest request) {
         try {
-            Optional<Employee> employee = employeeService.getEmployeeById(id);
-            return employee.map(ResponseEntity::ok)
+            Optional<String> tag = employeeService.getEmployeeTag(id);
+            if (tag.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            if (request.checkNotModified(tag.get())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(tag.get()).build();
+            }
+            // A tag read before the body can only be older than it, which never yields a false 304
+            Optional<EmployeeView> employee = employeeService.getEmployeeView(id);
+            return employee.map(found -> ResponseEntity.ok()
+                                 .cacheControl(CacheControl.noCache())
+                                 .eTag(tag.get())
+                                 .body(found))
                          .orElse(ResponseEntity.notFound().build());
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -47,9 +183,9 @@ public class EmployeeController {
 
     // GET /employees/email/{email} - Get employee by email
     @GetMapping("/email/{email}")
-    public ResponseEntity<Employee> getEmployeeByEmail(@PathVariable String email) {
+    public ResponseEntity<EmployeeView> getEmployeeByEmail(@PathVariable String email) {
         try {
-            Optional<Employee> employee = employeeService.getEmployeeByEmail(email);
+            Optional<EmployeeView> employee = employeeService.getEmployeeViewByEmail(email);
             return employee.map(ResponseEntity::ok)
                          .orElse(ResponseEntity.notFound().build());
         } catch (Exception e) {
@@ -57,23 +193,33 @@ public class EmployeeController {
         }
     }
 
-    // GET /employees/department/{departmentId} - Get employees by department ID
+    // GET /employees/department/{departmentId}?sort=&after=&limit= - Get one page of employees by department ID
     @GetMapping("/department/{departmentId}")
-    public ResponseEntity<List<Employee>> getEmployeesByDepartmentId(@PathVariable Long departmentId) {
+    public ResponseEntity<?> getEmployeesByDepartmentId(@PathVariable Long departmentId,
+                                                        @RequestParam(required = false) String sort,
+                                                        @RequestParam(required = false) String after,
+                                                        @RequestParam(required = false) Integer limit) {
         try {
-            List<Employee> employees = employeeService.getEmployeesByDepartmentId(departmentId);
-            return ResponseEntity.ok(employees);
+            CursorPage<EmployeeView> page = employeeService.getEmployeesByDepartmentIdPage(departmentId, sort, after, limit);
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(EntityTags.page(page)).body(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
-    // GET /employees/search/{name} - Search employees by name
+    // GET /employees/name/{name}?sort=&after=&limit= - Search one page of employees by name
     @GetMapping("/name/{name}")
-    public ResponseEntity<List<Employee>> searchEmployeesByName(@PathVariable String name) {
+    public ResponseEntity<?> searchEmployeesByName(@PathVariable String name,
+                                                   @RequestParam(required = false) String sort,
+                                                   @RequestParam(required = false) String after,
+                                                   @RequestParam(required = false) Integer limit) {
         try {
-            List<Employee> employees = employeeService.searchEmployeesByName(name);
-            return ResponseEntity.ok(employees);
+            CursorPage<EmployeeView> page = employeeService.searchEmployeesByNamePage(name, sort, after, limit);
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(EntityTags.page(page)).body(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -84,7 +230,9 @@ public class EmployeeController {
     public ResponseEntity<?> createEmployee(@RequestBody Employee employee) {
         try {
             Employee createdEmployee = employeeService.createEmployee(employee);
-            return ResponseEntity.status(HttpStatus.CREATED).body(createdEmployee);
+            return ResponseEntity.status(HttpStatus.CREATED).body(EmployeeView.of(createdEmployee));
+        } catch (DuplicateEmailException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         } catch (Exception e) {
@@ -93,12 +241,38 @@ public class EmployeeController {
         }
     }
 
-    // PUT /employees/{id} - Update employee
+    // POST /employees/bulk?batchSize= - Create many employees from a JSON array or CSV stream
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, "text/csv"})
+    public ResponseEntity<?> bulkCreateEmployees(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                 @RequestParam(required = false) Integer batchSize,
+                                                 InputStream body) {
+        try {
+            BulkImportResult result = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.APPLICATION_JSON)
+                    ? employeeImportService.importJson(body, batchSize)
+                    : employeeImportService.importCsv(body, batchSize);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                               .body("An error occurred while importing employees");
+        }
+    }
+
+    // PUT /employees/{id} - Update employee (optional If-Match for optimistic concurrency)
     @PutMapping("/{id}")
-    public ResponseEntity<?> updateEmployee(@PathVariable Long id, @RequestBody Employee employeeDetails) {
+    public ResponseEntity<?> updateEmployee(@PathVariable Long id, @RequestBody Employee employeeDetails,
+                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
-            Employee updatedEmployee = employeeService.updateEmployee(id, employeeDetails);
-            return ResponseEntity.ok(updatedEmployee);
+            Employee updatedEmployee = employeeService.updateEmployee(id, employeeDetails, ifMatch);
+            EmployeeView view = EmployeeView.of(updatedEmployee);
+            return ResponseEntity.ok().eTag(EntityTags.employee(view)).body(view);
+        } catch (PreconditionFailedException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(e.getMessage());
+        } catch (DuplicateEmailException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Employee " + id + " was modified concurrently, please retry");
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         } catch (Exception e) {
@@ -107,6 +281,23 @@ public class EmployeeController {
         }
     }
 
+    // PUT /employees/by-email/{email} - Create or update the employee with this email in one statement;
+    // 201 when the row was inserted, 200 when an existing row was updated
+    @PutMapping("/by-email/{email}")
+    public ResponseEntity<?> upsertEmployeeByEmail(@PathVariable String email, @RequestBody Employee employeeDetails) {
+        try {
+            EmployeeUpsertResult result = employeeService.upsertEmployeeByEmail(email, employeeDetails);
+            return ResponseEntity.status(result.created() ? HttpStatus.CREATED : HttpStatus.OK)
+                    .eTag(EntityTags.employee(result.employee()))
+                    .body(result.employee());
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                               .body("An error occurred while saving the employee");
+        }
+    }
+
     // DELETE /employees/{id} - Delete employee
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteEmployee(@PathVariable Long id) {
@@ -126,7 +317,7 @@ public class EmployeeController {
     public ResponseEntity<?> assignEmployeeToDepartment(@PathVariable Long employeeId, @PathVariable Long departmentId) {
         try {
             Employee updatedEmployee = employeeService.assignEmployeeToDepartment(employeeId, departmentId);
-            return ResponseEntity.ok(updatedEmployee);
+            return ResponseEntity.ok(EmployeeView.of(updatedEmployee));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         } catch (Exception e) {
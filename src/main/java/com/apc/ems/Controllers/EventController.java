@@ -0,0 +1,38 @@
+package com.apc.ems.Controllers;
+
+import com.apc.ems.Service.ChangeEventService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/events")
+@CrossOrigin(origins = "*")
+public class EventController {
+
+    @Autowired
+    private ChangeEventService changeEventService;
+
+    // GET /events - Server-Sent Events stream of employee and department changes. A reconnecting client
+    // sends the last id it saw (Last-Event-ID header, or lastEventId for clients that cannot set headers)
+    // and receives what it missed, or a resync event when that is no longer available.
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+                                   @RequestParam(value = "lastEventId", required = false) String lastEventIdParam) {
+        String lastEventId = lastEventIdHeader != null ? lastEventIdHeader : lastEventIdParam;
+        return changeEventService.subscribe(parseEventId(lastEventId));
+    }
+
+    // An unparseable id cannot be resumed from; 0 precedes every event and so resolves to a resync
+    private static Long parseEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.apc.ems.Controllers;
+
+import com.apc.ems.DTOs.SalaryStats;
+import com.apc.ems.Service.SalaryStatsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/stats")
+@CrossOrigin(origins = "*")
+public class StatsController {
+
+    @Autowired
+    private SalaryStatsService salaryStatsService;
+
+    // GET /stats/salaries - Company-wide headcount and salary statistics, including unassigned employees
+    @GetMapping("/salaries")
+    public ResponseEntity<SalaryStats> getSalaryStats() {
+        try {
+            return ResponseEntity.ok(salaryStatsService.getCompanyStats());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
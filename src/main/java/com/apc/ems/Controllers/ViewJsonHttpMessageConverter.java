@@ -0,0 +1,61 @@
+package com.apc.ems.Controllers;
+
+import com.apc.ems.DTOs.CursorPage;
+import com.apc.ems.DTOs.DepartmentSummary;
+import com.apc.ems.DTOs.DepartmentView;
+import com.apc.ems.DTOs.EmployeeView;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-only JSON converter for the read-model types. Each type's ObjectWriter (with its
+ * root serializer) is resolved once and reused, and output streams straight to the
+ * response; the general Jackson converter rebuilds a writer for every response.
+ */
+class ViewJsonHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    private static final Set<Class<?>> VIEW_TYPES = Set.of(
+            EmployeeView.class, DepartmentView.class, DepartmentSummary.class, CursorPage.class);
+
+    private final ObjectMapper objectMapper;
+    private final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    ViewJsonHttpMessageConverter(ObjectMapper objectMapper) {
+        super(StandardCharsets.UTF_8, MediaType.APPLICATION_JSON);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return VIEW_TYPES.contains(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("View types are write-only", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object value, HttpOutputMessage outputMessage) throws IOException {
+        writers.computeIfAbsent(value.getClass(),
+                        type -> objectMapper.writerFor(type).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET))
+                .writeValue(outputMessage.getBody(), value);
+    }
+}
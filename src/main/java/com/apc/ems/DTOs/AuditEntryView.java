@@ -0,0 +1,16 @@
+package com.apc.ems.DTOs;
+
+import com.apc.ems.Entities.AuditEntry;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.Instant;
+
+// Read model of an audit entry; changes is the stored JSON, written out as-is
+public record AuditEntryView(Long id, Instant occurredAt, String principal, String action, String entity,
+                             Long entityId, int rowCount, @JsonRawValue String changes) {
+
+    public static AuditEntryView of(AuditEntry entry) {
+        return new AuditEntryView(entry.getId(), entry.getOccurredAt(), entry.getPrincipal(), entry.getAction(),
+                entry.getEntityType(), entry.getEntityId(), entry.getRowCount(), entry.getChanges());
+    }
+}
@@ -0,0 +1,5 @@
+package com.apc.ems.DTOs;
+
+// Outcome of one set-based department move: the rows it changed and the change number it stamped
+// on every one of them, which finds exactly those rows again
+public record BulkReassignment(int rowCount, long changeSeq) {}
@@ -0,0 +1,11 @@
+package com.apc.ems.DTOs;
+
+/**
+ * One committed change as pushed to /api/events subscribers. The id increases by one per event
+ * and is the SSE event id that clients send back as Last-Event-ID. departmentId is the
+ * department the employee is in after the change and previousDepartmentId the one it was in
+ * before (the same id if it stayed); data is the new read model, or a result for bulk changes.
+ */
+public record ChangeEvent(long id, String type, Long entityId, Long departmentId, Long previousDepartmentId,
+                          Object data, long timestamp) {
+}
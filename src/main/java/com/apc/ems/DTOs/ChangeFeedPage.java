@@ -0,0 +1,55 @@
+package com.apc.ems.DTOs;
+
+import java.util.List;
+
+public class ChangeFeedPage {
+
+    private List<EntityChange> items;
+    // Position to pass as since on the next call; present even when there are no more changes yet
+    private String nextSince;
+    private boolean hasMore;
+    private int limit;
+
+    // Constructors
+    public ChangeFeedPage() {}
+
+    public ChangeFeedPage(List<EntityChange> items, String nextSince, boolean hasMore, int limit) {
+        this.items = items;
+        this.nextSince = nextSince;
+        this.hasMore = hasMore;
+        this.limit = limit;
+    }
+
+    // Getters and Setters
+    public List<EntityChange> getItems() {
+        return items;
+    }
+
+    public void setItems(List<EntityChange> items) {
+        this.items = items;
+    }
+
+    public String getNextSince() {
+        return nextSince;
+    }
+
+    public void setNextSince(String nextSince) {
+        this.nextSince = nextSince;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+}
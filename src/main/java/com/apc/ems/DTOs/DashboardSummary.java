@@ -0,0 +1,65 @@
+package com.apc.ems.DTOs;
+
+import java.util.List;
+
+public class DashboardSummary {
+
+    private long totalEmployees;
+    private long totalDepartments;
+    private long unassignedEmployees;
+    private List<EmployeeSummary> recentEmployees;
+    private List<DepartmentSummary> recentDepartments;
+    private List<DepartmentSummary> departmentHeadcounts;
+
+    // Constructors
+    public DashboardSummary() {}
+
+    // Getters and Setters
+    public long getTotalEmployees() {
+        return totalEmployees;
+    }
+
+    public void setTotalEmployees(long totalEmployees) {
+        this.totalEmployees = totalEmployees;
+    }
+
+    public long getTotalDepartments() {
+        return totalDepartments;
+    }
+
+    public void setTotalDepartments(long totalDepartments) {
+        this.totalDepartments = totalDepartments;
+    }
+
+    public long getUnassignedEmployees() {
+        return unassignedEmployees;
+    }
+
+    public void setUnassignedEmployees(long unassignedEmployees) {
+        this.unassignedEmployees = unassignedEmployees;
+    }
+
+    public List<EmployeeSummary> getRecentEmployees() {
+        return recentEmployees;
+    }
+
+    public void setRecentEmployees(List<EmployeeSummary> recentEmployees) {
+        this.recentEmployees = recentEmployees;
+    }
+
+    public List<DepartmentSummary> getRecentDepartments() {
+        return recentDepartments;
+    }
+
+    public void setRecentDepartments(List<DepartmentSummary> recentDepartments) {
+        this.recentDepartments = recentDepartments;
+    }
+
+    public List<DepartmentSummary> getDepartmentHeadcounts() {
+        return departmentHeadcounts;
+    }
+
+    public void setDepartmentHeadcounts(List<DepartmentSummary> departmentHeadcounts) {
+        this.departmentHeadcounts = departmentHeadcounts;
+    }
+}
@@ -0,0 +1,62 @@
+package com.apc.ems.DTOs;
+
+public class DepartmentSummary {
+
+    private Long id;
+    private String name;
+    private String description;
+    private long version;
+    private long employeeCount;
+
+    // Constructors
+    public DepartmentSummary() {}
+
+    public DepartmentSummary(Long id, String name, String description, long version, long employeeCount) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.version = version;
+        this.employeeCount = employeeCount;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public long getEmployeeCount() {
+        return employeeCount;
+    }
+
+    public void setEmployeeCount(long employeeCount) {
+        this.employeeCount = employeeCount;
+    }
+}
@@ -0,0 +1,46 @@
+package com.apc.ems.DTOs;
+
+import java.util.List;
+
+// Body of POST /api/departments/{fromId}/transfer: employeeIds and filter are optional and
+// narrow the move; with neither, every employee of the source department moves
+public class DepartmentTransferRequest {
+
+    private Long targetDepartmentId;
+    private List<Long> employeeIds;
+    private EmployeeSearchCriteria filter;
+
+    // Constructors
+    public DepartmentTransferRequest() {}
+
+    public DepartmentTransferRequest(Long targetDepartmentId, List<Long> employeeIds, EmployeeSearchCriteria filter) {
+        this.targetDepartmentId = targetDepartmentId;
+        this.employeeIds = employeeIds;
+        this.filter = filter;
+    }
+
+    // Getters and Setters
+    public Long getTargetDepartmentId() {
+        return targetDepartmentId;
+    }
+
+    public void setTargetDepartmentId(Long targetDepartmentId) {
+        this.targetDepartmentId = targetDepartmentId;
+    }
+
+    public List<Long> getEmployeeIds() {
+        return employeeIds;
+    }
+
+    public void setEmployeeIds(List<Long> employeeIds) {
+        this.employeeIds = employeeIds;
+    }
+
+    public EmployeeSearchCriteria getFilter() {
+        return filter;
+    }
+
+    public void setFilter(EmployeeSearchCriteria filter) {
+        this.filter = filter;
+    }
+}
@@ -0,0 +1,53 @@
+package com.apc.ems.DTOs;
+
+public class DepartmentTransferResult {
+
+    private Long fromDepartmentId;
+    private Long targetDepartmentId;
+    // Number of ids supplied in the request, or null when the move was not id-based
+    private Integer requested;
+    private int transferred;
+
+    // Constructors
+    public DepartmentTransferResult() {}
+
+    public DepartmentTransferResult(Long fromDepartmentId, Long targetDepartmentId, Integer requested, int transferred) {
+        this.fromDepartmentId = fromDepartmentId;
+        this.targetDepartmentId = targetDepartmentId;
+        this.requested = requested;
+        this.transferred = transferred;
+    }
+
+    // Getters and Setters
+    public Long getFromDepartmentId() {
+        return fromDepartmentId;
+    }
+
+    public void setFromDepartmentId(Long fromDepartmentId) {
+        this.fromDepartmentId = fromDepartmentId;
+    }
+
+    public Long getTargetDepartmentId() {
+        return targetDepartmentId;
+    }
+
+    public void setTargetDepartmentId(Long targetDepartmentId) {
+        this.targetDepartmentId = targetDepartmentId;
+    }
+
+    public Integer getRequested() {
+        return requested;
+    }
+
+    public void setRequested(Integer requested) {
+        this.requested = requested;
+    }
+
+    public int getTransferred() {
+        return transferred;
+    }
+
+    public void setTransferred(int transferred) {
+        this.transferred = transferred;
+    }
+}
@@ -0,0 +1,12 @@
+package com.apc.ems.DTOs;
+
+import com.apc.ems.Entities.Department;
+
+// Read model of a department as the API exposes it (no roster, no proxies)
+public record DepartmentView(Long id, long version, String name, String description) {
+
+    public static DepartmentView of(Department department) {
+        return department == null ? null
+                : new DepartmentView(department.getId(), department.getVersion(), department.getName(), department.getDescription());
+    }
+}
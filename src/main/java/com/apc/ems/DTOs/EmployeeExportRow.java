@@ -0,0 +1,83 @@
+package com.apc.ems.DTOs;
+
+public class EmployeeExportRow {
+
+    private Long id;
+    private String name;
+    private String email;
+    private String phone;
+    private Double salary;
+    private Long departmentId;
+    private String departmentName;
+
+    // Constructors
+    public EmployeeExportRow() {}
+
+    public EmployeeExportRow(Long id, String name, String email, String phone, Double salary,
+                             Long departmentId, String departmentName) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.phone = phone;
+        this.salary = salary;
+        this.departmentId = departmentId;
+        this.departmentName = departmentName;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    public void setPhone(String phone) {
+        this.phone = phone;
+    }
+
+    public Double getSalary() {
+        return salary;
+    }
+
+    public void setSalary(Double salary) {
+        this.salary = salary;
+    }
+
+    public Long getDepartmentId() {
+        return departmentId;
+    }
+
+    public void setDepartmentId(Long departmentId) {
+        this.departmentId = departmentId;
+    }
+
+    public String getDepartmentName() {
+        return departmentName;
+    }
+
+    public void setDepartmentName(String departmentName) {
+        this.departmentName = departmentName;
+    }
+}
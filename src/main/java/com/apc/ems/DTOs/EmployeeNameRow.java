@@ -0,0 +1,4 @@
+package com.apc.ems.DTOs;
+
+// The columns the typeahead index depends on, with the version that orders writes to them
+public record EmployeeNameRow(Long id, long version, String name, String email) {}
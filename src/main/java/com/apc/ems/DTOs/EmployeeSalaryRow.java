@@ -0,0 +1,4 @@
+package com.apc.ems.DTOs;
+
+// The columns the salary aggregates depend on, read without loading the entity
+public record EmployeeSalaryRow(Long id, long version, Long departmentId, Double salary) {}
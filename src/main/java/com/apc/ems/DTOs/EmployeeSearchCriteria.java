@@ -0,0 +1,56 @@
+package com.apc.ems.DTOs;
+
+import java.util.List;
+
+public class EmployeeSearchCriteria {
+
+    private List<Long> departmentIds;
+    private Double minSalary;
+    private Double maxSalary;
+    private String namePrefix;
+    private String emailDomain;
+
+    // Constructors
+    public EmployeeSearchCriteria() {}
+
+    // Getters and Setters
+    public List<Long> getDepartmentIds() {
+        return departmentIds;
+    }
+
+    public void setDepartmentIds(List<Long> departmentIds) {
+        this.departmentIds = departmentIds;
+    }
+
+    public Double getMinSalary() {
+        return minSalary;
+    }
+
+    public void setMinSalary(Double minSalary) {
+        this.minSalary = minSalary;
+    }
+
+    public Double getMaxSalary() {
+        return maxSalary;
+    }
+
+    public void setMaxSalary(Double maxSalary) {
+        this.maxSalary = maxSalary;
+    }
+
+    public String getNamePrefix() {
+        return namePrefix;
+    }
+
+    public void setNamePrefix(String namePrefix) {
+        this.namePrefix = namePrefix;
+    }
+
+    public String getEmailDomain() {
+        return emailDomain;
+    }
+
+    public void setEmailDomain(String emailDomain) {
+        this.emailDomain = emailDomain;
+    }
+}
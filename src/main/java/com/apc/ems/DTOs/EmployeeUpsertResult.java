@@ -0,0 +1,4 @@
+package com.apc.ems.DTOs;
+
+// Outcome of an upsert by email: the stored employee and whether the row was inserted
+public record EmployeeUpsertResult(EmployeeView employee, boolean created) {}
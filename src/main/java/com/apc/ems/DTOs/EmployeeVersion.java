@@ -0,0 +1,52 @@
+package com.apc.ems.DTOs;
+
+public class EmployeeVersion {
+
+    private Long id;
+    private long version;
+    private Long departmentId;
+    private Long departmentVersion;
+
+    // Constructors
+    public EmployeeVersion() {}
+
+    public EmployeeVersion(Long id, long version, Long departmentId, Long departmentVersion) {
+        this.id = id;
+        this.version = version;
+        this.departmentId = departmentId;
+        this.departmentVersion = departmentVersion;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public Long getDepartmentId() {
+        return departmentId;
+    }
+
+    public void setDepartmentId(Long departmentId) {
+        this.departmentId = departmentId;
+    }
+
+    public Long getDepartmentVersion() {
+        return departmentVersion;
+    }
+
+    public void setDepartmentVersion(Long departmentVersion) {
+        this.departmentVersion = departmentVersion;
+    }
+}
@@ -0,0 +1,21 @@
+package com.apc.ems.DTOs;
+
+import com.apc.ems.Entities.Employee;
+
+// Read model of an employee as the API exposes it, with its department inlined
+public record EmployeeView(Long id, long version, String name, String email, String phone, Double salary,
+                           DepartmentView department) {
+
+    // Flat form selected by projection queries; a LEFT JOINed missing department arrives as null columns
+    public EmployeeView(Long id, long version, String name, String email, String phone, Double salary,
+                        Long departmentId, Long departmentVersion, String departmentName, String departmentDescription) {
+        this(id, version, name, email, phone, salary, departmentId == null ? null
+                : new DepartmentView(departmentId, departmentVersion, departmentName, departmentDescription));
+    }
+
+    // Must be called while the department is still loadable (inside the transaction)
+    public static EmployeeView of(Employee employee) {
+        return new EmployeeView(employee.getId(), employee.getVersion(), employee.getName(), employee.getEmail(),
+                employee.getPhone(), employee.getSalary(), DepartmentView.of(employee.getDepartment()));
+    }
+}
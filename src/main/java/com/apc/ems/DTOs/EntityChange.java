@@ -0,0 +1,31 @@
+package com.apc.ems.DTOs;
+
+import com.apc.ems.Entities.Tombstone;
+
+import java.time.Instant;
+
+/**
+ * One entry of the change feed: an employee or department as it is now ("employee" or
+ * "department" with its read model as data), or the tombstone of one (deleted, no data).
+ * changedAt is null for rows that predate the feed.
+ */
+public record EntityChange(long seq, Instant changedAt, String entity, Long id, boolean deleted, Object data) {
+
+    // Changed employee, in the flat form selected by the feed query
+    public EntityChange(Long seq, Instant changedAt, Long id, long version, String name, String email, String phone,
+                        Double salary, Long departmentId, Long departmentVersion, String departmentName,
+                        String departmentDescription) {
+        this(seq, changedAt, Tombstone.EMPLOYEE, id, false, new EmployeeView(id, version, name, email, phone, salary,
+                departmentId, departmentVersion, departmentName, departmentDescription));
+    }
+
+    // Changed department
+    public EntityChange(Long seq, Instant changedAt, Long id, long version, String name, String description) {
+        this(seq, changedAt, Tombstone.DEPARTMENT, id, false, new DepartmentView(id, version, name, description));
+    }
+
+    // Deleted employee or department
+    public EntityChange(Long seq, Instant changedAt, String entity, Long id) {
+        this(seq, changedAt, entity, id, true, null);
+    }
+}
@@ -0,0 +1,5 @@
+package com.apc.ems.DTOs;
+
+// Old and new value of one audited field; from is null for creates, to is null for deletes
+public record FieldChange(Object from, Object to) {
+}
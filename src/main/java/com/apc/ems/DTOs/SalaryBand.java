@@ -0,0 +1,4 @@
+package com.apc.ems.DTOs;
+
+// Number of employees whose salary lies in [from, to)
+public record SalaryBand(double from, double to, long count) {}
@@ -0,0 +1,5 @@
+package com.apc.ems.DTOs;
+
+// One group of a department-by-salary-band aggregate query; band and salary columns are null
+// for the employees without a salary, departmentId is null for unassigned employees
+public record SalaryBandTotal(Long departmentId, Long band, long count, Double total, Double min, Double max) {}
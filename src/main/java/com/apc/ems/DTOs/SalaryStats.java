@@ -0,0 +1,107 @@
+package com.apc.ems.DTOs;
+
+import java.util.List;
+
+public class SalaryStats {
+
+    // Null for the company-wide figures
+    private Long departmentId;
+    private long headcount;
+    // Employees with a salary on record; totals, averages and bands cover only these
+    private long salariedCount;
+    private double totalSalary;
+    private Double averageSalary;
+    private Double minSalary;
+    private Double maxSalary;
+    private double bandWidth;
+    private List<SalaryBand> bands;
+
+    // Constructors
+    public SalaryStats() {}
+
+    public SalaryStats(Long departmentId, long headcount, long salariedCount, double totalSalary,
+                       Double minSalary, Double maxSalary, double bandWidth, List<SalaryBand> bands) {
+        this.departmentId = departmentId;
+        this.headcount = headcount;
+        this.salariedCount = salariedCount;
+        this.totalSalary = totalSalary;
+        this.averageSalary = salariedCount == 0 ? null : totalSalary / salariedCount;
+        this.minSalary = minSalary;
+        this.maxSalary = maxSalary;
+        this.bandWidth = bandWidth;
+        this.bands = bands;
+    }
+
+    // Getters and Setters
+    public Long getDepartmentId() {
+        return departmentId;
+    }
+
+    public void setDepartmentId(Long departmentId) {
+        this.departmentId = departmentId;
+    }
+
+    public long getHeadcount() {
+        return headcount;
+    }
+
+    public void setHeadcount(long headcount) {
+        this.headcount = headcount;
+    }
+
+    public long getSalariedCount() {
+        return salariedCount;
+    }
+
+    public void setSalariedCount(long salariedCount) {
+        this.salariedCount = salariedCount;
+    }
+
+    public double getTotalSalary() {
+        return totalSalary;
+    }
+
+    public void setTotalSalary(double totalSalary) {
+        this.totalSalary = totalSalary;
+    }
+
+    public Double getAverageSalary() {
+        return averageSalary;
+    }
+
+    public void setAverageSalary(Double averageSalary) {
+        this.averageSalary = averageSalary;
+    }
+
+    public Double getMinSalary() {
+        return minSalary;
+    }
+
+    public void setMinSalary(Double minSalary) {
+        this.minSalary = minSalary;
+    }
+
+    public Double getMaxSalary() {
+        return maxSalary;
+    }
+
+    public void setMaxSalary(Double maxSalary) {
+        this.maxSalary = maxSalary;
+    }
+
+    public double getBandWidth() {
+        return bandWidth;
+    }
+
+    public void setBandWidth(double bandWidth) {
+        this.bandWidth = bandWidth;
+    }
+
+    public List<SalaryBand> getBands() {
+        return bands;
+    }
+
+    public void setBands(List<SalaryBand> bands) {
+        this.bands = bands;
+    }
+}
@@ -0,0 +1,42 @@
+package com.apc.ems.DTOs;
+
+public class TableVersion {
+
+    private long rowCount;
+    private long maxId;
+    private long versionSum;
+
+    // Constructors
+    public TableVersion() {}
+
+    public TableVersion(long rowCount, long maxId, long versionSum) {
+        this.rowCount = rowCount;
+        this.maxId = maxId;
+        this.versionSum = versionSum;
+    }
+
+    // Getters and Setters
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public void setRowCount(long rowCount) {
+        this.rowCount = rowCount;
+    }
+
+    public long getMaxId() {
+        return maxId;
+    }
+
+    public void setMaxId(long maxId) {
+        this.maxId = maxId;
+    }
+
+    public long getVersionSum() {
+        return versionSum;
+    }
+
+    public void setVersionSum(long versionSum) {
+        this.versionSum = versionSum;
+    }
+}
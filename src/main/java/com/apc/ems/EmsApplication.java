@@ -2,8 +2,10 @@ package com.apc.ems;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class EmsApplication {
 	public static void main(String[] args) {
 		System.out.println("server started at http://localhost:8080");
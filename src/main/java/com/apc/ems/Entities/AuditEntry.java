@@ -0,0 +1,56 @@
+package com.apc.ems.Entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Immutable;
+
+import java.time.Instant;
+
+// One committed change to employees or a department; rows are only ever inserted
+@Entity
+@Immutable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "audit_log", indexes = {
+        @Index(name = "idx_audit_log_entity", columnList = "entity_type, entity_id, id"),
+        @Index(name = "idx_audit_log_principal", columnList = "principal, id")
+})
+public class AuditEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "occurred_at", nullable = false)
+    private Instant occurredAt;
+
+    // Username of the authenticated caller, or "system" for work done outside a request
+    @Column(nullable = false, length = 100)
+    private String principal;
+
+    // AuditAction name
+    @Column(nullable = false, length = 20)
+    private String action;
+
+    // Tombstone.EMPLOYEE or Tombstone.DEPARTMENT
+    @Column(name = "entity_type", nullable = false, length = 20)
+    private String entityType;
+
+    // The changed row; a set-based statement records one entry per row it changed
+    @Column(name = "entity_id")
+    private Long entityId;
+
+    // Rows the change applied to: 1, or the count of the set-based statement the entry belongs to
+    @Column(name = "row_count", nullable = false)
+    private int rowCount;
+
+    // JSON object of field name to {"from": ..., "to": ...}
+    @Lob
+    @Column(nullable = false)
+    private String changes;
+}
@@ -0,0 +1,13 @@
+package com.apc.ems.Entities;
+
+import java.time.Instant;
+
+// Entities that appear in the change feed; their change sequence and time are set on every write
+public interface ChangeTracked {
+
+    Long getId();
+
+    void setChangeSeq(Long changeSeq);
+
+    void setChangedAt(Instant changedAt);
+}
@@ -1,33 +1,56 @@
 package com.apc.ems.Entities;
 
-import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.apc.ems.Repository.ChangeTrackingListener;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
+import java.time.Instant;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "departments")
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "departments")
-public class Department {
+@EntityListeners(ChangeTrackingListener.class)
+@Table(name = "departments", indexes = @Index(name = "idx_departments_change_seq", columnList = "change_seq"))
+public class Department implements ChangeTracked {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Optimistic-locking version; also the basis of the department's ETag
+    @Version
+    @Column(nullable = false)
+    private long version;
+
     @Column(nullable = false, unique = true)
     private String name;
 
     @Column(length = 500)
     private String description;
 
-    @OneToMany(mappedBy = "department", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
-    @JsonIgnoreProperties("department")
+    // Position in the change feed, stamped on every write (see ChangeTrackingListener)
+    @JsonIgnore
+    @Column(name = "change_seq")
+    private Long changeSeq;
+
+    @JsonIgnore
+    @Column(name = "changed_at")
+    private Instant changedAt;
+
+    // Never serialized: the roster is served paged from /api/departments/{id}/employees.
+    // Not cascaded: deletes handle the roster with set-based statements (see DepartmentDeletePolicy)
+    @OneToMany(mappedBy = "department", fetch = FetchType.LAZY)
+    @JsonIgnore
     private List<Employee> employees;
 }
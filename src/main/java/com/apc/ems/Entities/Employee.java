@@ -1,24 +1,53 @@
 package com.apc.ems.Entities;
 
+import com.apc.ems.Repository.ChangeTrackingListener;
+import com.apc.ems.Service.EmployeeIndexListener;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import java.time.Instant;
+import java.util.Locale;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "employees")
+@NamedEntityGraph(name = "Employee.department", attributeNodes = @NamedAttributeNode("department"))
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "employees")
-public class Employee {
+@EntityListeners({EmployeeIndexListener.class, ChangeTrackingListener.class})
+@Table(name = "employees", indexes = {
+        @Index(name = "idx_employees_name_id", columnList = "name, id"),
+        @Index(name = "idx_employees_salary_id", columnList = "salary, id"),
+        @Index(name = "idx_employees_department_id_id", columnList = "department_id, id"),
+        @Index(name = "idx_employees_department_salary", columnList = "department_id, salary, id"),
+        @Index(name = "idx_employees_department_name", columnList = "department_id, name, id"),
+        @Index(name = "idx_employees_email_domain", columnList = "email_domain, id"),
+        @Index(name = "idx_employees_change_seq_id", columnList = "change_seq, id")
+})
+public class Employee implements ChangeTracked {
+
+    public static final int ID_ALLOCATION_SIZE = 50;
 
+    // Pooled sequence (a table on MySQL) instead of IDENTITY so Hibernate can batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employees_seq")
+    @SequenceGenerator(name = "employees_seq", sequenceName = "employees_seq", allocationSize = Employee.ID_ALLOCATION_SIZE)
     private Long id;
 
+    // Optimistic-locking version; also the basis of the employee's ETag
+    @Version
+    @Column(nullable = false)
+    private long version;
+
     @Column(nullable = false)
     private String name;
 
@@ -27,10 +56,40 @@ public class Employee {
 
     private String phone;
 
+    // Lower-cased part of the email after '@', kept in its own indexed column so domain
+    // filters are an index lookup instead of a LIKE '%@domain' scan
+    @JsonIgnore
+    @Column(name = "email_domain")
+    private String emailDomain;
+
     private Double salary;
 
-    @ManyToOne
+    // LAZY so list queries choose their own fetch plan (see the "Employee.department" graph)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "department_id")
-    @JsonIgnoreProperties("employees")
+    @JsonIgnoreProperties({"employees", "hibernateLazyInitializer", "handler"})
     private Department department;
+
+    // Position in the change feed, stamped on every write (see ChangeTrackingListener); null only
+    // for rows written before the column existed, until they are backfilled
+    @JsonIgnore
+    @Column(name = "change_seq")
+    private Long changeSeq;
+
+    @JsonIgnore
+    @Column(name = "changed_at")
+    private Instant changedAt;
+
+    @PrePersist
+    @PreUpdate
+    void syncEmailDomain() {
+        this.emailDomain = domainOf(email);
+    }
+
+    public static String domainOf(String email) {
+        if (email == null || email.indexOf('@') < 0) {
+            return null;
+        }
+        return email.substring(email.lastIndexOf('@') + 1).toLowerCase(Locale.ROOT);
+    }
 }
@@ -0,0 +1,39 @@
+package com.apc.ems.Entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+// Record of a deleted employee or department, so the change feed can report the delete
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "tombstones", indexes = @Index(name = "idx_tombstones_change_seq", columnList = "change_seq"))
+public class Tombstone {
+
+    public static final String EMPLOYEE = "employee";
+    public static final String DEPARTMENT = "department";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // EMPLOYEE or DEPARTMENT
+    @Column(name = "entity_type", nullable = false, length = 20)
+    private String entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column(name = "change_seq", nullable = false)
+    private Long changeSeq;
+
+    @Column(name = "deleted_at", nullable = false)
+    private Instant deletedAt;
+}
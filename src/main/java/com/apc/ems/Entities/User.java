@@ -1,5 +1,6 @@
 package com.apc.ems.Entities;
 
+import com.apc.ems.Security.UserCacheInvalidationListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -14,6 +15,7 @@ import java.util.List;
 
 @Entity
 @Table(name = "users")
+@EntityListeners(UserCacheInvalidationListener.class)
 public class User implements UserDetails {
     
     @Id
@@ -39,6 +41,10 @@ public class User implements UserDetails {
     @Column(nullable = false)
     private Role role = Role.USER;
     
+    // Username as last read from or written to the database, for cache eviction on rename
+    @Transient
+    private String loadedUsername;
+    
     // Constructors
     public User() {}
     
@@ -118,6 +124,14 @@ public class User implements UserDetails {
         this.role = role;
     }
     
+    public String getLoadedUsername() {
+        return loadedUsername;
+    }
+    
+    public void setLoadedUsername(String loadedUsername) {
+        this.loadedUsername = loadedUsername;
+    }
+    
     // Role enum
     public enum Role {
         USER, ADMIN
@@ -0,0 +1,11 @@
+package com.apc.ems.Repository;
+
+import com.apc.ems.Entities.AuditEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.stereotype.Repository;
+
+// Read side of the audit log; entries are inserted in batches by AuditLogService
+@Repository
+public interface AuditEntryRepository extends JpaRepository<AuditEntry, Long>, JpaSpecificationExecutor<AuditEntry> {
+}
@@ -0,0 +1,30 @@
+package com.apc.ems.Repository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+// Numbers employees and departments written before change_seq existed, so the change feed includes them
+@Component
+public class ChangeSeqInitializer implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeSeqInitializer.class);
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int departments = departmentRepository.backfillChangeSeq();
+        int employees = employeeRepository.backfillChangeSeq();
+        if (departments > 0 || employees > 0) {
+            log.info("Backfilled change_seq for {} departments and {} employees", departments, employees);
+        }
+    }
+}
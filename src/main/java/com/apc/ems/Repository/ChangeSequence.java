@@ -0,0 +1,90 @@
+package com.apc.ems.Repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Hands out the change sequence numbers stamped on employees, departments and tombstones.
+ *
+ * <p>Numbers are allocated when a row is written but become visible when its transaction
+ * commits, and transactions do not commit in allocation order. A reader that advanced past
+ * number 11 while 10 was still uncommitted would never see 10, so every allocated number stays
+ * "in flight" until its transaction completes, and {@link #watermark()} is the highest number
+ * below which nothing is in flight. The change feed never reads past the watermark.
+ *
+ * <p>Numbering is kept in memory, like the other in-memory indexes this application maintains,
+ * and so assumes a single application instance. It resumes above both the highest stored
+ * number and the current time in microseconds: numbers handed out and rolled back just before
+ * a restart are never handed out again to a different change.
+ */
+@Component
+public class ChangeSequence {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private boolean initialized;
+    private long last;
+    private final TreeSet<Long> inFlight = new TreeSet<>();
+
+    // Allocate the next number; it stays in flight until the current transaction completes
+    public long next() {
+        long sequence;
+        synchronized (this) {
+            initialize();
+            sequence = ++last;
+            inFlight.add(sequence);
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            release(List.of(sequence));
+            return sequence;
+        }
+        // One synchronization per transaction releases everything it allocated
+        @SuppressWarnings("unchecked")
+        List<Long> allocated = (List<Long>) TransactionSynchronizationManager.getResource(this);
+        if (allocated == null) {
+            List<Long> numbers = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, numbers);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ChangeSequence.this);
+                    release(numbers);
+                }
+            });
+            allocated = numbers;
+        }
+        allocated.add(sequence);
+        return sequence;
+    }
+
+    // Every change numbered at or below this has committed or rolled back
+    public synchronized long watermark() {
+        initialize();
+        return inFlight.isEmpty() ? last : inFlight.first() - 1;
+    }
+
+    private synchronized void release(List<Long> numbers) {
+        numbers.forEach(inFlight::remove);
+    }
+
+    private void initialize() {
+        if (initialized) {
+            return;
+        }
+        long stored = 0;
+        for (String table : List.of("employees", "departments", "tombstones")) {
+            Long max = jdbcTemplate.queryForObject("SELECT MAX(change_seq) FROM " + table, Long.class);
+            stored = Math.max(stored, max == null ? 0 : max);
+        }
+        last = Math.max(stored, System.currentTimeMillis() * 1000);
+        initialized = true;
+    }
+}
@@ -0,0 +1,41 @@
+package com.apc.ems.Repository;
+
+import com.apc.ems.Entities.ChangeTracked;
+import com.apc.ems.Entities.Employee;
+import com.apc.ems.Entities.Tombstone;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreRemove;
+import jakarta.persistence.PreUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+// Stamps the change sequence on every entity write and leaves a tombstone for every delete
+@Component
+public class ChangeTrackingListener {
+
+    @Autowired
+    private ChangeSequence changeSequence;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PrePersist
+    @PreUpdate
+    public void stamp(ChangeTracked entity) {
+        entity.setChangeSeq(changeSequence.next());
+        entity.setChangedAt(Instant.now());
+    }
+
+    // Plain JDBC because callbacks must not use the EntityManager; it joins the transaction's
+    // connection, so the tombstone commits or rolls back with the delete
+    @PreRemove
+    public void removed(ChangeTracked entity) {
+        jdbcTemplate.update("INSERT INTO tombstones (entity_type, entity_id, change_seq, deleted_at) VALUES (?, ?, ?, ?)",
+                entity instanceof Employee ? Tombstone.EMPLOYEE : Tombstone.DEPARTMENT,
+                entity.getId(), changeSequence.next(), Timestamp.from(Instant.now()));
+    }
+}
@@ -1,17 +1,68 @@
 package com.apc.ems.Repository;
 
+import com.apc.ems.DTOs.DepartmentSummary;
+import com.apc.ems.DTOs.EntityChange;
+import com.apc.ems.DTOs.TableVersion;
 import com.apc.ems.Entities.Department;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface DepartmentRepository extends JpaRepository<Department, Long> {
     
-    // Find department by name
+    // Find department by name; the id is served from the query cache and the row from the entity cache
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = HibernateCacheConfig.DEPARTMENT_QUERIES)
+    })
     Optional<Department> findByName(String name);
     
     // Check if department exists by name
     boolean existsByName(String name);
+    
+    // All departments with their headcount, computed in one grouped query
+    @Query("SELECT new com.apc.ems.DTOs.DepartmentSummary(d.id, d.name, d.description, d.version, COUNT(e)) " +
+           "FROM Department d LEFT JOIN d.employees e GROUP BY d.id, d.name, d.description, d.version ORDER BY d.id")
+    List<DepartmentSummary> findAllSummaries();
+    
+    // One department with its headcount, without loading the roster
+    @Query("SELECT new com.apc.ems.DTOs.DepartmentSummary(d.id, d.name, d.description, d.version, COUNT(e)) " +
+           "FROM Department d LEFT JOIN d.employees e WHERE d.id = :id GROUP BY d.id, d.name, d.description, d.version")
+    Optional<DepartmentSummary> findSummaryById(@Param("id") Long id);
+    
+    // One department by name with its headcount
+    @Query("SELECT new com.apc.ems.DTOs.DepartmentSummary(d.id, d.name, d.description, d.version, COUNT(e)) " +
+           "FROM Department d LEFT JOIN d.employees e WHERE d.name = :name GROUP BY d.id, d.name, d.description, d.version")
+    Optional<DepartmentSummary> findSummaryByName(@Param("name") String name);
+    
+    // Row count, highest id and version sum: changes whenever any department is added, removed or updated
+    @Query("SELECT new com.apc.ems.DTOs.TableVersion(COUNT(d), COALESCE(MAX(d.id), 0), COALESCE(SUM(d.version), 0)) " +
+           "FROM Department d")
+    TableVersion findTableVersion();
+    
+    // Departments changed after position (seq, id) and numbered at most upTo, in feed order: a range
+    // scan of idx_departments_change_seq
+    @Query("SELECT new com.apc.ems.DTOs.EntityChange(d.changeSeq, d.changedAt, d.id, d.version, d.name, d.description) " +
+           "FROM Department d " +
+           "WHERE d.changeSeq >= :seq AND d.changeSeq <= :upTo AND (d.changeSeq > :seq OR d.id > :id) " +
+           "ORDER BY d.changeSeq, d.id")
+    List<EntityChange> findChangesAfter(@Param("seq") long seq, @Param("id") long id, @Param("upTo") long upTo,
+                                        Pageable pageable);
+    
+    // Rows that predate the change sequence come first in the feed
+    @Transactional
+    @Modifying
+    @Query("UPDATE Department d SET d.changeSeq = 0 WHERE d.changeSeq IS NULL")
+    int backfillChangeSeq();
 }
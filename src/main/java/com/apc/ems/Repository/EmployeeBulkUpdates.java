@@ -0,0 +1,17 @@
+package com.apc.ems.Repository;
+
+import com.apc.ems.DTOs.BulkReassignment;
+import com.apc.ems.Entities.Employee;
+import org.springframework.data.jpa.domain.Specification;
+
+// Set-based writes for EmployeeRepository that bypass the entity lifecycle and run as one statement
+public interface EmployeeBulkUpdates {
+
+    // Point every employee matching the specification at the department (null clears it) and bump
+    // each row's version; returns the number of rows changed and the change number they share
+    BulkReassignment reassignDepartment(Specification<Employee> specification, Long departmentId);
+
+    // Insert the employee, or update the row that already has its email (bumping the version), in one
+    // INSERT ... ON DUPLICATE KEY UPDATE; returns the id the row was inserted with if it was new
+    long upsertByEmail(Employee employee);
+}
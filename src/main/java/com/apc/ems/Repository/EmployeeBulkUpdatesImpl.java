@@ -0,0 +1,94 @@
+package com.apc.ems.Repository;
+
+import com.apc.ems.DTOs.BulkReassignment;
+import com.apc.ems.Entities.Department;
+import com.apc.ems.Entities.Employee;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.query.NativeQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+/**
+ * Bulk updates built from the same Specifications as the read queries. They run as a single
+ * UPDATE without loading rows, so entity listeners do not fire; the version is incremented
+ * and the change sequence stamped explicitly so ETags, optimistic locks and the change feed
+ * still see the change (every row of one statement shares one number), and Hibernate evicts
+ * the employees second-level cache region after the statement.
+ */
+class EmployeeBulkUpdatesImpl implements EmployeeBulkUpdates {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ChangeSequence changeSequence;
+
+    @Override
+    @Transactional
+    public BulkReassignment reassignDepartment(Specification<Employee> specification, Long departmentId) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Employee> update = cb.createCriteriaUpdate(Employee.class);
+        Root<Employee> root = update.from(Employee.class);
+
+        if (departmentId == null) {
+            update.set(root.<Department>get("department"), cb.nullLiteral(Department.class));
+        } else {
+            update.set(root.<Department>get("department"), entityManager.getReference(Department.class, departmentId));
+        }
+        update.set(root.<Long>get("version"), cb.sum(root.get("version"), 1L));
+        long changeSeq = changeSequence.next();
+        update.set(root.<Long>get("changeSeq"), changeSeq);
+        update.set(root.<Instant>get("changedAt"), Instant.now());
+
+        // The seek and filter predicates never touch the query argument, so an UPDATE can reuse them
+        Predicate predicate = specification.toPredicate(root, null, cb);
+        if (predicate != null) {
+            update.where(predicate);
+        }
+        return new BulkReassignment(entityManager.createQuery(update).executeUpdate(), changeSeq);
+    }
+
+    // The new row takes its id from the entity's pooled sequence, so ids stay in one series with
+    // Hibernate-inserted rows; on a duplicate the id is simply skipped. Declaring Employee as the
+    // query space makes Hibernate evict the employees cache region, as for the bulk UPDATE above.
+    @Override
+    @Transactional
+    public long upsertByEmail(Employee employee) {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        BeforeExecutionGenerator generator = (BeforeExecutionGenerator) session.getFactory().getMappingMetamodel()
+                .getEntityDescriptor(Employee.class).getGenerator();
+        long id = ((Number) generator.generate(session, null, null, EventType.INSERT)).longValue();
+
+        // Native on purpose: JPQL has no upsert; H2 accepts this syntax in MySQL mode
+        NativeQuery<?> upsert = entityManager.createNativeQuery(
+                "INSERT INTO employees (id, version, name, email, phone, email_domain, salary, department_id, change_seq, changed_at) "
+                        + "VALUES (:id, 0, :name, :email, :phone, :emailDomain, :salary, :departmentId, :changeSeq, :changedAt) "
+                        + "ON DUPLICATE KEY UPDATE name = VALUES(name), phone = VALUES(phone), "
+                        + "salary = VALUES(salary), department_id = VALUES(department_id), version = version + 1, "
+                        + "change_seq = VALUES(change_seq), changed_at = VALUES(changed_at)")
+                .unwrap(NativeQuery.class);
+        upsert.addSynchronizedEntityClass(Employee.class)
+                .setParameter("id", id, Long.class)
+                .setParameter("name", employee.getName(), String.class)
+                .setParameter("email", employee.getEmail(), String.class)
+                .setParameter("phone", employee.getPhone(), String.class)
+                .setParameter("emailDomain", Employee.domainOf(employee.getEmail()), String.class)
+                .setParameter("salary", employee.getSalary(), Double.class)
+                .setParameter("departmentId", employee.getDepartment() == null ? null : employee.getDepartment().getId(), Long.class)
+                .setParameter("changeSeq", changeSequence.next(), Long.class)
+                .setParameter("changedAt", Instant.now(), Instant.class)
+                .executeUpdate();
+        return id;
+    }
+}
@@ -0,0 +1,26 @@
+package com.apc.ems.Repository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+// Fills employees.email_domain for rows written before the column existed
+@Component
+public class EmployeeEmailDomainInitializer implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeEmailDomainInitializer.class);
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int updated = employeeRepository.backfillEmailDomains();
+        if (updated > 0) {
+            log.info("Backfilled email_domain for {} employees", updated);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.apc.ems.Repository;
+
+import com.apc.ems.Entities.Employee;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves the emulated {@code employees_seq} table (MySQL has no sequences) past the
+ * highest existing employee id. Rows created while ids were IDENTITY-generated would
+ * otherwise collide with the first ids handed out by the pooled sequence.
+ */
+@Component
+public class EmployeeIdSequenceInitializer implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeIdSequenceInitializer.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM employees", Long.class);
+        // The pooled optimizer hands out ids below the stored value, so leave a full block of headroom
+        long floor = (maxId == null ? 0 : maxId) + Employee.ID_ALLOCATION_SIZE + 1;
+        try {
+            int updated = jdbcTemplate.update("UPDATE employees_seq SET next_val = ? WHERE next_val < ?", floor, floor);
+            if (updated > 0) {
+                log.info("Advanced employees_seq to {} (max employee id {})", floor, maxId);
+            }
+        } catch (DataAccessException e) {
+            // Native sequence (no emulation table); nothing to realign
+            log.debug("employees_seq is not table-backed, skipping realignment");
+        }
+    }
+}
@@ -1,28 +1,143 @@
 package com.apc.ems.Repository;
 
+import com.apc.ems.DTOs.EmployeeExportRow;
+import com.apc.ems.DTOs.EmployeeNameRow;
+import com.apc.ems.DTOs.EmployeeSalaryRow;
+import com.apc.ems.DTOs.EmployeeSummary;
+import com.apc.ems.DTOs.EmployeeVersion;
+import com.apc.ems.DTOs.EntityChange;
+import com.apc.ems.DTOs.TableVersion;
 import com.apc.ems.Entities.Employee;
 import com.apc.ems.Entities.Department;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, JpaSpecificationExecutor<Employee>,
+        EmployeeViewQueries, EmployeeBulkUpdates, EmployeeSalaryQueries {
+    
+    // Employee reads join-fetch the department through the "Employee.department" entity graph,
+    // so a list costs one statement instead of one extra select per distinct department
+    
+    // Find all employees
+    @Override
+    @EntityGraph("Employee.department")
+    List<Employee> findAll();
+    
+    // Find employee by ID
+    @Override
+    @EntityGraph("Employee.department")
+    Optional<Employee> findById(Long id);
     
     // Find employee by email
+    @EntityGraph("Employee.department")
     Optional<Employee> findByEmail(String email);
     
     // Find employees by department
+    @EntityGraph("Employee.department")
     List<Employee> findByDepartment(Department department);
     
     // Find employees by department ID
+    @EntityGraph("Employee.department")
     List<Employee> findByDepartmentId(Long departmentId);
     
     // Check if employee exists by email
     boolean existsByEmail(String email);
     
+    // Check if any employee belongs to the department (stops at the first row)
+    boolean existsByDepartmentId(Long departmentId);
+    
     // Find employees by name (case insensitive)
+    @EntityGraph("Employee.department")
     List<Employee> findByNameContainingIgnoreCase(String name);
+    
+    // Which of the given emails are already taken (one IN query per import chunk)
+    @Query("SELECT e.email FROM Employee e WHERE e.email IN :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
+    
+    // Stream all employees as flat export rows (forward-only cursor, no entity hydration)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.apc.ems.DTOs.EmployeeExportRow(e.id, e.name, e.email, e.phone, e.salary, d.id, d.name) " +
+           "FROM Employee e LEFT JOIN e.department d ORDER BY e.id")
+    Stream<EmployeeExportRow> streamExportRows();
+    
+    // Stream the employees of one department as flat export rows
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.apc.ems.DTOs.EmployeeExportRow(e.id, e.name, e.email, e.phone, e.salary, d.id, d.name) " +
+           "FROM Employee e JOIN e.department d WHERE d.id = :departmentId ORDER BY e.id")
+    Stream<EmployeeExportRow> streamExportRowsByDepartmentId(@Param("departmentId") Long departmentId);
+    
+    // Most recently created employees (highest ids first), id/name/email only
+    @Query("SELECT new com.apc.ems.DTOs.EmployeeSummary(e.id, e.name, e.email) FROM Employee e ORDER BY e.id DESC")
+    List<EmployeeSummary> findRecentSummaries(Pageable pageable);
+    
+    // Stream id/version/name/email of every employee (used to build the typeahead index)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.apc.ems.DTOs.EmployeeNameRow(e.id, e.version, e.name, e.email) FROM Employee e")
+    Stream<EmployeeNameRow> streamNameRows();
+    
+    // Stream id/version/department/salary of every employee (used to build the salary aggregates)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.apc.ems.DTOs.EmployeeSalaryRow(e.id, e.version, e.department.id, e.salary) FROM Employee e")
+    Stream<EmployeeSalaryRow> streamSalaryRows();
+    
+    // Salary rows of the employees stamped with one change number, i.e. the rows one set-based
+    // statement changed: an equality lookup on idx_employees_change_seq_id
+    @Query("SELECT new com.apc.ems.DTOs.EmployeeSalaryRow(e.id, e.version, e.department.id, e.salary) " +
+           "FROM Employee e WHERE e.changeSeq = :changeSeq")
+    List<EmployeeSalaryRow> findSalaryRowsByChangeSeq(@Param("changeSeq") long changeSeq);
+    
+    // Ids of the employees stamped with one change number, to audit each row of a set-based
+    // statement: answered from idx_employees_change_seq_id alone
+    @Query("SELECT e.id FROM Employee e WHERE e.changeSeq = :changeSeq ORDER BY e.id")
+    List<Long> findIdsByChangeSeq(@Param("changeSeq") long changeSeq);
+    
+    // Versions behind an employee's ETag, read without loading the entity
+    @Query("SELECT new com.apc.ems.DTOs.EmployeeVersion(e.id, e.version, d.id, d.version) " +
+           "FROM Employee e LEFT JOIN e.department d WHERE e.id = :id")
+    Optional<EmployeeVersion> findVersionById(@Param("id") Long id);
+    
+    // Row count, highest id and version sum: changes whenever any employee is added, removed or updated
+    @Query("SELECT new com.apc.ems.DTOs.TableVersion(COUNT(e), COALESCE(MAX(e.id), 0), COALESCE(SUM(e.version), 0)) " +
+           "FROM Employee e")
+    TableVersion findTableVersion();
+    
+    // Employees changed after position (seq, id) and numbered at most upTo, in feed order: a range
+    // scan of idx_employees_change_seq_id. The rows of one bulk statement share a number, hence the id.
+    @Query("SELECT new com.apc.ems.DTOs.EntityChange(e.changeSeq, e.changedAt, e.id, e.version, e.name, e.email, " +
+           "e.phone, e.salary, d.id, d.version, d.name, d.description) " +
+           "FROM Employee e LEFT JOIN e.department d " +
+           "WHERE e.changeSeq >= :seq AND e.changeSeq <= :upTo AND (e.changeSeq > :seq OR e.id > :id) " +
+           "ORDER BY e.changeSeq, e.id")
+    List<EntityChange> findChangesAfter(@Param("seq") long seq, @Param("id") long id, @Param("upTo") long upTo,
+                                        Pageable pageable);
+    
+    // Rows that predate the change sequence come first in the feed
+    @Transactional
+    @Modifying
+    @Query("UPDATE Employee e SET e.changeSeq = 0 WHERE e.changeSeq IS NULL")
+    int backfillChangeSeq();
+    
+    // Derive email_domain for rows that predate the column
+    @Transactional
+    @Modifying
+    @Query("UPDATE Employee e SET e.emailDomain = LOWER(SUBSTRING(e.email, LOCATE('@', e.email) + 1)) " +
+           "WHERE e.emailDomain IS NULL AND LOCATE('@', e.email) > 0")
+    int backfillEmailDomains();
 }
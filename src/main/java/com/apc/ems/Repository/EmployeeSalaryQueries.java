@@ -0,0 +1,13 @@
+package com.apc.ems.Repository;
+
+import com.apc.ems.DTOs.SalaryBandTotal;
+
+import java.util.List;
+
+// Salary aggregate queries for EmployeeRepository whose grouping depends on configuration
+public interface EmployeeSalaryQueries {
+
+    // Count, sum, min and max of salaries per department and salary band of the given width,
+    // computed by the database in one grouped scan
+    List<SalaryBandTotal> findSalaryBandTotals(double bandWidth);
+}
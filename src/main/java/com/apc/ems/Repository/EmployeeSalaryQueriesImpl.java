@@ -0,0 +1,31 @@
+package com.apc.ems.Repository;
+
+import com.apc.ems.DTOs.SalaryBandTotal;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.util.List;
+
+/**
+ * The band width is written into the statement as a literal rather than bound: databases
+ * only accept a parameterized expression in GROUP BY if they can prove it equals the select
+ * expression, which H2 and MySQL do not do for separate parameter markers.
+ */
+class EmployeeSalaryQueriesImpl implements EmployeeSalaryQueries {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<SalaryBandTotal> findSalaryBandTotals(double bandWidth) {
+        if (!(bandWidth > 0) || Double.isInfinite(bandWidth)) {
+            throw new IllegalArgumentException("Band width must be positive: " + bandWidth);
+        }
+        String band = "CAST(FLOOR(e.salary / " + bandWidth + ") AS Long)";
+        return entityManager.createQuery(
+                "SELECT new com.apc.ems.DTOs.SalaryBandTotal(e.department.id, " + band + ", COUNT(e), "
+                        + "SUM(e.salary), MIN(e.salary), MAX(e.salary)) "
+                        + "FROM Employee e GROUP BY e.department.id, " + band, SalaryBandTotal.class)
+                .getResultList();
+    }
+}
@@ -0,0 +1,87 @@
+package com.apc.ems.Repository;
+
+import com.apc.ems.Entities.Employee;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.Locale;
+
+public final class EmployeeSpecifications {
+
+    private EmployeeSpecifications() {}
+
+    // Employees belonging to the given department
+    public static Specification<Employee> inDepartment(Long departmentId) {
+        return (root, query, cb) -> cb.equal(root.get("department").get("id"), departmentId);
+    }
+
+    // Employees whose name contains the given text (case insensitive)
+    public static Specification<Employee> nameContains(String name) {
+        String pattern = "%" + name.toLowerCase(Locale.ROOT) + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get("name")), pattern);
+    }
+
+    // Employees belonging to any of the given departments
+    public static Specification<Employee> inDepartments(Collection<Long> departmentIds) {
+        return (root, query, cb) -> root.get("department").get("id").in(departmentIds);
+    }
+
+    // Employees with any of the given ids
+    public static Specification<Employee> idIn(Collection<Long> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    // Employees whose salary lies within [min, max]; either bound may be null
+    public static Specification<Employee> salaryBetween(Double min, Double max) {
+        return (root, query, cb) -> {
+            if (min != null && max != null) {
+                return cb.between(root.get("salary"), min, max);
+            }
+            return min != null
+                    ? cb.greaterThanOrEqualTo(root.get("salary"), min)
+                    : cb.lessThanOrEqualTo(root.get("salary"), max);
+        };
+    }
+
+    // Employees whose name starts with the prefix. Left-anchored and without lower() so the
+    // (name, id) index is usable; MySQL's default collation already compares case-insensitively.
+    public static Specification<Employee> nameStartsWith(String prefix) {
+        String pattern = escapeLike(prefix) + "%";
+        return (root, query, cb) -> cb.like(root.get("name"), pattern, '\\');
+    }
+
+    // Employees whose email is at the given domain (matched on the indexed email_domain column)
+    public static Specification<Employee> emailDomain(String domain) {
+        String normalized = domain.startsWith("@") ? domain.substring(1) : domain;
+        return (root, query, cb) -> cb.equal(root.get("emailDomain"), normalized.toLowerCase(Locale.ROOT));
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    // Seek predicates: rows strictly after (value, id) in (sortKey ASC, id ASC) order
+
+    public static Specification<Employee> idAfter(Long lastId) {
+        return (root, query, cb) -> cb.greaterThan(root.get("id"), lastId);
+    }
+
+    public static Specification<Employee> nameAfter(String lastName, Long lastId) {
+        return (root, query, cb) -> cb.or(
+                cb.greaterThan(root.get("name"), lastName),
+                cb.and(cb.equal(root.get("name"), lastName), cb.greaterThan(root.get("id"), lastId)));
+    }
+
+    // NULL salaries sort first in ascending order on MySQL, so a cursor inside the
+    // NULL block continues with the remaining NULLs and then every non-NULL salary.
+    public static Specification<Employee> salaryAfter(Double lastSalary, Long lastId) {
+        if (lastSalary == null) {
+            return (root, query, cb) -> cb.or(
+                    cb.and(cb.isNull(root.get("salary")), cb.greaterThan(root.get("id"), lastId)),
+                    cb.isNotNull(root.get("salary")));
+        }
+        return (root, query, cb) -> cb.or(
+                cb.greaterThan(root.get("salary"), lastSalary),
+                cb.and(cb.equal(root.get("salary"), lastSalary), cb.greaterThan(root.get("id"), lastId)));
+    }
+}
@@ -0,0 +1,15 @@
+package com.apc.ems.Repository;
+
+import com.apc.ems.DTOs.EmployeeView;
+import com.apc.ems.Entities.Employee;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+// Projection queries for EmployeeRepository that select views instead of entities
+public interface EmployeeViewQueries {
+
+    // Up to limit views matching the specification, with department columns from the same statement
+    List<EmployeeView> findViews(Specification<Employee> specification, Sort sort, int limit);
+}
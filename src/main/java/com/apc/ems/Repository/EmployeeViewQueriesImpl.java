@@ -0,0 +1,50 @@
+package com.apc.ems.Repository;
+
+import com.apc.ems.DTOs.EmployeeView;
+import com.apc.ems.Entities.Department;
+import com.apc.ems.Entities.Employee;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+
+/**
+ * Runs the same Specifications as the entity queries but selects a constructor expression,
+ * so rows become {@link EmployeeView} records directly: nothing enters the persistence
+ * context, no proxies are created and there is no dirty-checking snapshot per row.
+ */
+class EmployeeViewQueriesImpl implements EmployeeViewQueries {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<EmployeeView> findViews(Specification<Employee> specification, Sort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EmployeeView> query = cb.createQuery(EmployeeView.class);
+        Root<Employee> root = query.from(Employee.class);
+        Join<Employee, Department> department = root.join("department", JoinType.LEFT);
+
+        query.select(cb.construct(EmployeeView.class,
+                root.get("id"), root.get("version"), root.get("name"), root.get("email"),
+                root.get("phone"), root.get("salary"),
+                department.get("id"), department.get("version"), department.get("name"), department.get("description")));
+
+        Predicate predicate = specification == null ? null : specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+}
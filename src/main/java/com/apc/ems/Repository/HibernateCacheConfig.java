@@ -0,0 +1,86 @@
+package com.apc.ems.Repository;
+
+import org.ehcache.config.CacheConfiguration;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Regions of the Hibernate second-level cache. Each region is a bounded, TTL-expiring
+ * in-process Ehcache; READ_WRITE concurrency keeps entries consistent with committed
+ * writes, and query results are invalidated through the update-timestamps region whenever
+ * a table they read from changes.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    public static final String DEPARTMENTS = "departments";
+    public static final String EMPLOYEES = "employees";
+    public static final String DEPARTMENT_QUERIES = "department-queries";
+
+    public static final List<String> REGIONS = List.of(DEPARTMENTS, EMPLOYEES, DEPARTMENT_QUERIES,
+            RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+            RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME);
+
+    @Value("${ems.cache.departments.max-entries:1000}")
+    private long departmentMaxEntries;
+
+    @Value("${ems.cache.departments.ttl-seconds:3600}")
+    private long departmentTtlSeconds;
+
+    @Value("${ems.cache.employees.max-entries:10000}")
+    private long employeeMaxEntries;
+
+    @Value("${ems.cache.employees.ttl-seconds:300}")
+    private long employeeTtlSeconds;
+
+    @Value("${ems.cache.queries.max-entries:1000}")
+    private long queryMaxEntries;
+
+    @Value("${ems.cache.queries.ttl-seconds:600}")
+    private long queryTtlSeconds;
+
+    // A private manager per application context, so contexts never share or clash over regions
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        ConfigurationBuilder regions = ConfigurationBuilder.newConfigurationBuilder()
+                .withCache(DEPARTMENTS, region(departmentMaxEntries, departmentTtlSeconds))
+                .withCache(EMPLOYEES, region(employeeMaxEntries, employeeTtlSeconds))
+                .withCache(DEPARTMENT_QUERIES, region(queryMaxEntries, queryTtlSeconds))
+                .withCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, region(queryMaxEntries, queryTtlSeconds))
+                // Timestamps must outlive every cached query result, so this region never expires
+                .withCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, region(10_000, 0));
+
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        return provider.getCacheManager(URI.create("urn:ems:hibernate:" + UUID.randomUUID()), regions.build());
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private static CacheConfiguration<Object, Object> region(long maxEntries, long ttlSeconds) {
+        return CacheConfigurationBuilder
+                .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(maxEntries))
+                .withExpiry(ttlSeconds > 0
+                        ? ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ttlSeconds))
+                        : ExpiryPolicyBuilder.noExpiration())
+                .build();
+    }
+}
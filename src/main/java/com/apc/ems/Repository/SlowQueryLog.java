@@ -0,0 +1,72 @@
+package com.apc.ems.Repository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replaces the SQL echo of {@code spring.jpa.show-sql}: repository calls slower than
+ * {@code ems.slow-query.threshold-ms} are counted in {@code ems.repository.slow} (tagged by
+ * repository and method) and a {@code ems.slow-query.sample-rate} fraction of them is logged.
+ * Fast calls cost one clock comparison; their latency is in {@code spring.data.repository.invocations}.
+ */
+@Component
+public class SlowQueryLog implements RepositoryMethodInvocationListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryLog.class);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${ems.slow-query.threshold-ms:200}")
+    private long thresholdMillis;
+
+    @Value("${ems.slow-query.sample-rate:1.0}")
+    private double sampleRate;
+
+    // Attaches the listener to every repository factory; the listener itself is resolved lazily
+    @Bean
+    static BeanPostProcessor slowQueryLogRegistrar(ObjectProvider<SlowQueryLog> slowQueryLog) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addInvocationListener(
+                            invocation -> slowQueryLog.getObject().afterInvocation(invocation)));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Override
+    public void afterInvocation(RepositoryMethodInvocation invocation) {
+        long millis = invocation.getDuration(TimeUnit.MILLISECONDS);
+        if (millis < thresholdMillis) {
+            return;
+        }
+        String repository = invocation.getRepositoryInterface().getSimpleName();
+        String method = invocation.getMethod().getName();
+        Counter.builder("ems.repository.slow")
+                .tag("repository", repository)
+                .tag("method", method)
+                .register(meterRegistry)
+                .increment();
+        if (sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            log.warn("Slow repository call {}.{} took {} ms ({})",
+                    repository, method, millis, invocation.getResult().getState());
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.apc.ems.Repository;
+
+import com.apc.ems.DTOs.EntityChange;
+import com.apc.ems.Entities.Tombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TombstoneRepository extends JpaRepository<Tombstone, Long> {
+
+    // Deletes numbered from..upTo in feed order (a range scan of idx_tombstones_change_seq); every
+    // delete has a number of its own
+    @Query("SELECT new com.apc.ems.DTOs.EntityChange(t.changeSeq, t.deletedAt, t.entityType, t.entityId) " +
+           "FROM Tombstone t WHERE t.changeSeq >= :from AND t.changeSeq <= :upTo ORDER BY t.changeSeq")
+    List<EntityChange> findChangesFrom(@Param("from") long from, @Param("upTo") long upTo, Pageable pageable);
+}
@@ -2,14 +2,21 @@ package com.apc.ems.Security;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 @Component
@@ -21,7 +28,27 @@ public class JwtUtil {
     @Value("${jwt.expiration:86400000}") // 24 hours
     private Long expiration;
     
-    private SecretKey getSigningKey() {
+    // Recently verified tokens, so repeat requests with the same token skip parsing and HMAC (0 disables)
+    @Value("${jwt.verified-cache.max-size:10000}")
+    private int verifiedCacheMaxSize;
+    
+    // Built once at startup; both are immutable and thread-safe
+    private SecretKey signingKey;
+    private JwtParser parser;
+    
+    // Keyed by a SHA-256 digest so bearer tokens are never held as map keys. A hit takes no lock;
+    // once the cache is full, expired tokens go first and then arbitrary ones (see PrincipalCache)
+    private final Map<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
+    
+    @PostConstruct
+    void init() {
+        this.signingKey = buildSigningKey();
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+    }
+    
+    private SecretKey buildSigningKey() {
         // Ensure the key is at least 256 bits (32 bytes)
         byte[] keyBytes = secret.getBytes();
         if (keyBytes.length < 32) {
@@ -33,29 +60,68 @@ public class JwtUtil {
         return Keys.hmacShaKeyFor(keyBytes);
     }
     
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+    /**
+     * Parses and verifies the token exactly once and returns subject, expiry and claims
+     * together. Throws {@link JwtException} if the signature is invalid or the token expired.
+     */
+    public VerifiedToken verifyToken(String token) {
+        if (verifiedCacheMaxSize <= 0) {
+            return parse(token);
+        }
+        
+        String key = digest(token);
+        VerifiedToken cached = verifiedTokens.get(key);
+        if (cached != null) {
+            if (!cached.isExpired()) {
+                return cached;
+            }
+            verifiedTokens.remove(key, cached);
+        }
+        
+        VerifiedToken verified = parse(token);
+        if (verifiedTokens.size() >= verifiedCacheMaxSize) {
+            evictToFit();
+        }
+        verifiedTokens.put(key, verified);
+        return verified;
     }
     
-    public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    // Drop expired tokens first; if the cache is still full, drop arbitrary ones. Concurrent
+    // misses may overshoot the bound briefly, which is fine for a cache.
+    private void evictToFit() {
+        verifiedTokens.values().removeIf(VerifiedToken::isExpired);
+        Iterator<String> keys = verifiedTokens.keySet().iterator();
+        while (verifiedTokens.size() >= verifiedCacheMaxSize && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
     }
     
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+    private VerifiedToken parse(String token) {
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        return new VerifiedToken(claims.getSubject(), claims.getExpiration(), claims);
     }
     
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to provide SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    public String extractUsername(String token) {
+        return verifyToken(token).subject();
     }
     
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public Date extractExpiration(String token) {
+        return verifyToken(token).expiration();
+    }
+    
+    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
+        return claimsResolver.apply(verifyToken(token).claims());
     }
     
     public String generateToken(UserDetails userDetails) {
@@ -69,15 +135,12 @@ public class JwtUtil {
                 .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
     
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        VerifiedToken verified = verifyToken(token);
+        return verified.subject().equals(userDetails.getUsername()) && !verified.isExpired();
     }
 }
-
-
-
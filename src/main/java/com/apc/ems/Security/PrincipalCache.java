@@ -0,0 +1,126 @@
+package com.apc.ems.Security;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL-based cache of authenticated principals so that a valid JWT does not cost a
+ * users-table query on every request. Entries are immutable snapshots (username and
+ * authorities only) and are evicted by {@link UserCacheInvalidationListener} whenever a
+ * user row is updated or deleted. Every eviction bumps a generation; a load that overlapped one
+ * may have read the row before the change committed, so its result is returned but not kept.
+ */
+@Component
+public class PrincipalCache implements MeterBinder {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    // Bumped before every invalidation
+    private final AtomicLong generation = new AtomicLong();
+
+    @Value("${security.principal-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Value("${security.principal-cache.max-size:10000}")
+    private int maxSize;
+
+    public UserDetails get(String username, Function<String, UserDetails> loader) {
+        long now = System.nanoTime();
+        Entry entry = entries.get(username);
+        if (entry != null && entry.expiresAt - now > 0) {
+            hits.increment();
+            return entry.principal;
+        }
+
+        misses.increment();
+        long loadedAt = generation.get();
+        UserDetails loaded = loader.apply(username);
+        UserDetails snapshot = User.withUsername(loaded.getUsername())
+                .password("")
+                .authorities(loaded.getAuthorities())
+                .accountExpired(!loaded.isAccountNonExpired())
+                .accountLocked(!loaded.isAccountNonLocked())
+                .credentialsExpired(!loaded.isCredentialsNonExpired())
+                .disabled(!loaded.isEnabled())
+                .build();
+
+        if (entries.size() >= maxSize) {
+            evictToFit(now);
+        }
+        Entry loadedEntry = new Entry(snapshot, now + ttlSeconds * 1_000_000_000L);
+        entries.put(username, loadedEntry);
+        // Checked after the put: an invalidation that bumped the generation before this check is
+        // undone here, and one after it removes the entry itself
+        if (generation.get() != loadedAt) {
+            entries.remove(username, loadedEntry);
+        }
+        return snapshot;
+    }
+
+    public void invalidate(String username) {
+        generation.incrementAndGet();
+        if (username != null && entries.remove(username) != null) {
+            evictions.increment();
+        }
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("ems.principal.cache.requests", this, PrincipalCache::getHits)
+                .tag("result", "hit").register(registry);
+        FunctionCounter.builder("ems.principal.cache.requests", this, PrincipalCache::getMisses)
+                .tag("result", "miss").register(registry);
+        FunctionCounter.builder("ems.principal.cache.evictions", this, PrincipalCache::getEvictions)
+                .register(registry);
+        Gauge.builder("ems.principal.cache.size", this, PrincipalCache::size).register(registry);
+    }
+
+    // Drop expired entries first; if the cache is still full, drop arbitrary ones
+    private void evictToFit(long now) {
+        entries.entrySet().removeIf(e -> e.getValue().expiresAt - now <= 0);
+        Iterator<String> keys = entries.keySet().iterator();
+        while (entries.size() >= maxSize && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+            evictions.increment();
+        }
+    }
+
+    private record Entry(UserDetails principal, long expiresAt) {}
+}
@@ -0,0 +1,54 @@
+package com.apc.ems.Security;
+
+import com.apc.ems.Entities.User;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Evicts cached principals when a user's role, password or any other column changes
+@Component
+public class UserCacheInvalidationListener {
+
+    @Autowired
+    @Lazy
+    private PrincipalCache principalCache;
+
+    // Remember the stored username so a rename can evict the key the cache actually holds
+    @PostLoad
+    @PostPersist
+    public void remember(User user) {
+        user.setLoadedUsername(user.getUsername());
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void evict(User user) {
+        String previous = user.getLoadedUsername();
+        String current = user.getUsername();
+        user.setLoadedUsername(current);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(previous, current);
+            return;
+        }
+        // Evicting at flush time would let a concurrent request re-cache the old row before commit
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate(previous, current);
+            }
+        });
+    }
+
+    private void invalidate(String previous, String current) {
+        principalCache.invalidate(current);
+        if (previous != null && !previous.equals(current)) {
+            principalCache.invalidate(previous);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.apc.ems.Security;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.Date;
+
+// Result of a single parse + signature check of a JWT
+public record VerifiedToken(String subject, Date expiration, Claims claims) {
+
+    public boolean isExpired() {
+        return expiration != null && expiration.before(new Date());
+    }
+}
@@ -0,0 +1,12 @@
+package com.apc.ems.Service;
+
+// What an audit entry records
+public enum AuditAction {
+    CREATE,
+    UPDATE,
+    DELETE,
+    // Insert-or-update by email in one statement; the previous values are not known
+    UPSERT,
+    // Set-based move of employees to another department (or out of any)
+    TRANSFER
+}
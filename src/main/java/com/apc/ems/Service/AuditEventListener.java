@@ -0,0 +1,131 @@
+package com.apc.ems.Service;
+
+import com.apc.ems.DTOs.FieldChange;
+import com.apc.ems.Entities.Department;
+import com.apc.ems.Entities.Employee;
+import com.apc.ems.Entities.Tombstone;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.type.Type;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Audits employee and department inserts, updates and deletes made through the persistence
+ * context. The field-level diff comes from the old and new state Hibernate already holds for
+ * dirty checking, so it costs no extra read. Set-based statements bypass these events and are
+ * audited by the services that issue them.
+ */
+@Component
+public class AuditEventListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    // Bookkeeping columns, not something a user changed
+    private static final Set<String> IGNORED = Set.of("version", "emailDomain", "changeSeq", "changedAt");
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private AuditLogService auditLogService;
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().requireService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        String entityType = entityType(event.getEntity());
+        if (entityType != null) {
+            auditLogService.record(AuditAction.CREATE, entityType, (Long) event.getId(), 1,
+                    diff(event.getPersister(), null, event.getState(), event.getSession()));
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        String entityType = entityType(event.getEntity());
+        if (entityType == null) {
+            return;
+        }
+        Map<String, FieldChange> changes = diff(event.getPersister(), event.getOldState(), event.getState(),
+                event.getSession());
+        if (!changes.isEmpty()) {
+            auditLogService.record(AuditAction.UPDATE, entityType, (Long) event.getId(), 1, changes);
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        String entityType = entityType(event.getEntity());
+        if (entityType != null) {
+            auditLogService.record(AuditAction.DELETE, entityType, (Long) event.getId(), 1,
+                    diff(event.getPersister(), event.getDeletedState(), null, event.getSession()));
+        }
+    }
+
+    // Entries are queued after commit by AuditLogService itself
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private static String entityType(Object entity) {
+        if (entity instanceof Employee) {
+            return Tombstone.EMPLOYEE;
+        }
+        return entity instanceof Department ? Tombstone.DEPARTMENT : null;
+    }
+
+    // Fields whose value differs between the two states (either may be null); associations by id,
+    // collections skipped
+    private static Map<String, FieldChange> diff(EntityPersister persister, Object[] from, Object[] to,
+                                                 SharedSessionContractImplementor session) {
+        String[] names = persister.getPropertyNames();
+        Type[] types = persister.getPropertyTypes();
+        Map<String, FieldChange> changes = new LinkedHashMap<>();
+        for (int i = 0; i < names.length; i++) {
+            if (IGNORED.contains(names[i]) || types[i].isCollectionType()) {
+                continue;
+            }
+            Object before = from == null ? null : value(types[i], from[i], session);
+            Object after = to == null ? null : value(types[i], to[i], session);
+            if (!Objects.equals(before, after)) {
+                changes.put(types[i].isEntityType() ? names[i] + "Id" : names[i], new FieldChange(before, after));
+            }
+        }
+        return changes;
+    }
+
+    private static Object value(Type type, Object value, SharedSessionContractImplementor session) {
+        if (value == null || !type.isEntityType()) {
+            return value;
+        }
+        // Neither form initializes a lazy association
+        if (value instanceof HibernateProxy proxy) {
+            return proxy.getHibernateLazyInitializer().getIdentifier();
+        }
+        return session.getEntityPersister(null, value).getIdentifier(value, session);
+    }
+}
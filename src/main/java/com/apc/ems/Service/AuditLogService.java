@@ -0,0 +1,570 @@
+package com.apc.ems.Service;
+
+import com.apc.ems.DTOs.AuditEntryView;
+import com.apc.ems.DTOs.CursorPage;
+import com.apc.ems.DTOs.FieldChange;
+import com.apc.ems.Entities.AuditEntry;
+import com.apc.ems.Entities.Tombstone;
+import com.apc.ems.Repository.AuditEntryRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Write-behind audit log of committed employee and department changes.
+ *
+ * <p>An entry is recorded on the writing thread, with the principal from its security context,
+ * and queued once the transaction commits, so a rolled-back change is never audited and the
+ * audited transaction runs no extra statement. The queue is a lock-free linked queue bounded by
+ * a counter; one writer thread drains it into audit_log with a batched INSERT per transaction,
+ * waking when a batch is full or every flush interval. Producers never wait for the writer:
+ * they queue from afterCompletion, before the transaction manager hands their connection back,
+ * and the writer needs a connection from the same pool. When the queue is full, entries go to
+ * an {@link AuditSpill} on local disk instead, and later entries follow them there until the
+ * writer has replayed the spill, so the log keeps commit order. The producer only hands such
+ * entries over; the writer thread serializes and appends them. A set-based change is queued as
+ * one entry holding the ids it changed and only expanded into a row per id by the writer, so
+ * moving a large department costs the committing thread one queue slot. A batch the database rejects is
+ * retried with exponential backoff and then spilled as well, to be replayed like any other
+ * spilled entry; only an entry that cannot be written to the spill either is counted as failed
+ * (or dropped, before it was accepted). On shutdown the writer drains the queue and the spill
+ * before the database goes away; whatever it cannot finish is spilled and replayed on the next
+ * start.
+ */
+@Service
+public class AuditLogService implements MeterBinder, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLogService.class);
+
+    // Principal recorded for changes made outside an authenticated request
+    public static final String SYSTEM = "system";
+
+    private static final String INSERT = "INSERT INTO audit_log "
+            + "(occurred_at, principal, action, entity_type, entity_id, row_count, changes) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final int[] INSERT_TYPES = {Types.TIMESTAMP, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+            Types.BIGINT, Types.INTEGER, Types.VARCHAR};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int capacity;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final int writeAttempts;
+    private final long retryBackoffNanos;
+    private final long shutdownTimeoutMillis;
+    private final AuditSpill spill;
+
+    // Counts below are in queued entries, except written, failed, dropped and spilled, which count
+    // audit_log rows (a set-based entry is one row per id)
+    private final ConcurrentLinkedQueue<Pending> queue = new ConcurrentLinkedQueue<>();
+    // Entries producers could not queue, waiting for the writer to append them to the spill
+    private final ConcurrentLinkedQueue<List<Pending>> handoff = new ConcurrentLinkedQueue<>();
+    // Entries in the queue; reserved before an entry is added, released when the writer takes it
+    private final AtomicInteger queued = new AtomicInteger();
+    // Entries accepted, queued or spilled
+    private final AtomicLong enqueued = new AtomicLong();
+    // Entries handed off for the spill or in it; counted before the handoff, so the writer never
+    // takes it below zero
+    private final AtomicLong spillBacklog = new AtomicLong();
+    private final AtomicLong spilled = new AtomicLong();
+    // Entries the writer has finished with, written or failed
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile boolean running = true;
+    // Writer thread only: the last batch it tried went back to the spill
+    private boolean lastWriteSpilled;
+    private Thread writer;
+
+    @Autowired
+    private AuditEntryRepository auditEntryRepository;
+
+    @Value("${ems.pagination.default-limit:50}")
+    private int defaultPageLimit;
+
+    @Value("${ems.pagination.max-limit:500}")
+    private int maxPageLimit;
+
+    public AuditLogService(JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           ObjectMapper objectMapper,
+                           @Value("${ems.audit.queue-capacity:10000}") int capacity,
+                           @Value("${ems.audit.batch-size:500}") int batchSize,
+                           @Value("${ems.audit.flush-interval-ms:200}") long flushIntervalMillis,
+                           @Value("${ems.audit.spill-dir:audit-spill}") String spillDirectory,
+                           @Value("${ems.audit.write-attempts:5}") int writeAttempts,
+                           @Value("${ems.audit.retry-backoff-ms:100}") long retryBackoffMillis,
+                           @Value("${ems.audit.shutdown-timeout-ms:10000}") long shutdownTimeoutMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.writeAttempts = Math.max(1, writeAttempts);
+        this.retryBackoffNanos = TimeUnit.MILLISECONDS.toNanos(retryBackoffMillis);
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+        this.spill = new AuditSpill(Path.of(spillDirectory));
+    }
+
+    // Started once the bean is fully injected, so the writer never sees a half-built service
+    @PostConstruct
+    void start() throws IOException {
+        spill.prepare();
+        // Left behind by the previous run; replayed before anything new reaches the queue
+        spillBacklog.set(spill.countLines());
+        enqueued.set(spillBacklog.get());
+        if (spillBacklog.get() > 0) {
+            log.info("Replaying {} spilled audit entries", spillBacklog.get());
+        }
+        writer = Thread.ofPlatform().name("audit-writer").daemon().start(this::drain);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("ems.audit.queue.size", queued, AtomicInteger::get)
+                .description("Audit entries waiting for the writer")
+                .register(registry);
+        FunctionCounter.builder("ems.audit.written", written, AtomicLong::get).register(registry);
+        FunctionCounter.builder("ems.audit.failed", failed, AtomicLong::get)
+                .description("Audit rows that could be neither inserted nor kept in the spill")
+                .register(registry);
+        FunctionCounter.builder("ems.audit.dropped", dropped, AtomicLong::get)
+                .description("Audit rows lost because they could be neither queued nor spilled")
+                .register(registry);
+        FunctionCounter.builder("ems.audit.spilled", spilled, AtomicLong::get)
+                .description("Audit rows spilled to disk because the queue was full")
+                .register(registry);
+        Gauge.builder("ems.audit.spill.size", spillBacklog, backlog -> Math.max(0, backlog.get()))
+                .description("Spilled audit entries waiting for the writer")
+                .register(registry);
+    }
+
+    // Record a change made by the current principal; it is queued once the current transaction
+    // commits (immediately without one) and dropped if it rolls back
+    public void record(AuditAction action, String entityType, Long entityId, int rowCount,
+                       Map<String, FieldChange> changes) {
+        record(new Pending(Instant.now(), currentPrincipal(), action, entityType, entityId, null, rowCount, changes));
+    }
+
+    // Record a set-based change as one entry per row it changed, each carrying the statement's
+    // row count; queued as a single entry holding the ids
+    public void recordEach(AuditAction action, String entityType, List<Long> entityIds,
+                           Map<String, FieldChange> changes) {
+        if (!entityIds.isEmpty()) {
+            record(new Pending(Instant.now(), currentPrincipal(), action, entityType, null, List.copyOf(entityIds),
+                    entityIds.size(), changes));
+        }
+    }
+
+    private void record(Pending entry) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(List.of(entry));
+            return;
+        }
+        // One synchronization per transaction queues everything it recorded
+        @SuppressWarnings("unchecked")
+        List<Pending> recorded = (List<Pending>) TransactionSynchronizationManager.getResource(this);
+        if (recorded == null) {
+            List<Pending> entries = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, entries);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(AuditLogService.this);
+                    if (status == STATUS_COMMITTED) {
+                        enqueue(entries);
+                    }
+                }
+            });
+            recorded = entries;
+        }
+        recorded.add(entry);
+    }
+
+    // Page of entries, newest first, optionally for one entity type (and id) and/or one principal
+    @Transactional(readOnly = true)
+    public CursorPage<AuditEntryView> getAuditPage(String entity, Long entityId, String principal,
+                                                   String after, Integer limit) {
+        int pageSize = resolvePageLimit(limit);
+        List<Specification<AuditEntry>> filters = new ArrayList<>();
+        if (entity != null) {
+            if (!Tombstone.EMPLOYEE.equals(entity) && !Tombstone.DEPARTMENT.equals(entity)) {
+                throw new IllegalArgumentException("Unsupported entity '" + entity + "', expected employee or department");
+            }
+            filters.add((root, query, cb) -> cb.equal(root.get("entityType"), entity));
+        }
+        if (entityId != null) {
+            if (entity == null) {
+                throw new IllegalArgumentException("entityId requires entity");
+            }
+            filters.add((root, query, cb) -> cb.equal(root.get("entityId"), entityId));
+        }
+        if (principal != null) {
+            filters.add((root, query, cb) -> cb.equal(root.get("principal"), principal));
+        }
+        if (after != null) {
+            long before = parseCursor(after);
+            filters.add((root, query, cb) -> cb.lessThan(root.get("id"), before));
+        }
+
+        List<AuditEntry> rows = auditEntryRepository.findBy(Specification.allOf(filters),
+                query -> query.sortBy(Sort.by(Sort.Direction.DESC, "id")).limit(pageSize + 1).all());
+        List<AuditEntryView> items = rows.stream().limit(pageSize).map(AuditEntryView::of).toList();
+        String nextCursor = rows.size() > pageSize ? Long.toString(items.get(pageSize - 1).id()) : null;
+        return new CursorPage<>(items, nextCursor, pageSize, "newest");
+    }
+
+    // Wait until everything queued so far has been written (or has failed); false on timeout
+    public boolean flush(long timeoutMillis) {
+        long target = enqueued.get();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (processed.get() < target) {
+            if (System.nanoTime() - deadline >= 0 || writer == null || !writer.isAlive()) {
+                return false;
+            }
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        return true;
+    }
+
+    public int getQueueSize() {
+        return queued.get();
+    }
+
+    public long getWrittenCount() {
+        return written.get();
+    }
+
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public long getSpilledCount() {
+        return spilled.get();
+    }
+
+    // Stop accepting entries into the queue and let the writer drain it and the spill; whatever
+    // is still queued when it times out or gives up on the database is spilled for the next start
+    @Override
+    public void destroy() throws InterruptedException, IOException {
+        running = false;
+        if (writer != null) {
+            LockSupport.unpark(writer);
+            writer.join(shutdownTimeoutMillis);
+        }
+        List<Pending> remaining = new ArrayList<>();
+        Pending entry;
+        while ((entry = queue.poll()) != null) {
+            remaining.add(entry);
+        }
+        queued.addAndGet(-remaining.size());
+        if (!remaining.isEmpty()) {
+            // Older than anything handed off, which producers only do once the queue is full
+            if (appendToSpill(remaining)) {
+                spillBacklog.addAndGet(remaining.size());
+            } else {
+                dropped.addAndGet(rows(remaining));
+            }
+        }
+        spillHandoff();
+        if (spillBacklog.get() > 0) {
+            log.error("Audit writer stopped with {} entries in the spill; they are written on the next start",
+                    spillBacklog.get());
+        }
+        spill.close();
+    }
+
+    // Never waits and never touches the disk: entries the queue has no room for are handed to the
+    // writer to spill, and so is everything after them until the writer has caught up on the spill
+    private void enqueue(List<Pending> entries) {
+        List<Pending> overflow = null;
+        for (Pending entry : entries) {
+            if (overflow == null && running && spillBacklog.get() <= 0 && reserve()) {
+                queue.add(entry);
+                enqueued.incrementAndGet();
+            } else {
+                if (overflow == null) {
+                    overflow = new ArrayList<>();
+                }
+                overflow.add(entry);
+            }
+        }
+        if (overflow != null) {
+            spillBacklog.addAndGet(overflow.size());
+            enqueued.addAndGet(overflow.size());
+            spilled.addAndGet(rows(overflow));
+            handoff.add(overflow);
+        }
+        if (overflow != null || queued.get() >= batchSize) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    // Writer thread (or shutdown): append what producers handed over to the spill
+    private void spillHandoff() {
+        List<Pending> entries;
+        while ((entries = handoff.poll()) != null) {
+            if (!appendToSpill(entries)) {
+                spillBacklog.addAndGet(-entries.size());
+                dropped.addAndGet(rows(entries));
+                processed.addAndGet(entries.size());
+            }
+        }
+    }
+
+    // The caller counts the entries into the spill backlog, or as lost when this returns false
+    private boolean appendToSpill(List<Pending> entries) {
+        try {
+            List<String> lines = new ArrayList<>(entries.size());
+            for (Pending entry : entries) {
+                lines.add(objectMapper.writeValueAsString(entry));
+            }
+            spill.append(lines);
+            return true;
+        } catch (IOException e) {
+            log.error("Failed to spill {} audit entries", entries.size(), e);
+            return false;
+        }
+    }
+
+    private boolean reserve() {
+        for (;;) {
+            int size = queued.get();
+            if (size >= capacity) {
+                return false;
+            }
+            if (queued.compareAndSet(size, size + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void drain() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        for (;;) {
+            // Read before polling, so nothing queued ahead of the stop is left behind
+            boolean stopping = !running;
+            if (stopping && lastWriteSpilled) {
+                // The database is not taking entries; the rest waits in the spill for the next start
+                return;
+            }
+            spillHandoff();
+            Pending entry;
+            int rows = 0;
+            while (rows < batchSize && (entry = queue.poll()) != null) {
+                batch.add(entry);
+                rows += entry.rows();
+            }
+            if (!batch.isEmpty()) {
+                queued.addAndGet(-batch.size());
+                write(batch);
+                batch.clear();
+            } else if (spillBacklog.get() > 0 && replaySpill()) {
+                if (lastWriteSpilled) {
+                    // What failed went back to the spill; give the database a moment before the next pass
+                    pause(retryBackoffNanos);
+                }
+            } else if (stopping) {
+                return;
+            } else {
+                LockSupport.parkNanos(this, flushIntervalNanos);
+            }
+        }
+    }
+
+    // Write the oldest sealed spill segment in batches and delete it; false if there was none.
+    // A segment the writer fails to finish reading is replayed again from the start
+    private boolean replaySpill() {
+        try {
+            List<Path> segments = spill.seal();
+            if (segments.isEmpty()) {
+                return false;
+            }
+            Path segment = segments.get(0);
+            List<Pending> batch = new ArrayList<>(batchSize);
+            int rows = 0;
+            try (BufferedReader reader = Files.newBufferedReader(segment, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    try {
+                        Pending entry = objectMapper.readValue(line, Pending.class);
+                        batch.add(entry);
+                        rows += entry.rows();
+                    } catch (JsonProcessingException e) {
+                        spillBacklog.decrementAndGet();
+                        failed.incrementAndGet();
+                        processed.incrementAndGet();
+                        log.error("Unreadable spilled audit entry in {}: {}", segment, line, e);
+                        continue;
+                    }
+                    if (rows >= batchSize) {
+                        replay(batch);
+                        rows = 0;
+                    }
+                }
+            }
+            replay(batch);
+            Files.delete(segment);
+            return true;
+        } catch (IOException e) {
+            log.error("Failed to replay spilled audit entries", e);
+            return false;
+        }
+    }
+
+    private void replay(List<Pending> batch) {
+        if (!batch.isEmpty()) {
+            spillBacklog.addAndGet(-batch.size());
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    // Insert a batch, retrying with exponential backoff (no more retries once shutting down); a
+    // batch that still fails goes back to the spill, and counts as failed only if that fails too
+    private void write(List<Pending> batch) {
+        long backoffNanos = retryBackoffNanos;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                insert(batch);
+                written.addAndGet(rows(batch));
+                processed.addAndGet(batch.size());
+                lastWriteSpilled = false;
+                return;
+            } catch (Exception e) {
+                if (attempt >= writeAttempts || !running) {
+                    log.error("Failed to write {} audit entries after {} attempts", batch.size(), attempt, e);
+                    break;
+                }
+                log.warn("Failed to write {} audit entries (attempt {} of {}), retrying in {} ms: {}", batch.size(),
+                        attempt, writeAttempts, TimeUnit.NANOSECONDS.toMillis(backoffNanos), e.getMessage());
+                pause(backoffNanos);
+                backoffNanos *= 2;
+            }
+        }
+        lastWriteSpilled = true;
+        if (appendToSpill(batch)) {
+            spillBacklog.addAndGet(batch.size());
+        } else {
+            failed.addAndGet(rows(batch));
+            processed.addAndGet(batch.size());
+        }
+    }
+
+    private void insert(List<Pending> batch) throws JsonProcessingException {
+        List<Object[]> rows = new ArrayList<>(rows(batch));
+        for (Pending entry : batch) {
+            String changes = objectMapper.writeValueAsString(entry.changes());
+            for (Long entityId : entry.entityIds() == null ? Collections.singletonList(entry.entityId()) : entry.entityIds()) {
+                rows.add(new Object[]{Timestamp.from(entry.occurredAt()), entry.principal(), entry.action().name(),
+                        entry.entityType(), entityId, entry.rowCount(), changes});
+            }
+        }
+        // One transaction, sent in JDBC batches of at most batchSize rows
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int from = 0; from < rows.size(); from += batchSize) {
+                jdbcTemplate.batchUpdate(INSERT, rows.subList(from, Math.min(rows.size(), from + batchSize)), INSERT_TYPES);
+            }
+        });
+    }
+
+    // Producers unpark the writer, so sleep out the rest; shutdown cuts it short
+    private void pause(long nanos) {
+        long deadline = System.nanoTime() + nanos;
+        long remaining;
+        while (running && (remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(this, remaining);
+        }
+    }
+
+    private int resolvePageLimit(Integer limit) {
+        if (limit == null) {
+            return defaultPageLimit;
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be at least 1");
+        }
+        return Math.min(limit, maxPageLimit);
+    }
+
+    private static long parseCursor(String after) {
+        try {
+            return Long.parseLong(after);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + after);
+        }
+    }
+
+    private static String currentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return SYSTEM;
+        }
+        return authentication.getName();
+    }
+
+    private static int rows(List<Pending> entries) {
+        int rows = 0;
+        for (Pending entry : entries) {
+            rows += entry.rows();
+        }
+        return rows;
+    }
+
+    // One change, or when entityIds is set one set-based statement written as a row per id
+    private record Pending(Instant occurredAt, String principal, AuditAction action, String entityType,
+                           Long entityId, List<Long> entityIds, int rowCount, Map<String, FieldChange> changes) {
+
+        int rows() {
+            return entityIds == null ? 1 : entityIds.size();
+        }
+    }
+}
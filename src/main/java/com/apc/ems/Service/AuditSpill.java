@@ -0,0 +1,120 @@
+package com.apc.ems.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Overflow for the audit queue on local disk: one line per entry in segment files under one
+ * directory. Producers append to the open segment; the writer seals it and replays sealed
+ * segments oldest first, deleting each once everything in it is stored. Segments left behind
+ * by a previous run are replayed as well, so spilled entries survive a restart; a segment
+ * interrupted in the middle of its replay is replayed again in full.
+ *
+ * <p>Appends and sealing serialize on a {@link ReentrantLock}, held only for one append.
+ */
+final class AuditSpill {
+
+    private static final String OPEN_SEGMENT = "open.spill";
+    private static final String SEALED_PREFIX = "segment-";
+
+    private final Path directory;
+    private final ReentrantLock lock = new ReentrantLock();
+    private BufferedWriter open;
+    private long nextSegment;
+
+    AuditSpill(Path directory) {
+        this.directory = directory;
+    }
+
+    // Create the directory and continue the segment numbering of a previous run
+    void prepare() throws IOException {
+        Files.createDirectories(directory);
+        for (Path segment : sealedSegments()) {
+            nextSegment = Math.max(nextSegment, segmentNumber(segment) + 1);
+        }
+    }
+
+    // Append entries, one line each, to the open segment
+    void append(List<String> lines) throws IOException {
+        lock.lock();
+        try {
+            if (open == null) {
+                open = Files.newBufferedWriter(directory.resolve(OPEN_SEGMENT), StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            for (String line : lines) {
+                open.write(line);
+                open.newLine();
+            }
+            open.flush();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Seal the open segment, if it has anything, and list every sealed segment oldest first
+    List<Path> seal() throws IOException {
+        lock.lock();
+        try {
+            if (open != null) {
+                open.close();
+                open = null;
+            }
+            Path openSegment = directory.resolve(OPEN_SEGMENT);
+            if (Files.exists(openSegment)) {
+                if (Files.size(openSegment) > 0) {
+                    Files.move(openSegment, directory.resolve(String.format("%s%019d.spill", SEALED_PREFIX, nextSegment++)),
+                            StandardCopyOption.ATOMIC_MOVE);
+                } else {
+                    Files.delete(openSegment);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        return sealedSegments();
+    }
+
+    // Entries in every segment, sealed or open; read once at startup
+    long countLines() throws IOException {
+        long lines = 0;
+        for (Path segment : seal()) {
+            try (Stream<String> segmentLines = Files.lines(segment, StandardCharsets.UTF_8)) {
+                lines += segmentLines.count();
+            }
+        }
+        return lines;
+    }
+
+    void close() throws IOException {
+        lock.lock();
+        try {
+            if (open != null) {
+                open.close();
+                open = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Zero-padded numbers, so name order is age order
+    private List<Path> sealedSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith(SEALED_PREFIX)).sorted().toList();
+        }
+    }
+
+    private static long segmentNumber(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEALED_PREFIX.length(), name.indexOf('.')));
+    }
+}
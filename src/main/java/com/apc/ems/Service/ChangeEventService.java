@@ -0,0 +1,279 @@
+package com.apc.ems.Service;
+
+import com.apc.ems.DTOs.ChangeEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fans committed employee and department changes out to Server-Sent Events subscribers.
+ *
+ * <p>Events are numbered under one lock, appended to a bounded history and offered to every
+ * subscriber's bounded queue; a virtual thread per subscriber drains its queue into the
+ * connection, so a slow client never holds up a writer or another client. When a queue is
+ * full its backlog is dropped and replaced by a single resync event, after which the client
+ * reloads and continues from there. A reconnecting client sends the id of the last event it
+ * saw and is replayed what followed, or told to resync if the history no longer reaches back
+ * that far. Ids start at the boot time in microseconds, so ids from before a restart always
+ * resolve to a resync rather than to unrelated events.
+ */
+@Service
+public class ChangeEventService implements MeterBinder, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeEventService.class);
+
+    // Queued besides ChangeEvent instances
+    private static final Object HEARTBEAT = new Object();
+
+    private final int bufferSize;
+    private final int historySize;
+    private final long timeoutMillis;
+    private final long retryMillis;
+
+    // Held while numbering and offering an event, and while a subscriber is replayed and attached
+    private final ReentrantLock lock = new ReentrantLock();
+    private long sequence = System.currentTimeMillis() * 1000;
+    private final ArrayDeque<ChangeEvent> history = new ArrayDeque<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong subscriberIds = new AtomicLong();
+    private final AtomicLong resyncs = new AtomicLong();
+    private Counter publishedCounter;
+    private Counter resyncCounter;
+
+    public ChangeEventService(@Value("${ems.events.buffer-size:256}") int bufferSize,
+                              @Value("${ems.events.history-size:1000}") int historySize,
+                              @Value("${ems.events.timeout-ms:1800000}") long timeoutMillis,
+                              @Value("${ems.events.retry-ms:3000}") long retryMillis) {
+        this.bufferSize = bufferSize;
+        this.historySize = historySize;
+        this.timeoutMillis = timeoutMillis;
+        this.retryMillis = retryMillis;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("ems.events.subscribers", subscribers, Set::size).register(registry);
+        publishedCounter = Counter.builder("ems.events.published").register(registry);
+        resyncCounter = Counter.builder("ems.events.resyncs")
+                .description("Subscribers whose backlog overflowed or whose Last-Event-ID could not be replayed")
+                .register(registry);
+    }
+
+    // Publish a change once the current transaction commits (immediately without one)
+    public void publish(ChangeEventType type, Long entityId, Long departmentId, Long previousDepartmentId, Object data) {
+        afterCommit(() -> broadcast(type, entityId, departmentId, previousDepartmentId, data));
+    }
+
+    // Open a stream; events after lastEventId (null for none) are replayed before live ones
+    public SseEmitter subscribe(Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(subscriberIds.incrementAndGet(), emitter);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> unsubscribe(subscriber));
+
+        try {
+            // Sent before the response starts, so this only buffers; it commits the headers once it does
+            emitter.send(SseEmitter.event().reconnectTime(retryMillis).comment("connected"));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        lock.lock();
+        try {
+            if (lastEventId != null) {
+                replay(subscriber, lastEventId);
+            }
+            subscribers.add(subscriber);
+        } finally {
+            lock.unlock();
+        }
+        subscriber.start();
+        return emitter;
+    }
+
+    // Keeps idle connections from being closed by proxies and detects clients that went away
+    @Scheduled(initialDelayString = "${ems.events.heartbeat-ms:15000}", fixedDelayString = "${ems.events.heartbeat-ms:15000}")
+    public void heartbeat() {
+        lock.lock();
+        try {
+            // A full queue already has something to send, so a dropped heartbeat is harmless
+            subscribers.forEach(subscriber -> subscriber.queue.offer(HEARTBEAT));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    // Subscribers told to resync since startup
+    public long getResyncCount() {
+        return resyncs.get();
+    }
+
+    // Last event id handed out
+    public long getLastEventId() {
+        lock.lock();
+        try {
+            return sequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        for (Subscriber subscriber : List.copyOf(subscribers)) {
+            unsubscribe(subscriber);
+            subscriber.emitter.complete();
+        }
+    }
+
+    private void broadcast(ChangeEventType type, Long entityId, Long departmentId, Long previousDepartmentId, Object data) {
+        lock.lock();
+        try {
+            ChangeEvent event = new ChangeEvent(++sequence, type.eventName(), entityId, departmentId,
+                    previousDepartmentId, data, System.currentTimeMillis());
+            history.addLast(event);
+            if (history.size() > historySize) {
+                history.removeFirst();
+            }
+            subscribers.forEach(subscriber -> subscriber.offer(event));
+        } finally {
+            lock.unlock();
+        }
+        if (publishedCounter != null) {
+            publishedCounter.increment();
+        }
+    }
+
+    // Called with the lock held
+    private void replay(Subscriber subscriber, long lastEventId) {
+        long oldest = history.isEmpty() ? sequence + 1 : history.peekFirst().id();
+        if (lastEventId > sequence || lastEventId < oldest - 1) {
+            subscriber.resync();
+            return;
+        }
+        for (ChangeEvent event : history) {
+            // The resync that replaces an overflowing replay already covers the rest of the history
+            if (event.id() > lastEventId && !subscriber.offer(event)) {
+                return;
+            }
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+        subscriber.close();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private final class Subscriber {
+
+        private final long id;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(bufferSize);
+        private volatile boolean closed;
+        private volatile Thread drainer;
+
+        Subscriber(long id, SseEmitter emitter) {
+            this.id = id;
+            this.emitter = emitter;
+        }
+
+        // Called with the lock held, so nothing else refills the queue between clear() and offer().
+        // Returns false if the event did not fit and the backlog was replaced by a resync.
+        boolean offer(ChangeEvent event) {
+            if (queue.offer(event)) {
+                return true;
+            }
+            resync();
+            return false;
+        }
+
+        // Called with the lock held; whatever is still queued is superseded by the reload
+        void resync() {
+            queue.clear();
+            queue.offer(new ChangeEvent(sequence, ChangeEventType.RESYNC.eventName(), null, null, null, null,
+                    System.currentTimeMillis()));
+            resyncs.incrementAndGet();
+            if (resyncCounter != null) {
+                resyncCounter.increment();
+            }
+        }
+
+        void start() {
+            drainer = Thread.ofVirtual().name("sse-subscriber-" + id).start(this::drain);
+        }
+
+        void close() {
+            closed = true;
+            Thread thread = drainer;
+            if (thread != null) {
+                thread.interrupt();
+            }
+        }
+
+        private void drain() {
+            try {
+                while (!closed) {
+                    send(queue.take());
+                }
+            } catch (InterruptedException e) {
+                // Closed
+            } catch (IOException | IllegalStateException e) {
+                // The client disconnected or the response was already completed
+                log.debug("Event subscriber {} dropped: {}", id, e.getMessage());
+                unsubscribe(this);
+                emitter.completeWithError(e);
+            }
+        }
+
+        private void send(Object item) throws IOException {
+            if (item == HEARTBEAT) {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            } else {
+                ChangeEvent event = (ChangeEvent) item;
+                emitter.send(SseEmitter.event()
+                        .id(Long.toString(event.id()))
+                        .name(event.type())
+                        .data(event, MediaType.APPLICATION_JSON));
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.apc.ems.Service;
+
+// Kinds of change pushed on the event stream; the SSE event name is the dotted form
+public enum ChangeEventType {
+    EMPLOYEE_CREATED("employee.created"),
+    EMPLOYEE_UPDATED("employee.updated"),
+    EMPLOYEE_DELETED("employee.deleted"),
+    EMPLOYEE_ASSIGNED("employee.assigned"),
+    // Updated by an upsert, which does not know the department the employee was in before
+    EMPLOYEE_UPSERTED("employee.upserted"),
+    // Set-based changes that touch an unknown set of employees
+    EMPLOYEES_TRANSFERRED("employees.transferred"),
+    EMPLOYEES_IMPORTED("employees.imported"),
+    DEPARTMENT_CREATED("department.created"),
+    DEPARTMENT_UPDATED("department.updated"),
+    DEPARTMENT_DELETED("department.deleted"),
+    // Events were lost for this subscriber; it must reload what it shows
+    RESYNC("resync");
+
+    private final String eventName;
+
+    ChangeEventType(String eventName) {
+        this.eventName = eventName;
+    }
+
+    public String eventName() {
+        return eventName;
+    }
+}
@@ -0,0 +1,139 @@
+package com.apc.ems.Service;
+
+import com.apc.ems.DTOs.ChangeFeedPage;
+import com.apc.ems.DTOs.EntityChange;
+import com.apc.ems.Entities.Tombstone;
+import com.apc.ems.Repository.ChangeSequence;
+import com.apc.ems.Repository.DepartmentRepository;
+import com.apc.ems.Repository.EmployeeRepository;
+import com.apc.ems.Repository.TombstoneRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Incremental sync: everything created, updated or deleted after a feed position, oldest first.
+ *
+ * <p>Each of the three sources (departments, employees, tombstones) is read with one range scan
+ * of its change_seq index, so a call costs the size of the page, not the size of the tables. The
+ * feed is ordered by change number, then departments before employees before deletes, then id;
+ * a position is the number of the last change delivered, or "seq:kind:id" when a page ends
+ * between rows that share a number (the employees of one bulk statement). Reads stop at the
+ * {@link ChangeSequence#watermark() watermark}, so a change that commits late is never skipped.
+ */
+@Service
+public class ChangeFeedService {
+
+    private static final int DEPARTMENT = 0;
+    private static final int EMPLOYEE = 1;
+    private static final int DELETE = 2;
+    // Position rank meaning everything at the position's number was delivered
+    private static final int ALL = 3;
+
+    private static final Comparator<EntityChange> FEED_ORDER = Comparator.comparingLong(EntityChange::seq)
+            .thenComparingInt(ChangeFeedService::rank)
+            .thenComparing(EntityChange::id);
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private TombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private ChangeSequence changeSequence;
+
+    @Value("${ems.changes.default-limit:500}")
+    private int defaultLimit;
+
+    @Value("${ems.changes.max-limit:5000}")
+    private int maxLimit;
+
+    // Changes after since (omitted for a full sync); nextSince continues from the end of the page
+    @Transactional(readOnly = true)
+    public ChangeFeedPage getChangesSince(String since, Integer limit) {
+        int pageSize = resolveLimit(limit);
+        Position after = Position.parse(since);
+        // Read first: rows numbered above it may still be joined by lower numbers that commit later
+        long upTo = changeSequence.watermark();
+
+        PageRequest firstRows = PageRequest.of(0, pageSize + 1);
+        List<EntityChange> changes = new ArrayList<>();
+        changes.addAll(departmentRepository.findChangesAfter(after.seq(), after.idAfter(DEPARTMENT), upTo, firstRows));
+        changes.addAll(employeeRepository.findChangesAfter(after.seq(), after.idAfter(EMPLOYEE), upTo, firstRows));
+        changes.addAll(tombstoneRepository.findChangesFrom(after.rank() < DELETE ? after.seq() : after.seq() + 1,
+                upTo, firstRows));
+        changes.sort(FEED_ORDER);
+
+        boolean hasMore = changes.size() > pageSize;
+        if (!hasMore) {
+            return new ChangeFeedPage(changes, Long.toString(Math.max(upTo, after.seq())), false, pageSize);
+        }
+        List<EntityChange> items = new ArrayList<>(changes.subList(0, pageSize));
+        EntityChange last = items.get(pageSize - 1);
+        // Plain number unless the next change shares it
+        String nextSince = changes.get(pageSize).seq() == last.seq()
+                ? last.seq() + ":" + rank(last) + ":" + last.id()
+                : Long.toString(last.seq());
+        return new ChangeFeedPage(items, nextSince, true, pageSize);
+    }
+
+    private int resolveLimit(Integer limit) {
+        if (limit == null) {
+            return defaultLimit;
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be at least 1");
+        }
+        return Math.min(limit, maxLimit);
+    }
+
+    private static int rank(EntityChange change) {
+        if (change.deleted()) {
+            return DELETE;
+        }
+        return Tombstone.DEPARTMENT.equals(change.entity()) ? DEPARTMENT : EMPLOYEE;
+    }
+
+    // Last change delivered: its number, the rank of its kind within that number, and its id
+    private record Position(long seq, int rank, long id) {
+
+        static Position parse(String since) {
+            if (since == null || since.isBlank()) {
+                return new Position(-1, ALL, 0);
+            }
+            try {
+                String[] parts = since.split(":", -1);
+                if (parts.length == 1) {
+                    return new Position(Long.parseLong(parts[0]), ALL, 0);
+                }
+                if (parts.length == 3) {
+                    int rank = Integer.parseInt(parts[1]);
+                    if (rank >= DEPARTMENT && rank <= DELETE) {
+                        return new Position(Long.parseLong(parts[0]), rank, Long.parseLong(parts[2]));
+                    }
+                }
+            } catch (NumberFormatException e) {
+                // Reported below
+            }
+            throw new IllegalArgumentException("Invalid since: " + since);
+        }
+
+        // Rows of the given kind that share this position's number come after it when their id is above this
+        long idAfter(int kind) {
+            if (kind < rank) {
+                return Long.MAX_VALUE;
+            }
+            return kind == rank ? id : Long.MIN_VALUE;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.apc.ems.Service;
+
+import com.apc.ems.DTOs.CacheRegionStats;
+import com.apc.ems.DTOs.DashboardSummary;
+import com.apc.ems.DTOs.DepartmentSummary;
+import com.apc.ems.Repository.DepartmentRepository;
+import com.apc.ems.Repository.EmployeeRepository;
+import com.apc.ems.Repository.HibernateCacheConfig;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class DashboardService {
+
+    private static final int MAX_RECENT = 50;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    // Read - Counts, recent items and headcounts from three aggregate queries on one connection
+    @Transactional(readOnly = true)
+    public DashboardSummary getSummary(int recentEmployees, int recentDepartments) {
+        if (recentEmployees < 0 || recentDepartments < 0) {
+            throw new IllegalArgumentException("Recent item counts must not be negative");
+        }
+
+        List<DepartmentSummary> headcounts = departmentRepository.findAllSummaries();
+        long totalEmployees = employeeRepository.count();
+        long assigned = headcounts.stream().mapToLong(DepartmentSummary::getEmployeeCount).sum();
+
+        DashboardSummary summary = new DashboardSummary();
+        summary.setTotalEmployees(totalEmployees);
+        summary.setTotalDepartments(headcounts.size());
+        summary.setUnassignedEmployees(totalEmployees - assigned);
+        summary.setDepartmentHeadcounts(headcounts);
+        summary.setRecentEmployees(recentEmployees == 0 ? List.of()
+                : employeeRepository.findRecentSummaries(PageRequest.of(0, Math.min(recentEmployees, MAX_RECENT))));
+
+        // Headcounts are ordered by id, so the newest departments are at the tail
+        List<DepartmentSummary> recent = new ArrayList<>();
+        for (int i = headcounts.size() - 1; i >= 0 && recent.size() < Math.min(recentDepartments, MAX_RECENT); i--) {
+            recent.add(headcounts.get(i));
+        }
+        summary.setRecentDepartments(recent);
+        return summary;
+    }
+
+    // Read - Hit/miss/put counts of every second-level cache region since startup
+    public List<CacheRegionStats> getCacheStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<CacheRegionStats> regions = new ArrayList<>();
+        for (String region : HibernateCacheConfig.REGIONS) {
+            CacheRegionStatistics stats = statistics.getCacheRegionStatistics(region);
+            if (stats != null) {
+                regions.add(new CacheRegionStats(region, stats.getHitCount(), stats.getMissCount(),
+                        stats.getPutCount(), Math.max(stats.getElementCountInMemory(), 0)));
+            }
+        }
+        return regions;
+    }
+}
@@ -0,0 +1,26 @@
+package com.apc.ems.Service;
+
+import java.util.Locale;
+
+// What happens to a department's employees when the department is deleted
+public enum DepartmentDeletePolicy {
+    // Refuse to delete a department that still has employees
+    REJECT,
+    // Move the employees to another department first
+    REASSIGN,
+    // Leave the employees without a department
+    UNASSIGN;
+
+    // Parse the ?policy= parameter; REJECT is the default
+    public static DepartmentDeletePolicy resolve(String policy) {
+        if (policy == null || policy.isBlank()) {
+            return REJECT;
+        }
+        for (DepartmentDeletePolicy candidate : values()) {
+            if (candidate.name().equals(policy.trim().toUpperCase(Locale.ROOT))) {
+                return candidate;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported delete policy '" + policy + "', expected reject, reassign or unassign");
+    }
+}
@@ -0,0 +1,9 @@
+package com.apc.ems.Service;
+
+// Thrown when a department that still has employees is deleted with the reject policy; mapped to 409 Conflict
+public class DepartmentNotEmptyException extends RuntimeException {
+
+    public DepartmentNotEmptyException(String message) {
+        super(message);
+    }
+}
@@ -1,11 +1,21 @@
 package com.apc.ems.Service;
 
+import com.apc.ems.DTOs.BulkReassignment;
+import com.apc.ems.DTOs.DepartmentSummary;
+import com.apc.ems.DTOs.DepartmentTransferResult;
+import com.apc.ems.DTOs.DepartmentView;
+import com.apc.ems.DTOs.FieldChange;
 import com.apc.ems.Entities.Department;
+import com.apc.ems.Entities.Tombstone;
 import com.apc.ems.Repository.DepartmentRepository;
+import com.apc.ems.Repository.EmployeeRepository;
+import com.apc.ems.Repository.EmployeeSpecifications;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -14,12 +24,26 @@ public class DepartmentService {
     @Autowired
     private DepartmentRepository departmentRepository;
 
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EmployeeIndexListener employeeIndexListener;
+
+    @Autowired
+    private ChangeEventService changeEventService;
+
+    @Autowired
+    private AuditLogService auditLogService;
+
     // Create - Save a new department
     public Department createDepartment(Department department) {
         if (departmentRepository.existsByName(department.getName())) {
             throw new RuntimeException("Department with name '" + department.getName() + "' already exists");
         }
-        return departmentRepository.save(department);
+        Department saved = departmentRepository.save(department);
+        changeEventService.publish(ChangeEventType.DEPARTMENT_CREATED, saved.getId(), saved.getId(), null, DepartmentView.of(saved));
+        return saved;
     }
 
     // Read - Get all departments
@@ -37,11 +61,47 @@ public class DepartmentService {
         return departmentRepository.findByName(name);
     }
 
+    // Read - Get all departments with headcounts (one grouped query, no roster loading)
+    public List<DepartmentSummary> getAllDepartmentSummaries() {
+        return departmentRepository.findAllSummaries();
+    }
+
+    // Read - Get department summary by ID
+    public Optional<DepartmentSummary> getDepartmentSummaryById(Long id) {
+        return departmentRepository.findSummaryById(id);
+    }
+
+    // Read - Get department summary by name
+    public Optional<DepartmentSummary> getDepartmentSummaryByName(String name) {
+        return departmentRepository.findSummaryByName(name);
+    }
+
+    // Read - ETag of the department list; headcounts make it depend on employees as well
+    @Transactional(readOnly = true)
+    public String getDepartmentListTag() {
+        return EntityTags.departmentList(departmentRepository.findTableVersion(), employeeRepository.findTableVersion());
+    }
+
     // Update - Update an existing department
+    @Transactional
     public Department updateDepartment(Long id, Department departmentDetails) {
+        return updateDepartment(id, departmentDetails, null);
+    }
+
+    // Update - Update an existing department if it still matches the If-Match tag (null skips the check)
+    @Transactional
+    public Department updateDepartment(Long id, Department departmentDetails, String ifMatch) {
         Department department = departmentRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Department not found with id: " + id));
 
+        if (ifMatch != null) {
+            DepartmentSummary current = departmentRepository.findSummaryById(id)
+                    .orElseThrow(() -> new RuntimeException("Department not found with id: " + id));
+            if (!EntityTags.matches(ifMatch, EntityTags.department(current))) {
+                throw new PreconditionFailedException("Department " + id + " has been modified since it was read");
+            }
+        }
+
         // Check if the new name conflicts with existing departments (excluding current one)
         if (!department.getName().equals(departmentDetails.getName()) && 
             departmentRepository.existsByName(departmentDetails.getName())) {
@@ -51,15 +111,62 @@ public class DepartmentService {
         department.setName(departmentDetails.getName());
         department.setDescription(departmentDetails.getDescription());
 
-        return departmentRepository.save(department);
+        Department saved = departmentRepository.saveAndFlush(department);
+        changeEventService.publish(ChangeEventType.DEPARTMENT_UPDATED, saved.getId(), saved.getId(), null, DepartmentView.of(saved));
+        return saved;
     }
 
-    // Delete - Delete a department by ID
+    // Delete - Delete an empty department by ID
+    @Transactional
     public void deleteDepartment(Long id) {
+        deleteDepartment(id, DepartmentDeletePolicy.REJECT, null);
+    }
+
+    // Delete - Delete a department, handling its employees per policy; returns how many were moved.
+    // The roster is never loaded: a non-empty check or one bulk UPDATE, whatever the department size
+    @Transactional
+    public int deleteDepartment(Long id, DepartmentDeletePolicy policy, Long targetDepartmentId) {
         if (!departmentRepository.existsById(id)) {
             throw new RuntimeException("Department not found with id: " + id);
         }
+
+        BulkReassignment reassignment = switch (policy) {
+            case REJECT -> {
+                if (employeeRepository.existsByDepartmentId(id)) {
+                    throw new DepartmentNotEmptyException("Department " + id + " still has employees; "
+                            + "delete with policy reassign or unassign");
+                }
+                yield null;
+            }
+            case REASSIGN -> {
+                if (targetDepartmentId == null) {
+                    throw new IllegalArgumentException("targetDepartmentId is required for policy reassign");
+                }
+                if (targetDepartmentId.equals(id)) {
+                    throw new IllegalArgumentException("Cannot reassign employees to the department being deleted");
+                }
+                if (!departmentRepository.existsById(targetDepartmentId)) {
+                    throw new RuntimeException("Department not found with id: " + targetDepartmentId);
+                }
+                yield employeeRepository.reassignDepartment(EmployeeSpecifications.inDepartment(id), targetDepartmentId);
+            }
+            case UNASSIGN -> employeeRepository.reassignDepartment(EmployeeSpecifications.inDepartment(id), null);
+        };
+        int moved = reassignment == null ? 0 : reassignment.rowCount();
+
+        // The employees it had (if any) went to the target, or out of any department
+        Long movedTo = policy == DepartmentDeletePolicy.REASSIGN ? targetDepartmentId : null;
+        if (moved > 0) {
+            employeeIndexListener.departmentMerged(id, movedTo);
+            // The bulk UPDATE bypassed the audit events; the department delete below does not
+            auditLogService.recordEach(AuditAction.TRANSFER, Tombstone.EMPLOYEE,
+                    employeeRepository.findIdsByChangeSeq(reassignment.changeSeq()),
+                    Map.of("departmentId", new FieldChange(id, movedTo)));
+        }
         departmentRepository.deleteById(id);
+        changeEventService.publish(ChangeEventType.DEPARTMENT_DELETED, id, movedTo, id,
+                new DepartmentTransferResult(id, movedTo, null, moved));
+        return moved;
     }
 
     // Check if department exists
@@ -0,0 +1,9 @@
+package com.apc.ems.Service;
+
+// Thrown when a write hits the unique constraint on employees.email; mapped to 409 Conflict
+public class DuplicateEmailException extends RuntimeException {
+
+    public DuplicateEmailException(String email) {
+        super("Employee with email '" + email + "' already exists");
+    }
+}
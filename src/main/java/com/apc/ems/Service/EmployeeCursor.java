@@ -0,0 +1,123 @@
+package com.apc.ems.Service;
+
+import com.apc.ems.DTOs.EmployeeView;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Locale;
+
+/**
+ * Opaque keyset cursor for employee listings. The token carries the sort key, the
+ * sort value of the last row on the previous page and that row's id as a tie-breaker.
+ */
+public class EmployeeCursor {
+
+    public enum SortKey {
+        ID("id"),
+        NAME("name"),
+        SALARY("salary");
+
+        private final String property;
+
+        SortKey(String property) {
+            this.property = property;
+        }
+
+        public String getProperty() {
+            return property;
+        }
+
+        public static SortKey from(String value) {
+            if (value == null || value.isBlank()) {
+                return ID;
+            }
+            for (SortKey key : values()) {
+                if (key.property.equals(value.toLowerCase(Locale.ROOT))) {
+                    return key;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported sort key '" + value + "', expected one of: id, name, salary");
+        }
+    }
+
+    private static final char SEPARATOR = '|';
+    private static final char NULL_MARKER = 'n';
+    private static final char VALUE_MARKER = 'v';
+
+    private final SortKey sortKey;
+    private final Long lastId;
+    private final String lastName;
+    private final Double lastSalary;
+
+    private EmployeeCursor(SortKey sortKey, Long lastId, String lastName, Double lastSalary) {
+        this.sortKey = sortKey;
+        this.lastId = lastId;
+        this.lastName = lastName;
+        this.lastSalary = lastSalary;
+    }
+
+    // Build the cursor pointing just past the given row
+    public static EmployeeCursor after(SortKey sortKey, EmployeeView last) {
+        return new EmployeeCursor(sortKey, last.id(), last.name(), last.salary());
+    }
+
+    public SortKey getSortKey() {
+        return sortKey;
+    }
+
+    public Long getLastId() {
+        return lastId;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public Double getLastSalary() {
+        return lastSalary;
+    }
+
+    public String encode() {
+        StringBuilder raw = new StringBuilder()
+                .append(sortKey.getProperty()).append(SEPARATOR)
+                .append(lastId).append(SEPARATOR);
+        switch (sortKey) {
+            case NAME -> raw.append(VALUE_MARKER).append(lastName);
+            case SALARY -> raw.append(lastSalary == null ? String.valueOf(NULL_MARKER) : VALUE_MARKER + lastSalary.toString());
+            default -> raw.append(NULL_MARKER);
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static EmployeeCursor decode(String token, SortKey expected) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+
+        String[] parts = raw.split("\\|", 3);
+        if (parts.length != 3 || parts[2].isEmpty()) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        SortKey sortKey = SortKey.from(parts[0]);
+        if (sortKey != expected) {
+            throw new IllegalArgumentException("Cursor was issued for sort '" + sortKey.getProperty()
+                    + "' but sort '" + expected.getProperty() + "' was requested");
+        }
+
+        try {
+            Long lastId = Long.valueOf(parts[1]);
+            String value = parts[2].charAt(0) == VALUE_MARKER ? parts[2].substring(1) : null;
+            return switch (sortKey) {
+                case NAME -> new EmployeeCursor(sortKey, lastId, value == null ? "" : value, null);
+                case SALARY -> new EmployeeCursor(sortKey, lastId, null, value == null ? null : Double.valueOf(value));
+                default -> new EmployeeCursor(sortKey, lastId, null, null);
+            };
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.apc.ems.Service;
+
+import java.util.Locale;
+
+public enum EmployeeExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String mediaType;
+    private final String extension;
+
+    EmployeeExportFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    // An explicit ?format= wins over the Accept header; NDJSON is the default
+    public static EmployeeExportFormat resolve(String format, String accept) {
+        if (format != null && !format.isBlank()) {
+            for (EmployeeExportFormat candidate : values()) {
+                if (candidate.extension.equals(format.toLowerCase(Locale.ROOT))) {
+                    return candidate;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported export format '" + format + "', expected ndjson or csv");
+        }
+        if (accept != null && accept.contains(CSV.mediaType)) {
+            return CSV;
+        }
+        return NDJSON;
+    }
+}
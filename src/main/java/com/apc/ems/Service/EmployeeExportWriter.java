@@ -0,0 +1,100 @@
+package com.apc.ems.Service;
+
+import com.apc.ems.DTOs.EmployeeExportRow;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes export rows one at a time to the response stream. Output is flushed after the
+ * first row and then every {@code flushEvery} rows so clients see data immediately while
+ * the buffer stays small.
+ */
+class EmployeeExportWriter {
+
+    private static final String CSV_HEADER = "id,name,email,phone,salary,departmentId,departmentName";
+
+    private final EmployeeExportFormat format;
+    private final ObjectWriter jsonWriter;
+    private final Writer out;
+    private final int flushEvery;
+    private long rows;
+
+    EmployeeExportWriter(EmployeeExportFormat format, ObjectWriter jsonWriter, OutputStream out, int flushEvery) {
+        this.format = format;
+        this.jsonWriter = jsonWriter;
+        this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        this.flushEvery = flushEvery;
+    }
+
+    void writeHeader() throws IOException {
+        if (format == EmployeeExportFormat.CSV) {
+            out.write(CSV_HEADER);
+            out.write('\n');
+        }
+    }
+
+    void write(EmployeeExportRow row) {
+        try {
+            if (format == EmployeeExportFormat.CSV) {
+                writeCsv(row);
+            } else {
+                out.write(jsonWriter.writeValueAsString(row));
+            }
+            out.write('\n');
+            rows++;
+            if (rows == 1 || rows % flushEvery == 0) {
+                out.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    long finish() throws IOException {
+        out.flush();
+        return rows;
+    }
+
+    private void writeCsv(EmployeeExportRow row) throws IOException {
+        out.write(String.valueOf(row.getId()));
+        out.write(',');
+        writeCsvField(row.getName());
+        out.write(',');
+        writeCsvField(row.getEmail());
+        out.write(',');
+        writeCsvField(row.getPhone());
+        out.write(',');
+        if (row.getSalary() != null) {
+            out.write(row.getSalary().toString());
+        }
+        out.write(',');
+        if (row.getDepartmentId() != null) {
+            out.write(String.valueOf(row.getDepartmentId()));
+        }
+        out.write(',');
+        writeCsvField(row.getDepartmentName());
+    }
+
+    // RFC 4180 quoting: only quote when the value contains a delimiter, quote or line break
+    private void writeCsvField(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean needsQuoting = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!needsQuoting) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        out.write(value.replace("\"", "\"\""));
+        out.write('"');
+    }
+}
@@ -0,0 +1,316 @@
+package com.apc.ems.Service;
+
+import com.apc.ems.DTOs.BulkImportResult;
+import com.apc.ems.Entities.Department;
+import com.apc.ems.Entities.Employee;
+import com.apc.ems.Repository.DepartmentRepository;
+import com.apc.ems.Repository.EmployeeRepository;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk employee creation. Input is consumed as a stream and processed in chunks: each
+ * chunk checks e-mail uniqueness and resolves departments with one set-based query apiece,
+ * then inserts the valid rows in a single transaction as JDBC batches. Invalid rows are
+ * reported individually and never abort the rest of the upload.
+ */
+@Service
+public class EmployeeImportService {
+
+    private static final List<String> CSV_COLUMNS = List.of("name", "email", "phone", "salary", "departmentId");
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ChangeEventService changeEventService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${ems.import.batch-size:500}")
+    private int defaultBatchSize;
+
+    @Value("${ems.import.max-batch-size:5000}")
+    private int maxBatchSize;
+
+    @Autowired
+    public void setTransactionManager(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // Import a JSON array of employees (same shape as POST /api/employees). Each element is read
+    // as a tree first, so an element that is not an employee is a row error, not the end of the upload
+    public BulkImportResult importJson(InputStream in, Integer batchSize) throws IOException {
+        ChunkedImport chunks = new ChunkedImport(resolveBatchSize(batchSize));
+        try (JsonParser parser = objectMapper.createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Expected a JSON array of employees");
+            }
+            long row = 0;
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    throw new IllegalArgumentException("Unterminated JSON array after row " + row);
+                }
+                row++;
+                JsonNode element = objectMapper.readTree(parser);
+                if (!element.isObject()) {
+                    chunks.add(row, new Employee(), "Expected a JSON object, found " + element.getNodeType());
+                    continue;
+                }
+                try {
+                    chunks.add(row, objectMapper.treeToValue(element, Employee.class), null);
+                } catch (JsonProcessingException | IllegalArgumentException e) {
+                    Employee unreadable = new Employee();
+                    unreadable.setEmail(element.path("email").isTextual() ? element.path("email").asText() : null);
+                    String message = e instanceof JsonProcessingException json ? json.getOriginalMessage() : e.getMessage();
+                    chunks.add(row, unreadable, "Invalid employee: " + message);
+                }
+            }
+        }
+        return chunks.finish();
+    }
+
+    // Import CSV with a header row naming any of: name, email, phone, salary, departmentId
+    public BulkImportResult importCsv(InputStream in, Integer batchSize) throws IOException {
+        ChunkedImport chunks = new ChunkedImport(resolveBatchSize(batchSize));
+        CsvRecordReader reader = new CsvRecordReader(
+                new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+
+        List<String> header = reader.next();
+        if (header == null) {
+            return chunks.finish();
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String column = header.get(i).trim();
+            for (String known : CSV_COLUMNS) {
+                if (known.equalsIgnoreCase(column)) {
+                    columns.put(known, i);
+                }
+            }
+        }
+        if (!columns.containsKey("name") || !columns.containsKey("email")) {
+            throw new IllegalArgumentException("CSV header must contain at least 'name' and 'email' columns");
+        }
+
+        long row = 0;
+        List<String> record;
+        while ((record = reader.next()) != null) {
+            row++;
+            Employee employee = new Employee();
+            employee.setName(field(record, columns, "name"));
+            employee.setEmail(field(record, columns, "email"));
+            employee.setPhone(field(record, columns, "phone"));
+            try {
+                String salary = field(record, columns, "salary");
+                employee.setSalary(salary == null ? null : Double.valueOf(salary));
+                String departmentId = field(record, columns, "departmentId");
+                if (departmentId != null) {
+                    Department department = new Department();
+                    department.setId(Long.valueOf(departmentId));
+                    employee.setDepartment(department);
+                }
+                chunks.add(row, employee, null);
+            } catch (NumberFormatException e) {
+                chunks.add(row, employee, "Invalid number: " + e.getMessage());
+            }
+        }
+        return chunks.finish();
+    }
+
+    private static String field(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private int resolveBatchSize(Integer batchSize) {
+        if (batchSize == null) {
+            return defaultBatchSize;
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+        return Math.min(batchSize, maxBatchSize);
+    }
+
+    private record PendingRow(long row, Employee employee) {}
+
+    private class ChunkedImport {
+
+        private final int batchSize;
+        private final long startNanos = System.nanoTime();
+        private final BulkImportResult result = new BulkImportResult();
+        private final List<PendingRow> pending = new ArrayList<>();
+        private final Set<String> seenEmails = new HashSet<>();
+        private final Set<Long> knownDepartmentIds = new HashSet<>();
+        private final Set<Long> missingDepartmentIds = new HashSet<>();
+
+        ChunkedImport(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        void add(long row, Employee employee, String parseError) {
+            result.incrementReceived();
+            if (parseError != null) {
+                result.addError(row, employee.getEmail(), parseError);
+                return;
+            }
+            if (employee.getName() == null || employee.getName().isBlank()) {
+                result.addError(row, employee.getEmail(), "Name is required");
+                return;
+            }
+            if (employee.getEmail() == null || employee.getEmail().isBlank()) {
+                result.addError(row, null, "Email is required");
+                return;
+            }
+            if (!seenEmails.add(employee.getEmail().toLowerCase(Locale.ROOT))) {
+                result.addError(row, employee.getEmail(), "Duplicate email in upload");
+                return;
+            }
+            employee.setId(null);
+            pending.add(new PendingRow(row, employee));
+            if (pending.size() >= batchSize) {
+                flushChunk();
+            }
+        }
+
+        BulkImportResult finish() {
+            flushChunk();
+            result.finish((System.nanoTime() - startNanos) / 1_000_000);
+            // One event for the whole upload; every chunk has committed by now
+            if (result.getCreated() > 0) {
+                changeEventService.publish(ChangeEventType.EMPLOYEES_IMPORTED, null, null, null, result.getCreated());
+            }
+            return result;
+        }
+
+        private void flushChunk() {
+            if (pending.isEmpty()) {
+                return;
+            }
+
+            // One IN query per chunk for existing e-mails and one for unseen departments
+            Set<String> emails = new HashSet<>();
+            Set<Long> unresolvedDepartments = new HashSet<>();
+            for (PendingRow pendingRow : pending) {
+                emails.add(pendingRow.employee().getEmail());
+                Long departmentId = departmentId(pendingRow.employee());
+                if (departmentId != null && !knownDepartmentIds.contains(departmentId)
+                        && !missingDepartmentIds.contains(departmentId)) {
+                    unresolvedDepartments.add(departmentId);
+                }
+            }
+            // The IN list matches under the column's collation (case-insensitive on MySQL); compare the
+            // answer in lower case, as the in-upload duplicate check does, so 'A@x.com' meets 'a@x.com'
+            Set<String> existingEmails = new HashSet<>();
+            for (String existing : employeeRepository.findExistingEmails(emails)) {
+                existingEmails.add(existing.toLowerCase(Locale.ROOT));
+            }
+            if (!unresolvedDepartments.isEmpty()) {
+                for (Department department : departmentRepository.findAllById(unresolvedDepartments)) {
+                    knownDepartmentIds.add(department.getId());
+                }
+                unresolvedDepartments.removeAll(knownDepartmentIds);
+                missingDepartmentIds.addAll(unresolvedDepartments);
+            }
+
+            List<PendingRow> valid = new ArrayList<>(pending.size());
+            for (PendingRow pendingRow : pending) {
+                Employee employee = pendingRow.employee();
+                Long departmentId = departmentId(employee);
+                if (existingEmails.contains(employee.getEmail().toLowerCase(Locale.ROOT))) {
+                    result.addError(pendingRow.row(), employee.getEmail(),
+                            "Employee with email '" + employee.getEmail() + "' already exists");
+                } else if (departmentId != null && missingDepartmentIds.contains(departmentId)) {
+                    result.addError(pendingRow.row(), employee.getEmail(), "Department not found with id: " + departmentId);
+                } else {
+                    valid.add(pendingRow);
+                }
+            }
+            pending.clear();
+
+            try {
+                insert(valid);
+                result.addCreated(valid.size());
+            } catch (DataIntegrityViolationException e) {
+                // A concurrent writer won a race on some e-mail (or removed a department); retry row
+                // by row to isolate it
+                for (PendingRow pendingRow : valid) {
+                    try {
+                        pendingRow.employee().setId(null);
+                        insert(List.of(pendingRow));
+                        result.addCreated(1);
+                    } catch (DataIntegrityViolationException rowError) {
+                        result.addError(pendingRow.row(), pendingRow.employee().getEmail(),
+                                "Rejected by a database constraint (duplicate email or missing department)");
+                    }
+                }
+            }
+        }
+
+        private void insert(List<PendingRow> rows) {
+            if (rows.isEmpty()) {
+                return;
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                // The requested batch size reaches JDBC too, not just the chunking (the session
+                // default is hibernate.jdbc.batch_size)
+                entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+                List<Employee> employees = new ArrayList<>(rows.size());
+                for (PendingRow pendingRow : rows) {
+                    Employee employee = pendingRow.employee();
+                    Long departmentId = departmentId(employee);
+                    employee.setDepartment(departmentId == null ? null : departmentRepository.getReferenceById(departmentId));
+                    employees.add(employee);
+                }
+                // Flushed through the repository so a constraint violation arrives translated, as a
+                // DataIntegrityViolationException, and the chunk falls back to row-by-row inserts
+                employeeRepository.saveAllAndFlush(employees);
+                entityManager.clear();
+            });
+        }
+
+        private Long departmentId(Employee employee) {
+            return employee.getDepartment() == null ? null : employee.getDepartment().getId();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.apc.ems.Service;
+
+import com.apc.ems.DTOs.EmployeeSalaryRow;
+import com.apc.ems.Entities.Employee;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+// Applies employee creates, updates and deletes to the in-memory indexes once the transaction commits
+@Component
+public class EmployeeIndexListener {
+
+    @Autowired
+    @Lazy
+    private TypeaheadService typeaheadService;
+
+    @Autowired
+    @Lazy
+    private SalaryStatsService salaryStatsService;
+
+    @PostPersist
+    @PostUpdate
+    public void indexed(Employee employee) {
+        Long id = employee.getId();
+        long version = employee.getVersion();
+        String name = employee.getName();
+        String email = employee.getEmail();
+        // getId() on an uninitialized department proxy does not load it
+        Long departmentId = employee.getDepartment() == null ? null : employee.getDepartment().getId();
+        Double salary = employee.getSalary();
+        afterCommit(() -> {
+            typeaheadService.index(id, version, name, email);
+            salaryStatsService.employeeChanged(id, version, departmentId, salary);
+        });
+    }
+
+    @PostRemove
+    public void removed(Employee employee) {
+        Long id = employee.getId();
+        long version = employee.getVersion();
+        afterCommit(() -> {
+            typeaheadService.remove(id, version);
+            salaryStatsService.employeeRemoved(id, version);
+        });
+    }
+
+    // A set-based statement moved employees and stamped them with changeSeq; read just those rows in
+    // the current transaction and apply them once it commits. Names are unaffected. Returns the
+    // ids of the moved employees, so the caller can audit them without reading them again.
+    public List<Long> employeesMoved(long changeSeq) {
+        List<EmployeeSalaryRow> rows = salaryStatsService.readChangedRows(changeSeq);
+        afterCommit(() -> salaryStatsService.employeesChanged(rows));
+        return rows.stream().map(EmployeeSalaryRow::id).toList();
+    }
+
+    // The department is being deleted and every employee it had moved to another (null: unassigned)
+    public void departmentMerged(Long departmentId, Long intoDepartmentId) {
+        afterCommit(() -> salaryStatsService.departmentMerged(departmentId, intoDepartmentId));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,354 @@
+package com.apc.ems.Service;
+
+import com.apc.ems.DTOs.EmployeeSummary;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory prefix index over employee names and e-mails for typeahead.
+ *
+ * <p>Names and the e-mail local part are split into lower-case word tokens; each distinct
+ * token maps to a sorted {@code long[]} of employee ids. Because first names, surnames and
+ * e-mail words repeat heavily, the token dictionary stays far smaller than the employee
+ * count and postings cost 8 bytes per (token, employee). Display text is kept once per
+ * employee as a UTF-8 {@code byte[]}.
+ *
+ * <p>Writes carry the employee's version, as in {@link SalaryAggregates}: one older than the
+ * last applied for that employee is ignored, so updates applied out of order after concurrent
+ * commits cannot restore an old name. A removed employee's version is kept for a retention
+ * period, so a stale write arriving after the delete cannot bring the employee back.
+ *
+ * <p>Reads are lock-free: postings arrays are never mutated in place but replaced
+ * (copy-on-write). Writers serialize on a {@link ReentrantLock} rather than a monitor, so a
+ * virtual thread waiting for a concurrent writer unmounts instead of pinning its carrier.
+ */
+public class EmployeeNameIndex {
+
+    private static final char TEXT_SEPARATOR = '\n';
+
+    private final NavigableMap<String, long[]> postings = new ConcurrentSkipListMap<>();
+    private final Map<Long, byte[]> texts = new ConcurrentHashMap<>();
+    // Written and read under the write lock only
+    private final Map<Long, Long> versions = new HashMap<>();
+    // Removed employees and the version they were removed at, oldest first
+    private final LinkedHashMap<Long, Removal> removals = new LinkedHashMap<>();
+    private final int maxCandidates;
+    private final long removalRetentionNanos;
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private record Removal(long version, long removedAt) {}
+
+    public EmployeeNameIndex(int maxCandidates, long removalRetentionMillis) {
+        this.maxCandidates = maxCandidates;
+        this.removalRetentionNanos = removalRetentionMillis * 1_000_000L;
+    }
+
+    public int size() {
+        return texts.size();
+    }
+
+    public int tokenCount() {
+        return postings.size();
+    }
+
+    // Add or replace an employee's entry unless a newer version was already applied or removed
+    public void put(Long id, long version, String name, String email) {
+        if (id == null) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            expireRemovals();
+            Removal removal = removals.get(id);
+            if (removal != null && removal.version() >= version) {
+                return;
+            }
+            Long applied = versions.get(id);
+            if (applied != null && applied >= version) {
+                return;
+            }
+            putLocked(id, name, email);
+            versions.put(id, version);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void putLocked(Long id, String name, String email) {
+        byte[] previous = texts.get(id);
+        Set<String> oldTokens = previous == null ? Set.of() : tokens(decodeName(previous), decodeEmail(previous));
+        Set<String> newTokens = tokens(name, email);
+
+        for (String token : oldTokens) {
+            if (!newTokens.contains(token)) {
+                removePosting(token, id);
+            }
+        }
+        for (String token : newTokens) {
+            if (!oldTokens.contains(token)) {
+                addPosting(token, id);
+            }
+        }
+        texts.put(id, encode(name, email));
+    }
+
+    // Remove an employee deleted at the given version; older writes for it are ignored from now on
+    public void remove(Long id, long version) {
+        if (id == null) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            expireRemovals();
+            removals.remove(id);
+            removals.put(id, new Removal(version, System.nanoTime()));
+            versions.remove(id);
+            byte[] previous = texts.remove(id);
+            if (previous == null) {
+                return;
+            }
+            for (String token : tokens(decodeName(previous), decodeEmail(previous))) {
+                removePosting(token, id);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void clear() {
+        writeLock.lock();
+        try {
+            postings.clear();
+            texts.clear();
+            versions.clear();
+            removals.clear();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Keep the removals of the index this one replaces, which may still be contradicted by stale writes
+    public void inheritHistory(EmployeeNameIndex previous) {
+        writeLock.lock();
+        previous.writeLock.lock();
+        try {
+            previous.removals.forEach(removals::putIfAbsent);
+        } finally {
+            previous.writeLock.unlock();
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Top-k employees whose name or e-mail words start with every word of the query.
+     * Candidates come from the most selective query word; at most {@code maxCandidates}
+     * are ranked, which bounds latency independently of index size.
+     */
+    public List<EmployeeSummary> search(String query, int limit) {
+        List<String> words = words(query);
+        if (words.isEmpty() || limit < 1) {
+            return List.of();
+        }
+
+        // Drive candidate generation from the query word with the fewest postings
+        NavigableMap<String, long[]> driver = null;
+        long driverSize = Long.MAX_VALUE;
+        for (String word : words) {
+            NavigableMap<String, long[]> range = postings.subMap(word, true, word + Character.MAX_VALUE, false);
+            long rangeSize = 0;
+            for (long[] ids : range.values()) {
+                rangeSize += ids.length;
+                if (rangeSize >= driverSize || rangeSize >= maxCandidates) {
+                    break;
+                }
+            }
+            if (rangeSize < driverSize) {
+                driver = range;
+                driverSize = rangeSize;
+            }
+        }
+
+        // Exact-token postings come first in the range, so the cap keeps the best candidates
+        Set<Long> candidates = new LinkedHashSet<>();
+        collect:
+        for (long[] ids : driver.values()) {
+            for (long id : ids) {
+                candidates.add(id);
+                if (candidates.size() >= maxCandidates) {
+                    break collect;
+                }
+            }
+        }
+
+        String phrase = String.join(" ", words);
+        List<Match> matches = new ArrayList<>();
+        for (Long id : candidates) {
+            byte[] text = texts.get(id);
+            if (text == null) {
+                continue;
+            }
+            String value = new String(text, StandardCharsets.UTF_8);
+            String lower = value.toLowerCase(Locale.ROOT);
+            if (words.size() == 1 || allWordsMatch(lower, words)) {
+                int separator = value.indexOf(TEXT_SEPARATOR);
+                matches.add(new Match(id, value.substring(0, separator), value.substring(separator + 1),
+                        score(phrase, lower, separator)));
+            }
+        }
+
+        matches.sort(Comparator.comparingInt(Match::score).reversed()
+                .thenComparingInt(match -> match.name().length())
+                .thenComparing(Match::name)
+                .thenComparingLong(Match::id));
+
+        List<EmployeeSummary> results = new ArrayList<>(Math.min(limit, matches.size()));
+        for (int i = 0; i < matches.size() && i < limit; i++) {
+            Match match = matches.get(i);
+            results.add(new EmployeeSummary(match.id(), match.name(), match.email()));
+        }
+        return results;
+    }
+
+    // Higher is better: exact name, name prefix, e-mail prefix, then any word prefix.
+    // lowerText is "name\nemail" in lower case; separator is the index of the newline.
+    private static int score(String phrase, String lowerText, int separator) {
+        if (separator == phrase.length() && lowerText.startsWith(phrase)) {
+            return 4;
+        }
+        if (phrase.length() <= separator && lowerText.startsWith(phrase)) {
+            return 3;
+        }
+        if (lowerText.startsWith(phrase, separator + 1)) {
+            return 2;
+        }
+        return 1;
+    }
+
+    // Every query word must start some word of the text (the single-word case is implied by the postings)
+    private static boolean allWordsMatch(String lowerText, List<String> words) {
+        for (String word : words) {
+            if (!containsWordPrefix(lowerText, word)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean containsWordPrefix(String lowerText, String word) {
+        int from = 0;
+        int at;
+        while ((at = lowerText.indexOf(word, from)) >= 0) {
+            if (at == 0 || !Character.isLetterOrDigit(lowerText.charAt(at - 1))) {
+                return true;
+            }
+            from = at + 1;
+        }
+        return false;
+    }
+
+    private void expireRemovals() {
+        long now = System.nanoTime();
+        Iterator<Removal> oldest = removals.values().iterator();
+        while (oldest.hasNext() && now - oldest.next().removedAt() > removalRetentionNanos) {
+            oldest.remove();
+        }
+    }
+
+    private void addPosting(String token, long id) {
+        long[] current = postings.get(token);
+        if (current == null) {
+            postings.put(token, new long[] {id});
+            return;
+        }
+        int position = Arrays.binarySearch(current, id);
+        if (position >= 0) {
+            return;
+        }
+        int insertAt = -position - 1;
+        long[] updated = new long[current.length + 1];
+        System.arraycopy(current, 0, updated, 0, insertAt);
+        updated[insertAt] = id;
+        System.arraycopy(current, insertAt, updated, insertAt + 1, current.length - insertAt);
+        postings.put(token, updated);
+    }
+
+    private void removePosting(String token, long id) {
+        long[] current = postings.get(token);
+        if (current == null) {
+            return;
+        }
+        int position = Arrays.binarySearch(current, id);
+        if (position < 0) {
+            return;
+        }
+        if (current.length == 1) {
+            postings.remove(token);
+            return;
+        }
+        long[] updated = new long[current.length - 1];
+        System.arraycopy(current, 0, updated, 0, position);
+        System.arraycopy(current, position + 1, updated, position, current.length - position - 1);
+        postings.put(token, updated);
+    }
+
+    // Word tokens of the name and of the e-mail local part
+    private static Set<String> tokens(String name, String email) {
+        Set<String> tokens = new LinkedHashSet<>(words(name));
+        if (email != null) {
+            int at = email.indexOf('@');
+            tokens.addAll(words(at >= 0 ? email.substring(0, at) : email));
+        }
+        return tokens;
+    }
+
+    private static List<String> words(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> words = new ArrayList<>(4);
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                words.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    private static byte[] encode(String name, String email) {
+        return ((name == null ? "" : name) + TEXT_SEPARATOR + (email == null ? "" : email))
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String decodeName(byte[] text) {
+        String value = new String(text, StandardCharsets.UTF_8);
+        return value.substring(0, value.indexOf(TEXT_SEPARATOR));
+    }
+
+    private static String decodeEmail(byte[] text) {
+        String value = new String(text, StandardCharsets.UTF_8);
+        return value.substring(value.indexOf(TEXT_SEPARATOR) + 1);
+    }
+
+    private record Match(long id, String name, String email, int score) {}
+}
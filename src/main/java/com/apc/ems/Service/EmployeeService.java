@@ -1,14 +1,40 @@
 package com.apc.ems.Service;
 
+import com.apc.ems.DTOs.BulkReassignment;
+import com.apc.ems.DTOs.CursorPage;
+import com.apc.ems.DTOs.DepartmentTransferRequest;
+import com.apc.ems.DTOs.DepartmentTransferResult;
+import com.apc.ems.DTOs.EmployeeExportRow;
+import com.apc.ems.DTOs.EmployeeSearchCriteria;
+import com.apc.ems.DTOs.EmployeeUpsertResult;
+import com.apc.ems.DTOs.EmployeeView;
+import com.apc.ems.DTOs.FieldChange;
 import com.apc.ems.Entities.Employee;
 import com.apc.ems.Entities.Department;
+import com.apc.ems.Entities.Tombstone;
 import com.apc.ems.Repository.EmployeeRepository;
 import com.apc.ems.Repository.DepartmentRepository;
+import com.apc.ems.Repository.EmployeeSpecifications;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
 public class EmployeeService {
@@ -19,12 +45,35 @@ public class EmployeeService {
     @Autowired
     private DepartmentRepository departmentRepository;
 
-    // Create - Save a new employee
+    @Autowired
+    private EmployeeIndexListener employeeIndexListener;
+
+    @Autowired
+    private ChangeEventService changeEventService;
+
+    @Autowired
+    private AuditLogService auditLogService;
+
+    @Value("${ems.pagination.default-limit:50}")
+    private int defaultPageLimit;
+
+    @Value("${ems.pagination.max-limit:500}")
+    private int maxPageLimit;
+
+    @Value("${ems.export.flush-every:500}")
+    private int exportFlushEvery;
+
+    private ObjectWriter exportRowWriter;
+
+    @Autowired
+    public void setObjectMapper(ObjectMapper objectMapper) {
+        this.exportRowWriter = objectMapper.writerFor(EmployeeExportRow.class);
+    }
+
+    // Create - Save a new employee; the unique constraint on email, not a prior lookup, rejects
+    // duplicates, so concurrent creates with the same email cannot both pass a check
+    @Transactional
     public Employee createEmployee(Employee employee) {
-        if (employeeRepository.existsByEmail(employee.getEmail())) {
-            throw new RuntimeException("Employee with email '" + employee.getEmail() + "' already exists");
-        }
-        
         // Ensure department is fetched from DB and set
         if (employee.getDepartment() != null && employee.getDepartment().getId() != null) {
             Department department = departmentRepository.findById(employee.getDepartment().getId())
@@ -34,7 +83,50 @@ public class EmployeeService {
             employee.setDepartment(null);
         }
         
-        return employeeRepository.save(employee);
+        Employee saved;
+        try {
+            saved = employeeRepository.saveAndFlush(employee);
+        } catch (DataIntegrityViolationException e) {
+            throw isUniqueViolation(e) ? new DuplicateEmailException(employee.getEmail()) : e;
+        }
+        publish(ChangeEventType.EMPLOYEE_CREATED, saved, null);
+        return saved;
+    }
+
+    // Upsert - Insert or update the employee with this email in a single statement (no lookup first,
+    // so concurrent upserts of one email never race); the email in the path wins over the body
+    @Transactional
+    public EmployeeUpsertResult upsertEmployeeByEmail(String email, Employee employeeDetails) {
+        if (employeeDetails.getEmail() != null && !employeeDetails.getEmail().equals(email)) {
+            throw new IllegalArgumentException("Email in the body does not match the email in the path");
+        }
+        if (employeeDetails.getName() == null || employeeDetails.getName().isBlank()) {
+            throw new IllegalArgumentException("name is required");
+        }
+        if (employeeDetails.getDepartment() != null && employeeDetails.getDepartment().getId() != null) {
+            Long departmentId = employeeDetails.getDepartment().getId();
+            if (departmentRepository.findById(departmentId).isEmpty()) {
+                throw new RuntimeException("Department not found with id: " + departmentId);
+            }
+        } else {
+            employeeDetails.setDepartment(null);
+        }
+        employeeDetails.setEmail(email);
+
+        long insertedId = employeeRepository.upsertByEmail(employeeDetails);
+        Employee stored = employeeRepository.findByEmail(email)
+                .orElseThrow(() -> new IllegalStateException("Employee with email '" + email + "' vanished after upsert"));
+        // The statement bypassed the entity listener, so index the stored name explicitly
+        employeeIndexListener.indexed(stored);
+        boolean created = stored.getId() == insertedId;
+        // Also bypassed the audit events; an update's previous values are unknown without the lookup
+        // the upsert avoids, so only the stored values are recorded
+        auditLogService.record(created ? AuditAction.CREATE : AuditAction.UPSERT, Tombstone.EMPLOYEE,
+                stored.getId(), 1, storedValues(stored));
+        EmployeeView view = EmployeeView.of(stored);
+        changeEventService.publish(created ? ChangeEventType.EMPLOYEE_CREATED : ChangeEventType.EMPLOYEE_UPSERTED,
+                view.id(), departmentId(stored), null, view);
+        return new EmployeeUpsertResult(view, created);
     }
 
     // Read - Get all employees
@@ -42,16 +134,137 @@ public class EmployeeService {
         return employeeRepository.findAll();
     }
 
+    // Read - Get one page of employees, ordered by the given sort key
+    public CursorPage<EmployeeView> getEmployeesPage(String sort, String after, Integer limit) {
+        return findPage(new ArrayList<>(), sort, after, limit);
+    }
+
+    // Read - Get one page of employees in a department
+    public CursorPage<EmployeeView> getEmployeesByDepartmentIdPage(Long departmentId, String sort, String after, Integer limit) {
+        List<Specification<Employee>> filters = new ArrayList<>();
+        filters.add(EmployeeSpecifications.inDepartment(departmentId));
+        return findPage(filters, sort, after, limit);
+    }
+
+    // Read - Get one page of employees whose name matches
+    public CursorPage<EmployeeView> searchEmployeesByNamePage(String name, String sort, String after, Integer limit) {
+        List<Specification<Employee>> filters = new ArrayList<>();
+        filters.add(EmployeeSpecifications.nameContains(name));
+        return findPage(filters, sort, after, limit);
+    }
+
+    // Read - Get one page of employees matching any combination of department, salary range,
+    // name prefix and email domain. Each common combination is served by a composite index.
+    public CursorPage<EmployeeView> searchEmployees(EmployeeSearchCriteria criteria, String sort, String after, Integer limit) {
+        List<Specification<Employee>> filters = new ArrayList<>();
+        if (criteria.getDepartmentIds() != null && !criteria.getDepartmentIds().isEmpty()) {
+            filters.add(criteria.getDepartmentIds().size() == 1
+                    ? EmployeeSpecifications.inDepartment(criteria.getDepartmentIds().get(0))
+                    : EmployeeSpecifications.inDepartments(criteria.getDepartmentIds()));
+        }
+        addAttributeFilters(filters, criteria);
+        return findPage(filters, sort, after, limit);
+    }
+
+    // Salary range, name prefix and email domain filters of a search criteria
+    private void addAttributeFilters(List<Specification<Employee>> filters, EmployeeSearchCriteria criteria) {
+        if (criteria.getMinSalary() != null || criteria.getMaxSalary() != null) {
+            if (criteria.getMinSalary() != null && criteria.getMaxSalary() != null
+                    && criteria.getMinSalary() > criteria.getMaxSalary()) {
+                throw new IllegalArgumentException("minSalary must not be greater than maxSalary");
+            }
+            filters.add(EmployeeSpecifications.salaryBetween(criteria.getMinSalary(), criteria.getMaxSalary()));
+        }
+        if (criteria.getNamePrefix() != null && !criteria.getNamePrefix().isBlank()) {
+            filters.add(EmployeeSpecifications.nameStartsWith(criteria.getNamePrefix().trim()));
+        }
+        if (criteria.getEmailDomain() != null && !criteria.getEmailDomain().isBlank()) {
+            filters.add(EmployeeSpecifications.emailDomain(criteria.getEmailDomain().trim()));
+        }
+    }
+
+    // Keyset pagination: seek past the cursor instead of using OFFSET, so every page
+    // costs the same index range scan. One extra row is fetched to detect the next page.
+    private CursorPage<EmployeeView> findPage(List<Specification<Employee>> filters, String sort, String after, Integer limit) {
+        EmployeeCursor.SortKey sortKey = EmployeeCursor.SortKey.from(sort);
+        int pageSize = resolvePageLimit(limit);
+
+        if (after != null && !after.isBlank()) {
+            EmployeeCursor cursor = EmployeeCursor.decode(after, sortKey);
+            filters.add(switch (sortKey) {
+                case NAME -> EmployeeSpecifications.nameAfter(cursor.getLastName(), cursor.getLastId());
+                case SALARY -> EmployeeSpecifications.salaryAfter(cursor.getLastSalary(), cursor.getLastId());
+                default -> EmployeeSpecifications.idAfter(cursor.getLastId());
+            });
+        }
+
+        Sort order = sortKey == EmployeeCursor.SortKey.ID
+                ? Sort.by(Sort.Order.asc("id"))
+                : Sort.by(Sort.Order.asc(sortKey.getProperty()), Sort.Order.asc("id"));
+
+        // Views are selected directly with the department columns joined in the same statement
+        List<EmployeeView> rows = employeeRepository.findViews(Specification.allOf(filters), order, pageSize + 1);
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = new ArrayList<>(rows.subList(0, pageSize));
+            nextCursor = EmployeeCursor.after(sortKey, rows.get(pageSize - 1)).encode();
+        }
+        return new CursorPage<>(rows, nextCursor, pageSize, sortKey.getProperty());
+    }
+
+    private int resolvePageLimit(Integer limit) {
+        if (limit == null) {
+            return defaultPageLimit;
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be at least 1");
+        }
+        return Math.min(limit, maxPageLimit);
+    }
+
+    // Export - Stream employees (optionally of one department) straight from a database
+    // cursor to the output; rows are never collected, so heap use is independent of table size
+    @Transactional(readOnly = true)
+    public long exportEmployees(Long departmentId, EmployeeExportFormat format, OutputStream out) throws IOException {
+        EmployeeExportWriter writer = new EmployeeExportWriter(format, exportRowWriter, out, exportFlushEvery);
+        writer.writeHeader();
+        try (Stream<EmployeeExportRow> rows = departmentId == null
+                ? employeeRepository.streamExportRows()
+                : employeeRepository.streamExportRowsByDepartmentId(departmentId)) {
+            rows.forEach(writer::write);
+        }
+        return writer.finish();
+    }
+
     // Read - Get employee by ID
     public Optional<Employee> getEmployeeById(Long id) {
         return employeeRepository.findById(id);
     }
 
+    // Read - Get the API view of an employee by ID. The entity (and its department) usually
+    // comes from the second-level cache; the view is built before the session closes.
+    @Transactional(readOnly = true)
+    public Optional<EmployeeView> getEmployeeView(Long id) {
+        return employeeRepository.findById(id).map(EmployeeView::of);
+    }
+
+    // Read - Current ETag of an employee, from its version columns only
+    public Optional<String> getEmployeeTag(Long id) {
+        return employeeRepository.findVersionById(id).map(EntityTags::employee);
+    }
+
     // Read - Get employee by email
     public Optional<Employee> getEmployeeByEmail(String email) {
         return employeeRepository.findByEmail(email);
     }
 
+    // Read - Get the API view of an employee by email
+    @Transactional(readOnly = true)
+    public Optional<EmployeeView> getEmployeeViewByEmail(String email) {
+        return employeeRepository.findByEmail(email).map(EmployeeView::of);
+    }
+
     // Read - Get employees by department
     public List<Employee> getEmployeesByDepartment(Department department) {
         return employeeRepository.findByDepartment(department);
@@ -68,31 +281,55 @@ public class EmployeeService {
     }
 
     // Update - Update an existing employee
+    @Transactional
     public Employee updateEmployee(Long id, Employee employeeDetails) {
+        return updateEmployee(id, employeeDetails, null);
+    }
+
+    // Update - Update an existing employee if it still matches the If-Match tag (null skips the check)
+    @Transactional
+    public Employee updateEmployee(Long id, Employee employeeDetails, String ifMatch) {
         Employee employee = employeeRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Employee not found with id: " + id));
 
-        // Check if the new email conflicts with existing employees (excluding current one)
-        if (!employee.getEmail().equals(employeeDetails.getEmail()) && 
-            employeeRepository.existsByEmail(employeeDetails.getEmail())) {
-            throw new RuntimeException("Employee with email '" + employeeDetails.getEmail() + "' already exists");
+        if (!EntityTags.matches(ifMatch, EntityTags.employee(employee))) {
+            throw new PreconditionFailedException("Employee " + id + " has been modified since it was read");
         }
 
+        Long previousDepartmentId = departmentId(employee);
         employee.setName(employeeDetails.getName());
         employee.setEmail(employeeDetails.getEmail());
         employee.setPhone(employeeDetails.getPhone());
         employee.setSalary(employeeDetails.getSalary());
-        employee.setDepartment(employeeDetails.getDepartment());
 
-        return employeeRepository.save(employee);
+        // Resolve the department so the response (and its ETag) carries the real row
+        if (employeeDetails.getDepartment() != null && employeeDetails.getDepartment().getId() != null) {
+            Department department = departmentRepository.findById(employeeDetails.getDepartment().getId())
+                    .orElseThrow(() -> new RuntimeException("Department not found with id: " + employeeDetails.getDepartment().getId()));
+            employee.setDepartment(department);
+        } else {
+            employee.setDepartment(null);
+        }
+
+        // A taken email surfaces from the unique constraint when the change is flushed
+        Employee saved;
+        try {
+            saved = employeeRepository.saveAndFlush(employee);
+        } catch (DataIntegrityViolationException e) {
+            throw isUniqueViolation(e) ? new DuplicateEmailException(employeeDetails.getEmail()) : e;
+        }
+        publish(ChangeEventType.EMPLOYEE_UPDATED, saved, previousDepartmentId);
+        return saved;
     }
 
     // Delete - Delete an employee by ID
+    @Transactional
     public void deleteEmployee(Long id) {
-        if (!employeeRepository.existsById(id)) {
-            throw new RuntimeException("Employee not found with id: " + id);
-        }
-        employeeRepository.deleteById(id);
+        Employee employee = employeeRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Employee not found with id: " + id));
+        Long departmentId = departmentId(employee);
+        employeeRepository.delete(employee);
+        changeEventService.publish(ChangeEventType.EMPLOYEE_DELETED, id, departmentId, null, null);
     }
 
     // Check if employee exists
@@ -106,6 +343,7 @@ public class EmployeeService {
     }
 
     // Assign employee to department
+    @Transactional
     public Employee assignEmployeeToDepartment(Long employeeId, Long departmentId) {
         Employee employee = employeeRepository.findById(employeeId)
                 .orElseThrow(() -> new RuntimeException("Employee not found with id: " + employeeId));
@@ -113,7 +351,99 @@ public class EmployeeService {
         Department department = departmentRepository.findById(departmentId)
                 .orElseThrow(() -> new RuntimeException("Department not found with id: " + departmentId));
 
+        Long previousDepartmentId = departmentId(employee);
         employee.setDepartment(department);
-        return employeeRepository.save(employee);
+        Employee saved = employeeRepository.saveAndFlush(employee);
+        publish(ChangeEventType.EMPLOYEE_ASSIGNED, saved, previousDepartmentId);
+        return saved;
+    }
+
+    // Transfer - Move employees out of one department in a single set-based UPDATE: all of them,
+    // only the listed ids, and/or only those matching the filter. No employee row is loaded.
+    @Transactional
+    public DepartmentTransferResult transferEmployees(Long fromDepartmentId, DepartmentTransferRequest request) {
+        Long targetDepartmentId = request.getTargetDepartmentId();
+        if (targetDepartmentId == null) {
+            throw new IllegalArgumentException("targetDepartmentId is required");
+        }
+        if (targetDepartmentId.equals(fromDepartmentId)) {
+            throw new IllegalArgumentException("Source and target department must differ");
+        }
+        if (!departmentRepository.existsById(fromDepartmentId)) {
+            throw new RuntimeException("Department not found with id: " + fromDepartmentId);
+        }
+        if (!departmentRepository.existsById(targetDepartmentId)) {
+            throw new RuntimeException("Department not found with id: " + targetDepartmentId);
+        }
+
+        List<Specification<Employee>> filters = new ArrayList<>();
+        filters.add(EmployeeSpecifications.inDepartment(fromDepartmentId));
+        Integer requested = null;
+        if (request.getEmployeeIds() != null) {
+            if (request.getEmployeeIds().isEmpty()) {
+                return new DepartmentTransferResult(fromDepartmentId, targetDepartmentId, 0, 0);
+            }
+            requested = request.getEmployeeIds().size();
+            filters.add(EmployeeSpecifications.idIn(request.getEmployeeIds()));
+        }
+        if (request.getFilter() != null) {
+            if (request.getFilter().getDepartmentIds() != null && !request.getFilter().getDepartmentIds().isEmpty()) {
+                throw new IllegalArgumentException("The transfer filter cannot select departments; the source is the path department");
+            }
+            addAttributeFilters(filters, request.getFilter());
+        }
+
+        BulkReassignment moved = employeeRepository.reassignDepartment(Specification.allOf(filters), targetDepartmentId);
+        int transferred = moved.rowCount();
+        List<Long> movedIds = transferred > 0 ? employeeIndexListener.employeesMoved(moved.changeSeq()) : List.of();
+        DepartmentTransferResult result = new DepartmentTransferResult(fromDepartmentId, targetDepartmentId, requested, transferred);
+        if (transferred > 0) {
+            auditLogService.recordEach(AuditAction.TRANSFER, Tombstone.EMPLOYEE, movedIds,
+                    Map.of("departmentId", new FieldChange(fromDepartmentId, targetDepartmentId)));
+            changeEventService.publish(ChangeEventType.EMPLOYEES_TRANSFERRED, null, targetDepartmentId, fromDepartmentId, result);
+        }
+        return result;
+    }
+
+    // Publish the employee's new state; the view is built now, while its department is loadable
+    private void publish(ChangeEventType type, Employee employee, Long previousDepartmentId) {
+        changeEventService.publish(type, employee.getId(), departmentId(employee), previousDepartmentId, EmployeeView.of(employee));
+    }
+
+    // Audited fields of an employee as stored, each as a change from nothing
+    private static Map<String, FieldChange> storedValues(Employee employee) {
+        Map<String, FieldChange> values = new LinkedHashMap<>();
+        values.put("name", new FieldChange(null, employee.getName()));
+        values.put("email", new FieldChange(null, employee.getEmail()));
+        if (employee.getPhone() != null) {
+            values.put("phone", new FieldChange(null, employee.getPhone()));
+        }
+        if (employee.getSalary() != null) {
+            values.put("salary", new FieldChange(null, employee.getSalary()));
+        }
+        if (employee.getDepartment() != null) {
+            values.put("departmentId", new FieldChange(null, departmentId(employee)));
+        }
+        return values;
+    }
+
+    // getId() on an uninitialized department proxy does not load it
+    private static Long departmentId(Employee employee) {
+        return employee.getDepartment() == null ? null : employee.getDepartment().getId();
+    }
+
+    // Email is the only unique key besides the generated id. Batched statements lose Hibernate's
+    // constraint kind, so fall back to the driver codes (SQLState 23505 on H2, error 1062 on MySQL).
+    private static boolean isUniqueViolation(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation
+                    && violation.getKind() == ConstraintViolationException.ConstraintKind.UNIQUE) {
+                return true;
+            }
+            if (cause instanceof SQLException sql && ("23505".equals(sql.getSQLState()) || sql.getErrorCode() == 1062)) {
+                return true;
+            }
+        }
+        return false;
     }
 }
@@ -0,0 +1,96 @@
+package com.apc.ems.Service;
+
+import com.apc.ems.DTOs.CursorPage;
+import com.apc.ems.DTOs.DepartmentSummary;
+import com.apc.ems.DTOs.DepartmentView;
+import com.apc.ems.DTOs.EmployeeVersion;
+import com.apc.ems.DTOs.EmployeeView;
+import com.apc.ems.DTOs.TableVersion;
+import com.apc.ems.Entities.Department;
+import com.apc.ems.Entities.Employee;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+/**
+ * Strong entity tags (unquoted) derived from {@code @Version} columns rather than from
+ * serialized bodies, so a tag can be computed, and a 304 answered, without building the
+ * response. A tag covers everything its representation embeds: an employee's tag includes
+ * its department's version, and a department summary's tag includes its headcount.
+ */
+public final class EntityTags {
+
+    private EntityTags() {}
+
+    public static String employee(Employee employee) {
+        Department department = employee.getDepartment();
+        return employee(employee.getId(), employee.getVersion(),
+                department == null ? null : department.getId(),
+                department == null ? null : department.getVersion());
+    }
+
+    public static String employee(EmployeeView view) {
+        DepartmentView department = view.department();
+        return employee(view.id(), view.version(),
+                department == null ? null : department.id(),
+                department == null ? null : department.version());
+    }
+
+    public static String employee(EmployeeVersion version) {
+        return employee(version.getId(), version.getVersion(), version.getDepartmentId(), version.getDepartmentVersion());
+    }
+
+    private static String employee(Long id, long version, Long departmentId, Long departmentVersion) {
+        String tag = "e" + id + "." + version;
+        return departmentId == null ? tag : tag + "-d" + departmentId + "." + departmentVersion;
+    }
+
+    public static String department(DepartmentSummary summary) {
+        return "d" + summary.getId() + "." + summary.getVersion() + "-n" + summary.getEmployeeCount();
+    }
+
+    // Ids and versions only ever grow, so (count, max id, version sum) changes on every insert, update or delete
+    public static String departmentList(TableVersion departments, TableVersion employees) {
+        return "dl" + table(departments) + "-el" + table(employees);
+    }
+
+    private static String table(TableVersion version) {
+        return version.getRowCount() + "." + version.getMaxId() + "." + version.getVersionSum();
+    }
+
+    // Digest of the page's item tags and paging state
+    public static String page(CursorPage<EmployeeView> page) {
+        StringBuilder state = new StringBuilder()
+                .append(page.getSort()).append('|')
+                .append(page.getLimit()).append('|')
+                .append(page.isHasMore()).append('|')
+                .append(page.getNextCursor());
+        for (EmployeeView employee : page.getItems()) {
+            state.append('|').append(employee(employee));
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(state.toString().getBytes(StandardCharsets.UTF_8));
+            return "p" + HexFormat.of().formatHex(Arrays.copyOf(digest, 16));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // If-Match check with strong comparison; absent header or "*" always matches an existing resource
+    public static boolean matches(String ifMatch, String currentTag) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return true;
+        }
+        String quoted = "\"" + currentTag + "\"";
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(quoted) || tag.equals(currentTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,9 @@
+package com.apc.ems.Service;
+
+// Thrown when an If-Match precondition no longer holds; mapped to 412 Precondition Failed
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,225 @@
+package com.apc.ems.Service;
+
+import com.apc.ems.DTOs.SalaryBand;
+import com.apc.ems.DTOs.SalaryBandTotal;
+import com.apc.ems.DTOs.SalaryStats;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Headcount and salary aggregates per department and company-wide, maintained by deltas.
+ *
+ * <p>The last applied (version, department, salary) of every employee is remembered, so a
+ * write from any path is applied by removing the employee's old contribution and adding the
+ * new one. Writes carrying a version older than the remembered one are ignored: deltas that
+ * arrive out of order after concurrent commits cannot be counted twice. A removed employee's
+ * version is kept for a retention period, so a stale write arriving after the delete cannot
+ * bring the employee back. Salaries are summed
+ * in cents so totals stay exact over long runs of additions and removals, and each bucket
+ * keeps a sorted multiset of salaries so min and max survive the removal of the extreme
+ * employee.
+ *
+ * <p>When a department is deleted its bucket is merged into the one that received its
+ * employees, without visiting them; the entries that still name the deleted department are
+ * counted in the receiving one from then on.
+ *
+ * <p>Not thread-safe; {@link SalaryStatsService} serializes access.
+ */
+public class SalaryAggregates {
+
+    private static final long NO_SALARY = Long.MIN_VALUE;
+
+    private record Entry(long version, Long departmentId, long salaryCents) {}
+
+    private record Removal(long version, long removedAt) {}
+
+    private final long bandWidthCents;
+    private final long removalRetentionNanos;
+    private final Map<Long, Entry> employees = new HashMap<>();
+    // Removed employees and the version they were removed at, oldest first
+    private final LinkedHashMap<Long, Removal> removals = new LinkedHashMap<>();
+    // Deleted department -> department that took its employees (null: none, they became unassigned)
+    private final Map<Long, Long> mergedInto = new HashMap<>();
+    // Keyed by department id; the null key holds the employees without a department
+    private final Map<Long, Bucket> departments = new HashMap<>();
+    private final Bucket company = new Bucket();
+
+    public SalaryAggregates(double bandWidth, long removalRetentionMillis) {
+        this.bandWidthCents = toCents(bandWidth);
+        if (bandWidthCents <= 0) {
+            throw new IllegalArgumentException("Band width must be at least one cent: " + bandWidth);
+        }
+        this.removalRetentionNanos = removalRetentionMillis * 1_000_000L;
+    }
+
+    public int size() {
+        return employees.size();
+    }
+
+    // Apply an employee's current state unless a newer version was already applied or removed
+    public void put(Long id, long version, Long departmentId, Double salary) {
+        expireRemovals();
+        Removal removal = removals.get(id);
+        if (removal != null && removal.version() >= version) {
+            return;
+        }
+        Entry previous = employees.get(id);
+        if (previous != null) {
+            if (previous.version() >= version) {
+                return;
+            }
+            subtract(previous);
+        }
+        Entry entry = new Entry(version, departmentId, salary == null ? NO_SALARY : toCents(salary));
+        employees.put(id, entry);
+        departments.computeIfAbsent(resolve(departmentId), key -> new Bucket()).add(entry.salaryCents(), 1, bandWidthCents);
+        company.add(entry.salaryCents(), 1, bandWidthCents);
+    }
+
+    // Remove an employee deleted at the given version; older writes for it are ignored from now on
+    public void remove(Long id, long version) {
+        expireRemovals();
+        removals.remove(id);
+        removals.put(id, new Removal(version, System.nanoTime()));
+        Entry previous = employees.remove(id);
+        if (previous != null) {
+            subtract(previous);
+        }
+    }
+
+    // The department was deleted and all its employees moved to another (null: unassigned)
+    public void mergeDepartment(Long departmentId, Long intoDepartmentId) {
+        mergedInto.put(departmentId, intoDepartmentId);
+        Bucket merged = departments.remove(departmentId);
+        if (merged != null) {
+            departments.computeIfAbsent(resolve(intoDepartmentId), key -> new Bucket()).merge(merged);
+        }
+    }
+
+    // Keep the removals and merges of the aggregates this one replaces, which may still be
+    // contradicted by stale writes
+    public void inheritHistory(SalaryAggregates previous) {
+        previous.removals.forEach(removals::putIfAbsent);
+        mergedInto.putAll(previous.mergedInto);
+    }
+
+    public SalaryStats department(Long departmentId) {
+        return departments.getOrDefault(departmentId, new Bucket()).snapshot(departmentId, bandWidthCents);
+    }
+
+    public SalaryStats company() {
+        return company.snapshot(null, bandWidthCents);
+    }
+
+    // Departments (null for unassigned) that currently have employees
+    public List<Long> departmentIds() {
+        return new ArrayList<>(departments.keySet());
+    }
+
+    // Statistics of one department, or company-wide when allDepartments is set, from grouped query rows
+    public static SalaryStats fromBandTotals(Long departmentId, boolean allDepartments,
+                                             List<SalaryBandTotal> totals, double bandWidth) {
+        long headcount = 0;
+        long salaried = 0;
+        double total = 0;
+        Double min = null;
+        Double max = null;
+        TreeMap<Long, Long> bands = new TreeMap<>();
+        for (SalaryBandTotal row : totals) {
+            if (!allDepartments && !Objects.equals(row.departmentId(), departmentId)) {
+                continue;
+            }
+            headcount += row.count();
+            if (row.band() == null) {
+                continue;
+            }
+            salaried += row.count();
+            total += row.total();
+            min = min == null ? row.min() : Math.min(min, row.min());
+            max = max == null ? row.max() : Math.max(max, row.max());
+            bands.merge(row.band(), row.count(), Long::sum);
+        }
+        List<SalaryBand> bandList = new ArrayList<>(bands.size());
+        bands.forEach((band, count) -> bandList.add(new SalaryBand(band * bandWidth, (band + 1) * bandWidth, count)));
+        return new SalaryStats(allDepartments ? null : departmentId, headcount, salaried, total, min, max, bandWidth, bandList);
+    }
+
+    private void subtract(Entry entry) {
+        Long departmentId = resolve(entry.departmentId());
+        Bucket bucket = departments.get(departmentId);
+        bucket.add(entry.salaryCents(), -1, bandWidthCents);
+        if (bucket.headcount == 0) {
+            departments.remove(departmentId);
+        }
+        company.add(entry.salaryCents(), -1, bandWidthCents);
+    }
+
+    // The bucket an entry's department is counted in, following deleted departments' merges
+    private Long resolve(Long departmentId) {
+        while (departmentId != null && mergedInto.containsKey(departmentId)) {
+            departmentId = mergedInto.get(departmentId);
+        }
+        return departmentId;
+    }
+
+    private void expireRemovals() {
+        long now = System.nanoTime();
+        Iterator<Removal> oldest = removals.values().iterator();
+        while (oldest.hasNext() && now - oldest.next().removedAt() > removalRetentionNanos) {
+            oldest.remove();
+        }
+    }
+
+    private static long toCents(double amount) {
+        return Math.round(amount * 100);
+    }
+
+    private static final class Bucket {
+
+        private long headcount;
+        private long salaried;
+        private long totalCents;
+        // Salary (cents) -> number of employees earning it
+        private final TreeMap<Long, Integer> salaries = new TreeMap<>();
+        // Band index -> number of employees in it
+        private final TreeMap<Long, Long> bands = new TreeMap<>();
+
+        // Add (sign 1) or remove (sign -1) one employee
+        void add(long salaryCents, int sign, long bandWidthCents) {
+            headcount += sign;
+            if (salaryCents == NO_SALARY) {
+                return;
+            }
+            salaried += sign;
+            totalCents += sign * salaryCents;
+            salaries.merge(salaryCents, sign, (a, b) -> a + b == 0 ? null : a + b);
+            bands.merge(Math.floorDiv(salaryCents, bandWidthCents), (long) sign, (a, b) -> a + b == 0 ? null : a + b);
+        }
+
+        // Take over every employee of another bucket
+        void merge(Bucket other) {
+            headcount += other.headcount;
+            salaried += other.salaried;
+            totalCents += other.totalCents;
+            other.salaries.forEach((salary, count) -> salaries.merge(salary, count, Integer::sum));
+            other.bands.forEach((band, count) -> bands.merge(band, count, Long::sum));
+        }
+
+        SalaryStats snapshot(Long departmentId, long bandWidthCents) {
+            double bandWidth = bandWidthCents / 100.0;
+            List<SalaryBand> bandList = new ArrayList<>(bands.size());
+            bands.forEach((band, count) -> bandList.add(new SalaryBand(band * bandWidth, (band + 1) * bandWidth, count)));
+            return new SalaryStats(departmentId, headcount, salaried, totalCents / 100.0,
+                    salaries.isEmpty() ? null : salaries.firstKey() / 100.0,
+                    salaries.isEmpty() ? null : salaries.lastKey() / 100.0,
+                    bandWidth, bandList);
+        }
+    }
+}
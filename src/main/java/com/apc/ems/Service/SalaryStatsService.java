@@ -0,0 +1,268 @@
+package com.apc.ems.Service;
+
+import com.apc.ems.DTOs.EmployeeSalaryRow;
+import com.apc.ems.DTOs.SalaryBand;
+import com.apc.ems.DTOs.SalaryBandTotal;
+import com.apc.ems.DTOs.SalaryStats;
+import com.apc.ems.Repository.EmployeeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Per-department and company-wide salary statistics, served from {@link SalaryAggregates}.
+ * The aggregates are loaded at startup and then kept current by {@link EmployeeIndexListener}:
+ * entity writes are applied as deltas, set-based moves re-read only the rows they changed, and
+ * a deleted department's aggregates are merged into the department that took its employees.
+ * A scheduled job compares them with a database recompute and rebuilds them if they drifted.
+ * Until the first load finishes, reads are answered by the recompute query.
+ */
+@Service
+public class SalaryStatsService implements ApplicationRunner, MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(SalaryStatsService.class);
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final double bandWidth;
+    private final long removalRetentionMillis;
+    // Writers and readers hold it only for one delta or one snapshot; see EmployeeNameIndex for why not a monitor
+    private final ReentrantLock lock = new ReentrantLock();
+    private SalaryAggregates aggregates;
+    // Changes applied while a rebuild is loading, replayed onto the rebuilt aggregates before the swap
+    private List<Consumer<SalaryAggregates>> pending;
+    private volatile boolean ready;
+    private final AtomicLong drifts = new AtomicLong();
+    private Counter driftCounter;
+
+    public SalaryStatsService(@Value("${ems.salary-stats.band-width:10000}") double bandWidth,
+                              @Value("${ems.salary-stats.removal-retention-ms:600000}") long removalRetentionMillis) {
+        this.bandWidth = bandWidth;
+        this.removalRetentionMillis = removalRetentionMillis;
+        this.aggregates = new SalaryAggregates(bandWidth, removalRetentionMillis);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        rebuild();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("ems.salary-stats.employees", this, service -> service.size()).register(registry);
+        Gauge.builder("ems.salary-stats.ready", this, service -> service.ready ? 1 : 0).register(registry);
+        driftCounter = Counter.builder("ems.salary-stats.drift")
+                .description("Reconciliations that found the aggregates out of line with the database")
+                .register(registry);
+    }
+
+    // Read - Statistics of one department's employees
+    public SalaryStats getDepartmentStats(Long departmentId) {
+        if (!ready) {
+            return SalaryAggregates.fromBandTotals(departmentId, false, employeeRepository.findSalaryBandTotals(bandWidth), bandWidth);
+        }
+        lock.lock();
+        try {
+            return aggregates.department(departmentId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Read - Statistics of all employees, with or without a department
+    public SalaryStats getCompanyStats() {
+        if (!ready) {
+            return SalaryAggregates.fromBandTotals(null, true, employeeRepository.findSalaryBandTotals(bandWidth), bandWidth);
+        }
+        lock.lock();
+        try {
+            return aggregates.company();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void employeeChanged(Long id, long version, Long departmentId, Double salary) {
+        apply(aggregates -> aggregates.put(id, version, departmentId, salary));
+    }
+
+    public void employeeRemoved(Long id, long version) {
+        apply(aggregates -> aggregates.remove(id, version));
+    }
+
+    public void employeesChanged(List<EmployeeSalaryRow> rows) {
+        apply(aggregates -> rows.forEach(row -> aggregates.put(row.id(), row.version(), row.departmentId(), row.salary())));
+    }
+
+    public void departmentMerged(Long departmentId, Long intoDepartmentId) {
+        apply(aggregates -> aggregates.mergeDepartment(departmentId, intoDepartmentId));
+    }
+
+    // Current rows of the employees one set-based statement changed, read in the caller's transaction
+    public List<EmployeeSalaryRow> readChangedRows(long changeSeq) {
+        return employeeRepository.findSalaryRowsByChangeSeq(changeSeq);
+    }
+
+    // Reload the aggregates from the database while writes keep being applied
+    public void rebuild() {
+        lock.lock();
+        try {
+            if (pending != null) {
+                return;
+            }
+            pending = new ArrayList<>();
+        } finally {
+            lock.unlock();
+        }
+
+        long start = System.nanoTime();
+        SalaryAggregates rebuilt = new SalaryAggregates(bandWidth, removalRetentionMillis);
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                try (Stream<EmployeeSalaryRow> rows = employeeRepository.streamSalaryRows()) {
+                    rows.forEach(row -> rebuilt.put(row.id(), row.version(), row.departmentId(), row.salary()));
+                }
+            });
+        } catch (RuntimeException e) {
+            lock.lock();
+            try {
+                pending = null;
+            } finally {
+                lock.unlock();
+            }
+            throw e;
+        }
+
+        lock.lock();
+        try {
+            rebuilt.inheritHistory(aggregates);
+            pending.forEach(change -> change.accept(rebuilt));
+            pending = null;
+            aggregates = rebuilt;
+            ready = true;
+        } finally {
+            lock.unlock();
+        }
+        log.info("Salary aggregates built: {} employees in {} ms", rebuilt.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Compare the aggregates with a full recompute by the database and rebuild them if any
+     * department differs. A write committing between the query and the comparison can make a
+     * department look different for a moment, so a difference only counts if a second
+     * recompute confirms it. Returns the departments that had drifted (null for unassigned).
+     */
+    @Scheduled(initialDelayString = "${ems.salary-stats.reconcile-interval-ms:600000}",
+               fixedDelayString = "${ems.salary-stats.reconcile-interval-ms:600000}")
+    public Set<Long> reconcile() {
+        if (!ready) {
+            return Set.of();
+        }
+        Set<Long> drifted = differences(employeeRepository.findSalaryBandTotals(bandWidth));
+        if (!drifted.isEmpty()) {
+            drifted.retainAll(differences(employeeRepository.findSalaryBandTotals(bandWidth)));
+        }
+        if (!drifted.isEmpty()) {
+            drifts.incrementAndGet();
+            if (driftCounter != null) {
+                driftCounter.increment();
+            }
+            log.warn("Salary aggregates drifted from the database for departments {}, rebuilding", drifted);
+            rebuild();
+        }
+        return drifted;
+    }
+
+    // Reconciliations that found drift since startup
+    public long getDriftCount() {
+        return drifts.get();
+    }
+
+    private Set<Long> differences(List<SalaryBandTotal> totals) {
+        Set<Long> departmentIds = new LinkedHashSet<>();
+        totals.forEach(total -> departmentIds.add(total.departmentId()));
+        Set<Long> drifted = new LinkedHashSet<>();
+        lock.lock();
+        try {
+            departmentIds.addAll(aggregates.departmentIds());
+            for (Long departmentId : departmentIds) {
+                if (!matches(aggregates.department(departmentId),
+                        SalaryAggregates.fromBandTotals(departmentId, false, totals, bandWidth))) {
+                    drifted.add(departmentId);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        return drifted;
+    }
+
+    // Equal up to floating-point noise in the database's sum of doubles
+    private static boolean matches(SalaryStats maintained, SalaryStats recomputed) {
+        if (maintained.getHeadcount() != recomputed.getHeadcount()
+                || maintained.getSalariedCount() != recomputed.getSalariedCount()
+                || Math.abs(maintained.getTotalSalary() - recomputed.getTotalSalary()) > 0.01 + 1e-9 * Math.abs(recomputed.getTotalSalary())
+                || !closeEnough(maintained.getMinSalary(), recomputed.getMinSalary())
+                || !closeEnough(maintained.getMaxSalary(), recomputed.getMaxSalary())
+                || maintained.getBands().size() != recomputed.getBands().size()) {
+            return false;
+        }
+        for (int i = 0; i < maintained.getBands().size(); i++) {
+            SalaryBand a = maintained.getBands().get(i);
+            SalaryBand b = recomputed.getBands().get(i);
+            if (a.count() != b.count() || !closeEnough(a.from(), b.from())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean closeEnough(Double a, Double b) {
+        return a == null ? b == null : b != null && Math.abs(a - b) < 0.005;
+    }
+
+    private int size() {
+        lock.lock();
+        try {
+            return aggregates.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void apply(Consumer<SalaryAggregates> change) {
+        lock.lock();
+        try {
+            change.accept(aggregates);
+            if (pending != null) {
+                pending.add(change);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.apc.ems.Service;
+
+import com.apc.ems.DTOs.EmployeeNameRow;
+import com.apc.ems.DTOs.EmployeeSummary;
+import com.apc.ems.Repository.EmployeeRepository;
+import com.apc.ems.Repository.EmployeeSpecifications;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Typeahead over employee names and e-mails, served from {@link EmployeeNameIndex}. The
+ * index is loaded at startup and then kept current by {@link EmployeeIndexListener};
+ * until loading finishes, queries fall back to a bounded database search. A reload builds a
+ * fresh index and swaps it in, so writes made while it loads are never overwritten.
+ */
+@Service
+public class TypeaheadService implements ApplicationRunner, MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(TypeaheadService.class);
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${ems.typeahead.default-limit:10}")
+    private int defaultLimit;
+
+    @Value("${ems.typeahead.max-limit:50}")
+    private int maxLimit;
+
+    private int maxCandidates;
+    private long removalRetentionMillis;
+    // Serializes writes with the swap at the end of a rebuild; searches read the index without it
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile EmployeeNameIndex index;
+    // Writes applied while a rebuild is loading, replayed onto the rebuilt index before the swap
+    private List<Consumer<EmployeeNameIndex>> pending;
+    private volatile boolean ready;
+
+    @Autowired
+    public void configureIndex(@Value("${ems.typeahead.max-candidates:256}") int maxCandidates,
+                               @Value("${ems.typeahead.removal-retention-ms:600000}") long removalRetentionMillis) {
+        this.maxCandidates = maxCandidates;
+        this.removalRetentionMillis = removalRetentionMillis;
+        this.index = new EmployeeNameIndex(maxCandidates, removalRetentionMillis);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        rebuild();
+    }
+
+    // Reload the index from the database while writes keep being applied
+    public void rebuild() {
+        lock.lock();
+        try {
+            if (pending != null) {
+                return;
+            }
+            pending = new ArrayList<>();
+        } finally {
+            lock.unlock();
+        }
+
+        long start = System.nanoTime();
+        EmployeeNameIndex rebuilt = new EmployeeNameIndex(maxCandidates, removalRetentionMillis);
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                try (Stream<EmployeeNameRow> rows = employeeRepository.streamNameRows()) {
+                    rows.forEach(row -> rebuilt.put(row.id(), row.version(), row.name(), row.email()));
+                }
+            });
+        } catch (RuntimeException e) {
+            lock.lock();
+            try {
+                pending = null;
+            } finally {
+                lock.unlock();
+            }
+            throw e;
+        }
+
+        lock.lock();
+        try {
+            rebuilt.inheritHistory(index);
+            pending.forEach(change -> change.accept(rebuilt));
+            pending = null;
+            index = rebuilt;
+            ready = true;
+        } finally {
+            lock.unlock();
+        }
+        log.info("Typeahead index built: {} employees, {} tokens in {} ms",
+                rebuilt.size(), rebuilt.tokenCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("ems.typeahead.index.employees", this, service -> service.index.size()).register(registry);
+        Gauge.builder("ems.typeahead.index.tokens", this, service -> service.index.tokenCount()).register(registry);
+        Gauge.builder("ems.typeahead.index.ready", this, service -> service.ready ? 1 : 0).register(registry);
+    }
+
+    // Read - Top-k employees matching the typed prefix
+    public List<EmployeeSummary> typeahead(String query, Integer limit) {
+        int k = limit == null ? defaultLimit : Math.min(Math.max(limit, 1), maxLimit);
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        if (ready) {
+            return index.search(query, k);
+        }
+        return employeeRepository.findBy(EmployeeSpecifications.nameContains(query.trim()),
+                        q -> q.sortBy(Sort.by("name", "id")).limit(k).all())
+                .stream()
+                .map(e -> new EmployeeSummary(e.getId(), e.getName(), e.getEmail()))
+                .toList();
+    }
+
+    public void index(Long employeeId, long version, String name, String email) {
+        apply(index -> index.put(employeeId, version, name, email));
+    }
+
+    public void remove(Long employeeId, long version) {
+        apply(index -> index.remove(employeeId, version));
+    }
+
+    private void apply(Consumer<EmployeeNameIndex> change) {
+        lock.lock();
+        try {
+            change.accept(index);
+            if (pending != null) {
+                pending.add(change);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
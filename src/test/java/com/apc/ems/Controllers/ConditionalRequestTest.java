@@ -0,0 +1,141 @@
+package com.apc.ems.Controllers;
+
+import com.apc.ems.Entities.Department;
+import com.apc.ems.Entities.Employee;
+import com.apc.ems.Service.DepartmentService;
+import com.apc.ems.Service.EmployeeService;
+import com.apc.ems.TestFixture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * ETag round trips: unchanged resources answer If-None-Match with an empty 304, any write
+ * that alters a representation changes its tag, and stale If-Match tags are rejected.
+ */
+@SpringBootTest
+class ConditionalRequestTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    private MockMvc mockMvc;
+    private TestFixture fixture;
+    private Department sales;
+    private Employee employee;
+
+    @BeforeEach
+    void createFixture() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+        fixture = new TestFixture(employeeService, departmentService);
+        sales = fixture.department("ETag Sales");
+        employee = fixture.employee("ETag Employee", "etag.employee@example.com", sales);
+    }
+
+    @AfterEach
+    void removeFixture() {
+        fixture.remove();
+    }
+
+    @Test
+    void unchangedEmployeeIsNotModified() throws Exception {
+        String tag = etagOf("/api/employees/" + employee.getId());
+
+        mockMvc.perform(get("/api/employees/" + employee.getId()).header(HttpHeaders.IF_NONE_MATCH, tag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void employeeViewKeepsTheEntityJsonShape() throws Exception {
+        mockMvc.perform(get("/api/employees/" + employee.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value("etag.employee@example.com"))
+                .andExpect(jsonPath("$.department.name").value("ETag Sales"))
+                .andExpect(jsonPath("$.emailDomain").doesNotExist());
+
+        mockMvc.perform(get("/api/departments/" + sales.getId() + "/employees"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].name").value("ETag Employee"))
+                .andExpect(jsonPath("$.items[0].department.id").value(sales.getId()));
+    }
+
+    @Test
+    void departmentRenameChangesEmployeeTag() throws Exception {
+        String before = etagOf("/api/employees/" + employee.getId());
+
+        departmentService.updateDepartment(sales.getId(), TestFixture.departmentNamed("ETag Sales Renamed"));
+
+        mockMvc.perform(get("/api/employees/" + employee.getId()).header(HttpHeaders.IF_NONE_MATCH, before))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void staleIfMatchIsRejected() throws Exception {
+        String tag = etagOf("/api/employees/" + employee.getId());
+        String body = "{\"name\":\"ETag Employee\",\"email\":\"etag.employee@example.com\",\"salary\":1000}";
+
+        String updatedTag = mockMvc.perform(put("/api/employees/" + employee.getId())
+                        .header(HttpHeaders.IF_MATCH, tag)
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(tag, updatedTag);
+
+        mockMvc.perform(put("/api/employees/" + employee.getId())
+                        .header(HttpHeaders.IF_MATCH, tag)
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void departmentListTagFollowsHeadcounts() throws Exception {
+        Department support = fixture.department("ETag Support");
+        String tag = etagOf("/api/departments");
+        mockMvc.perform(get("/api/departments").header(HttpHeaders.IF_NONE_MATCH, tag))
+                .andExpect(status().isNotModified());
+
+        employeeService.assignEmployeeToDepartment(employee.getId(), support.getId());
+
+        mockMvc.perform(get("/api/departments").header(HttpHeaders.IF_NONE_MATCH, tag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void unchangedPageIsNotModified() throws Exception {
+        String url = "/api/departments/" + sales.getId() + "/employees";
+        String tag = etagOf(url);
+
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, tag))
+                .andExpect(status().isNotModified());
+    }
+
+    private String etagOf(String url) throws Exception {
+        String tag = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(tag);
+        return tag;
+    }
+}
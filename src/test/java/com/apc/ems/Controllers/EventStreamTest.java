@@ -0,0 +1,155 @@
+package com.apc.ems.Controllers;
+
+import com.apc.ems.Entities.Department;
+import com.apc.ems.Entities.Employee;
+import com.apc.ems.Service.ChangeEventService;
+import com.apc.ems.Service.ChangeEventType;
+import com.apc.ems.Service.DepartmentService;
+import com.apc.ems.Service.DuplicateEmailException;
+import com.apc.ems.Service.EmployeeService;
+import com.apc.ems.TestFixture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * The event stream carries committed changes only, replays what a reconnecting client missed,
+ * and answers an unknown or overflowed position with a resync instead of a gap.
+ */
+@SpringBootTest
+class EventStreamTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private ChangeEventService changeEventService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    private MockMvc mockMvc;
+    private TestFixture fixture;
+
+    @BeforeEach
+    void createFixture() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+        fixture = new TestFixture(employeeService, departmentService);
+    }
+
+    @AfterEach
+    void removeFixture() {
+        fixture.remove();
+    }
+
+    @Test
+    void streamsCommittedEmployeeChanges() throws Exception {
+        Department sales = fixture.department("Events Sales");
+        Department support = fixture.department("Events Support");
+        MockHttpServletResponse stream = open(null);
+
+        Employee employee = create("events.stream@example.com", sales);
+        employeeService.assignEmployeeToDepartment(employee.getId(), support.getId());
+
+        String events = await(stream, content -> content.contains("event:employee.assigned"));
+        assertTrue(events.contains("event:employee.created"));
+        assertTrue(events.contains("\"email\":\"events.stream@example.com\""));
+        assertTrue(events.contains("\"departmentId\":" + support.getId() + ",\"previousDepartmentId\":" + sales.getId()));
+    }
+
+    @Test
+    void rolledBackWritesAreNotPublished() {
+        create("events.duplicate@example.com", null);
+        long before = changeEventService.getLastEventId();
+
+        assertThrows(DuplicateEmailException.class, () -> create("events.duplicate@example.com", null));
+
+        assertEquals(before, changeEventService.getLastEventId());
+    }
+
+    @Test
+    void resumesAfterLastEventId() throws Exception {
+        long seen = changeEventService.getLastEventId();
+        Employee employee = create("events.resume@example.com", null);
+
+        String events = await(open(Long.toString(seen)),
+                content -> content.contains("\"entityId\":" + employee.getId()));
+        assertTrue(events.contains("id:" + (seen + 1)));
+        assertFalse(events.contains("id:" + seen + "\n"));
+        assertFalse(events.contains("event:resync"));
+    }
+
+    @Test
+    void unknownLastEventIdResyncs() throws Exception {
+        long resyncs = changeEventService.getResyncCount();
+
+        await(open("1"), content -> content.contains("event:resync"));
+
+        assertEquals(resyncs + 1, changeEventService.getResyncCount());
+    }
+
+    @Test
+    void overflowingBacklogIsReplacedByResync() {
+        ChangeEventService small = new ChangeEventService(2, 10, 60_000, 1_000);
+        try {
+            long seen = small.getLastEventId();
+            for (long id = 1; id <= 5; id++) {
+                small.publish(ChangeEventType.EMPLOYEE_DELETED, id, null, null, null);
+            }
+
+            // Five events to replay into a queue of two
+            small.subscribe(seen);
+
+            assertEquals(1, small.getResyncCount());
+            assertEquals(1, small.getSubscriberCount());
+        } finally {
+            small.destroy();
+        }
+    }
+
+    private MockHttpServletResponse open(String lastEventId) throws Exception {
+        MvcResult result = mockMvc.perform(lastEventId == null ? get("/api/events")
+                        : get("/api/events").header("Last-Event-ID", lastEventId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return result.getResponse();
+    }
+
+    // Events are written by the subscriber's own thread, so wait for them to arrive
+    private static String await(MockHttpServletResponse stream, Predicate<String> arrived) throws Exception {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (System.currentTimeMillis() < deadline) {
+            String content = stream.getContentAsString();
+            if (arrived.test(content)) {
+                return content;
+            }
+            Thread.sleep(20);
+        }
+        fail("Expected event did not arrive; stream so far:\n" + stream.getContentAsString());
+        return null;
+    }
+
+    private Employee create(String email, Department department) {
+        return fixture.employee("Events Employee " + email, email, department);
+    }
+}
@@ -0,0 +1,71 @@
+package com.apc.ems.Controllers;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Exports stream asynchronously with the long export timeout, while other async requests keep
+ * the default one.
+ */
+@SpringBootTest
+class ExportTimeoutTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Value("${ems.export.timeout-ms}")
+    private long exportTimeoutMillis;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void createMockMvc() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+    }
+
+    @Test
+    void onlyTheExportGetsTheExportTimeout() throws Exception {
+        MvcResult export = mockMvc.perform(get("/api/employees/export").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult login = mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"export.timeout\",\"password\":\"secret\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertEquals(exportTimeoutMillis, export.getRequest().getAsyncContext().getTimeout());
+        assertNotEquals(exportTimeoutMillis, login.getRequest().getAsyncContext().getTimeout());
+        mockMvc.perform(asyncDispatch(export))
+                .andExpect(status().isOk())
+                .andExpect(content().string(startsWith("id,name,email")));
+    }
+
+    @Test
+    void unsupportedFormatIsRejected() throws Exception {
+        MvcResult export = mockMvc.perform(get("/api/employees/export").param("format", "xml"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(export))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(startsWith("Unsupported export format")));
+    }
+}
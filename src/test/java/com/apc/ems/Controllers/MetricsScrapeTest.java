@@ -0,0 +1,55 @@
+package com.apc.ems.Controllers;
+
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.filter.ServerHttpObservationFilter;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * After real traffic the Prometheus scrape carries endpoint percentiles, repository timers,
+ * pool, Hibernate and application meters.
+ */
+@SpringBootTest
+@AutoConfigureObservability(tracing = false)
+class MetricsScrapeTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private ObservationRegistry observationRegistry;
+
+    @Autowired
+    private PrometheusMeterRegistry prometheusMeterRegistry;
+
+    @Test
+    void scrapeCoversEndpointsRepositoriesPoolAndCaches() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(context)
+                .addFilters(new ServerHttpObservationFilter(observationRegistry))
+                .build();
+        mockMvc.perform(get("/api/departments")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/employees/typeahead").param("q", "a")).andExpect(status().isOk());
+
+        String scrape = prometheusMeterRegistry.scrape();
+
+        assertTrue(scrape.contains("http_server_requests_seconds_count"), "endpoint timer");
+        assertTrue(scrape.contains("uri=\"/api/departments\"") && scrape.contains("quantile=\"0.99\""),
+                "endpoint percentiles");
+        assertTrue(scrape.contains("spring_data_repository_invocations_seconds"), "repository timers");
+        assertTrue(scrape.contains("hikaricp_connections_acquire_seconds"), "pool wait time");
+        assertTrue(scrape.contains("hibernate_second_level_cache_requests"), "second-level cache statistics");
+        assertTrue(scrape.contains("ems_principal_cache_requests_total"), "principal cache");
+        assertTrue(scrape.contains("ems_password_hashing_seconds_count"), "password hashing");
+        assertTrue(scrape.contains("ems_typeahead_index_employees"), "typeahead index");
+    }
+}
@@ -0,0 +1,125 @@
+package com.apc.ems.Repository;
+
+import com.apc.ems.DTOs.EmployeeView;
+import com.apc.ems.Entities.Department;
+import com.apc.ems.Entities.Employee;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Guards the Employee -> Department fetch plan: every employee list query must cost a
+ * single statement no matter how many distinct departments the result touches.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({HibernateCacheConfig.class, ChangeSequence.class})
+class EmployeeRepositoryFetchTest {
+
+    private static final int DEPARTMENTS = 200;
+    private static final int EMPLOYEES = 10_000;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long firstDepartmentId;
+
+    @BeforeEach
+    void loadFixture() {
+        Department[] departments = new Department[DEPARTMENTS];
+        for (int i = 0; i < DEPARTMENTS; i++) {
+            Department department = new Department();
+            department.setName("Department " + i);
+            entityManager.persist(department);
+            departments[i] = department;
+        }
+        for (int i = 0; i < EMPLOYEES; i++) {
+            Employee employee = new Employee();
+            employee.setName("Employee " + i);
+            employee.setEmail("employee" + i + "@example.com");
+            employee.setSalary(40_000.0 + i);
+            employee.setDepartment(departments[i % DEPARTMENTS]);
+            entityManager.persist(employee);
+            if (i % 500 == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        firstDepartmentId = departments[0].getId();
+    }
+
+    @Test
+    void findAllLoadsDepartmentsInOneStatement() {
+        List<Employee> employees = countingStatements(1, employeeRepository::findAll);
+        assertEquals(EMPLOYEES, employees.size());
+    }
+
+    @Test
+    void findByDepartmentIdLoadsDepartmentsInOneStatement() {
+        List<Employee> employees = countingStatements(1, () -> employeeRepository.findByDepartmentId(firstDepartmentId));
+        assertEquals(EMPLOYEES / DEPARTMENTS, employees.size());
+    }
+
+    @Test
+    void findByNameLoadsDepartmentsInOneStatement() {
+        List<Employee> employees = countingStatements(1, () -> employeeRepository.findByNameContainingIgnoreCase("employee 1"));
+        assertEquals(1111, employees.size());
+    }
+
+    @Test
+    void keysetPageLoadsDepartmentsInOneStatement() {
+        List<Employee> employees = countingStatements(1, () -> employeeRepository.findBy(
+                EmployeeSpecifications.idAfter(0L),
+                query -> query.project("department").sortBy(Sort.by("id")).limit(500).all()));
+        assertEquals(500, employees.size());
+    }
+
+    @Test
+    void viewPageIsOneStatementAndLeavesNothingManaged() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<EmployeeView> views = employeeRepository.findViews(
+                EmployeeSpecifications.inDepartment(firstDepartmentId), Sort.by("name", "id"), 500);
+
+        assertEquals(EMPLOYEES / DEPARTMENTS, views.size());
+        assertEquals(firstDepartmentId, views.get(0).department().id());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    // Runs the query, touches every department and asserts how many JDBC statements were prepared
+    private List<Employee> countingStatements(long expected, Supplier<List<Employee>> query) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<Employee> employees = query.get();
+        for (Employee employee : employees) {
+            employee.getDepartment().getName();
+        }
+
+        assertEquals(expected, statistics.getPrepareStatementCount());
+        return employees;
+    }
+}
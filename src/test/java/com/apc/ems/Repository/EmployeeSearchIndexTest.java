@@ -0,0 +1,235 @@
+package com.apc.ems.Repository;
+
+import com.apc.ems.Entities.Department;
+import com.apc.ems.Entities.Employee;
+import jakarta.persistence.EntityManager;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Guards the search API's access paths: for each supported filter combination, the statement
+ * Hibernate sends for a keyset page, with its bound values, must be answered from an index
+ * rather than a full scan of employees.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({HibernateCacheConfig.class, ChangeSequence.class})
+class EmployeeSearchIndexTest {
+
+    private static final int DEPARTMENTS = 20;
+    private static final int EMPLOYEES = 2_000;
+    private static final Pattern PLAN_INDEX = Pattern.compile("/\\*\\s*\\w+\\.([\\w.]+)");
+    // Statements prepared on this thread while set, with the values bound to them
+    private static final ThreadLocal<List<CapturedStatement>> CAPTURED = new ThreadLocal<>();
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long firstDepartmentId;
+    private Long secondDepartmentId;
+
+    @BeforeEach
+    void loadFixture() {
+        Department[] departments = new Department[DEPARTMENTS];
+        for (int i = 0; i < DEPARTMENTS; i++) {
+            Department department = new Department();
+            department.setName("Department " + i);
+            entityManager.persist(department);
+            departments[i] = department;
+        }
+        for (int i = 0; i < EMPLOYEES; i++) {
+            Employee employee = new Employee();
+            employee.setName("Employee " + i);
+            employee.setEmail("employee" + i + "@Example" + (i % 10) + ".com");
+            employee.setSalary(40_000.0 + i);
+            employee.setDepartment(departments[i % DEPARTMENTS]);
+            entityManager.persist(employee);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        firstDepartmentId = departments[0].getId();
+        secondDepartmentId = departments[1].getId();
+    }
+
+    @Test
+    void departmentFilterUsesAnIndex() {
+        String index = planIndex(EmployeeSpecifications.inDepartment(firstDepartmentId));
+        assertFalse(index.endsWith("tablescan"), index);
+    }
+
+    @Test
+    void departmentAndSalaryUseCompositeIndex() {
+        assertEquals("idx_employees_department_salary", planIndex(
+                EmployeeSpecifications.inDepartment(firstDepartmentId),
+                EmployeeSpecifications.salaryBetween(40_000.0, 41_000.0)));
+    }
+
+    @Test
+    void salaryRangeUsesSalaryIndex() {
+        assertEquals("idx_employees_salary_id", planIndex(EmployeeSpecifications.salaryBetween(40_000.0, 40_100.0)));
+    }
+
+    @Test
+    void namePrefixUsesNameIndex() {
+        assertEquals("idx_employees_name_id", planIndex(EmployeeSpecifications.nameStartsWith("Employee 19")));
+    }
+
+    @Test
+    void departmentAndNamePrefixUseCompositeIndex() {
+        assertEquals("idx_employees_department_name", planIndex(
+                EmployeeSpecifications.inDepartment(firstDepartmentId),
+                EmployeeSpecifications.nameStartsWith("Employee 1")));
+    }
+
+    @Test
+    void emailDomainUsesDomainIndex() {
+        assertEquals("idx_employees_email_domain", planIndex(EmployeeSpecifications.emailDomain("example3.com")));
+    }
+
+    @Test
+    void combinedSpecificationsFilterCorrectly() {
+        List<Employee> employees = employeeRepository.findAll(Specification.allOf(
+                EmployeeSpecifications.inDepartments(List.of(firstDepartmentId, secondDepartmentId)),
+                EmployeeSpecifications.salaryBetween(40_000.0, 40_999.0),
+                EmployeeSpecifications.nameStartsWith("Employee 1"),
+                EmployeeSpecifications.emailDomain("@EXAMPLE1.com")));
+
+        // Department 1 of 20 and domain 1 of 10 select i % 20 == 1; the name prefix keeps 1, 21, 41, ...
+        assertFalse(employees.isEmpty());
+        for (Employee employee : employees) {
+            assertEquals(secondDepartmentId, employee.getDepartment().getId());
+            assertTrue(employee.getName().startsWith("Employee 1"));
+            assertEquals("example1.com", employee.getEmailDomain());
+        }
+    }
+
+    @Test
+    void nameStartsWithEscapesWildcards() {
+        assertTrue(employeeRepository.findAll(EmployeeSpecifications.nameStartsWith("Employee_")).isEmpty());
+        assertTrue(employeeRepository.findAll(EmployeeSpecifications.nameStartsWith("%")).isEmpty());
+    }
+
+    @Test
+    void backfillDerivesMissingDomains() {
+        jdbcTemplate.update("UPDATE employees SET email_domain = NULL");
+
+        assertEquals(EMPLOYEES, employeeRepository.backfillEmailDomains());
+        assertEquals(EMPLOYEES / 10, employeeRepository.count(EmployeeSpecifications.emailDomain("example7.com")));
+    }
+
+    // Index named in H2's EXPLAIN output for the statement Hibernate sends for a keyset page over
+    // the given filters, explained with the values it bound (H2 plans LIKE ? from the value)
+    @SafeVarargs
+    private String planIndex(Specification<Employee>... filters) {
+        List<CapturedStatement> statements = new ArrayList<>();
+        CAPTURED.set(statements);
+        try {
+            employeeRepository.findViews(Specification.allOf(filters), Sort.by(Sort.Order.asc("id")), 51);
+        } finally {
+            CAPTURED.set(null);
+        }
+        assertEquals(1, statements.size(), statements.toString());
+        CapturedStatement statement = statements.get(0);
+
+        String plan = jdbcTemplate.query(connection -> {
+            PreparedStatement explain = connection.prepareStatement("EXPLAIN " + statement.sql());
+            for (Map.Entry<Integer, Object> parameter : statement.parameters().entrySet()) {
+                explain.setObject(parameter.getKey(), parameter.getValue());
+            }
+            return explain;
+        }, (ResultSetExtractor<String>) rs -> rs.next() ? rs.getString(1) : null);
+        assertNotNull(plan);
+        Matcher matcher = PLAN_INDEX.matcher(plan);
+        assertTrue(matcher.find(), plan);
+        return matcher.group(1).toLowerCase(Locale.ROOT);
+    }
+
+    private record CapturedStatement(String sql, Map<Integer, Object> parameters) {}
+
+    @TestConfiguration
+    static class StatementCapture {
+
+        @Bean
+        static BeanPostProcessor capturingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource)) {
+                        return bean;
+                    }
+                    ProxyFactory proxy = new ProxyFactory(bean);
+                    proxy.addAdvice((MethodInterceptor) invocation -> {
+                        Object result = invocation.proceed();
+                        return result instanceof Connection connection ? capturing(connection) : result;
+                    });
+                    return proxy.getProxy();
+                }
+            };
+        }
+
+        private static Connection capturing(Connection connection) {
+            ProxyFactory proxy = new ProxyFactory(connection);
+            proxy.addAdvice((MethodInterceptor) invocation -> {
+                Object result = invocation.proceed();
+                List<CapturedStatement> statements = CAPTURED.get();
+                if (statements == null || !(result instanceof PreparedStatement prepared)
+                        || !invocation.getMethod().getName().equals("prepareStatement")) {
+                    return result;
+                }
+                CapturedStatement statement = new CapturedStatement((String) invocation.getArguments()[0], new TreeMap<>());
+                statements.add(statement);
+                return binding(prepared, statement.parameters());
+            });
+            return (Connection) proxy.getProxy();
+        }
+
+        // Records setXxx(index, value) calls; setNull binds null whatever its type argument
+        private static PreparedStatement binding(PreparedStatement statement, Map<Integer, Object> parameters) {
+            ProxyFactory proxy = new ProxyFactory(statement);
+            proxy.addAdvice((MethodInterceptor) invocation -> {
+                String name = invocation.getMethod().getName();
+                Object[] args = invocation.getArguments();
+                if (name.startsWith("set") && args.length >= 2 && args[0] instanceof Integer index) {
+                    parameters.put(index, name.equals("setNull") ? null : args[1]);
+                }
+                return invocation.proceed();
+            });
+            return (PreparedStatement) proxy.getProxy();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.apc.ems.Security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The verified-token cache answers repeat tokens without re-parsing and, once full, evicts to stay
+ * within its bound instead of growing or starting over.
+ */
+class JwtUtilTest {
+
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void createUtil() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "mySecretKeyThatIsLongEnoughForJWT256BitSecurityRequirements123456789");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 60_000L);
+        ReflectionTestUtils.setField(jwtUtil, "verifiedCacheMaxSize", 2);
+        jwtUtil.init();
+    }
+
+    @Test
+    void staysWithinItsBoundOnceFull() {
+        String first = token("first");
+        VerifiedToken firstVerified = jwtUtil.verifyToken(first);
+        assertSame(firstVerified, jwtUtil.verifyToken(first));
+
+        jwtUtil.verifyToken(token("second"));
+        String third = token("third");
+        VerifiedToken thirdVerified = jwtUtil.verifyToken(third);
+
+        assertEquals(2, cachedTokens().size());
+        assertTrue(cachedTokens().containsValue(thirdVerified));
+        assertSame(thirdVerified, jwtUtil.verifyToken(third));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, VerifiedToken> cachedTokens() {
+        return (Map<String, VerifiedToken>) ReflectionTestUtils.getField(jwtUtil, "verifiedTokens");
+    }
+
+    private String token(String username) {
+        return jwtUtil.generateToken(User.withUsername(username).password("").roles("USER").build());
+    }
+}
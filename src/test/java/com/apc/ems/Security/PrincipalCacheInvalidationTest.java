@@ -0,0 +1,104 @@
+package com.apc.ems.Security;
+
+import com.apc.ems.Entities.User;
+import com.apc.ems.Repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Cached principals are evicted once the user change commits, not at flush time, a rename
+ * evicts the old username as well as the new one, and a load that raced a change is not kept.
+ */
+@SpringBootTest
+class PrincipalCacheInvalidationTest {
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private User user;
+
+    @BeforeEach
+    void createUser() {
+        principalCache.invalidateAll();
+        user = userRepository.save(new User("cache.before", "cache.user@example.com", "secret123", User.Role.USER));
+    }
+
+    @AfterEach
+    void removeUser() {
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void evictsOldAndNewUsernameAfterCommit() {
+        cached("cache.before");
+        cached("cache.after");
+        assertEquals(2, loads.get());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            User managed = userRepository.findById(user.getId()).orElseThrow();
+            managed.setUsername("cache.after");
+            userRepository.flush();
+            // Still uncommitted: a concurrent reader would see the old row, so the entry stays
+            cached("cache.before");
+            assertEquals(2, loads.get());
+        });
+
+        cached("cache.before");
+        cached("cache.after");
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void rolledBackChangesKeepTheEntry() {
+        cached("cache.before");
+
+        transactionTemplate.executeWithoutResult(status -> {
+            userRepository.findById(user.getId()).orElseThrow().setRole(User.Role.ADMIN);
+            userRepository.flush();
+            status.setRollbackOnly();
+        });
+
+        cached("cache.before");
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void loadOverlappingACommittedChangeIsNotCached() {
+        UserDetails stale = principalCache.get("cache.before", name -> {
+            loads.incrementAndGet();
+            UserDetails read = org.springframework.security.core.userdetails.User.withUsername(name)
+                    .password("").roles("USER").build();
+            // The row was read; the role change commits (and evicts) before the load returns
+            transactionTemplate.executeWithoutResult(status ->
+                    userRepository.findById(user.getId()).orElseThrow().setRole(User.Role.ADMIN));
+            return read;
+        });
+        assertEquals("ROLE_USER", stale.getAuthorities().iterator().next().getAuthority());
+
+        cached("cache.before");
+        assertEquals(2, loads.get());
+    }
+
+    private UserDetails cached(String username) {
+        return principalCache.get(username, name -> {
+            loads.incrementAndGet();
+            return org.springframework.security.core.userdetails.User.withUsername(name).password("").roles("USER").build();
+        });
+    }
+}
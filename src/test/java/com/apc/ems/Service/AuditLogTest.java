@@ -0,0 +1,342 @@
+package com.apc.ems.Service;
+
+import com.apc.ems.DTOs.AuditEntryView;
+import com.apc.ems.DTOs.CursorPage;
+import com.apc.ems.DTOs.DepartmentTransferRequest;
+import com.apc.ems.Entities.Department;
+import com.apc.ems.Entities.Employee;
+import com.apc.ems.Entities.Tombstone;
+import com.apc.ems.TestFixture;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Committed changes reach the audit log with their principal and a field-level diff, rolled-back
+ * ones never do, a full queue spills to disk rather than holding a producer's connection, and a
+ * batch the database rejects is kept in the spill until it can be written.
+ */
+@SpringBootTest
+class AuditLogTest {
+
+    private static final int ENTRIES_PER_TRANSACTION = 50;
+
+    @Autowired
+    private AuditLogService auditLogService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TestFixture fixture;
+    private Department source;
+    // Newest entry before the test; employee ids can be reused across test contexts
+    private long baseline;
+
+    @BeforeEach
+    void createFixture() {
+        assertTrue(auditLogService.flush(5_000));
+        List<AuditEntryView> newest = auditLogService.getAuditPage(null, null, null, null, 1).getItems();
+        baseline = newest.isEmpty() ? 0 : newest.get(0).id();
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "auditor", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+        fixture = new TestFixture(employeeService, departmentService);
+        source = fixture.department("Audit Source");
+    }
+
+    @AfterEach
+    void removeFixture() {
+        fixture.remove();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void recordsEachCommittedChangeWithPrincipalAndDiff() throws Exception {
+        Department target = fixture.department("Audit Target");
+        Employee employee = create("audit.diff@example.com", source);
+        employee.setName("Audit Renamed");
+        employee.setSalary(55_000.0);
+        employeeService.updateEmployee(employee.getId(), employee);
+        employeeService.assignEmployeeToDepartment(employee.getId(), target.getId());
+
+        List<AuditEntryView> entries = entriesFor(Tombstone.EMPLOYEE, employee.getId());
+
+        assertEquals(List.of("UPDATE", "UPDATE", "CREATE"), entries.stream().map(AuditEntryView::action).toList());
+        entries.forEach(entry -> assertEquals("auditor", entry.principal()));
+        assertEquals(Map.of("departmentId", Map.of("from", source.getId().intValue(), "to", target.getId().intValue())),
+                changes(entries.get(0)));
+        assertEquals(Map.of("name", change("Audit Employee", "Audit Renamed"), "salary", change(null, 55_000.0)),
+                changes(entries.get(1)));
+        assertEquals("audit.diff@example.com", ((Map<?, ?>) changes(entries.get(2)).get("email")).get("to"));
+    }
+
+    @Test
+    void recordsDeletesAndSetBasedTransfers() throws Exception {
+        Department target = fixture.department("Audit Target");
+        Employee first = create("audit.bulk1@example.com", source);
+        Employee second = create("audit.bulk2@example.com", source);
+        employeeService.transferEmployees(source.getId(), new DepartmentTransferRequest(target.getId(), null, null));
+        employeeService.deleteEmployee(first.getId());
+
+        AuditEntryView deleted = entriesFor(Tombstone.EMPLOYEE, first.getId()).get(0);
+        assertEquals("DELETE", deleted.action());
+        assertEquals(change("audit.bulk1@example.com", null), changes(deleted).get("email"));
+
+        // One entry per employee the set-based transfer moved
+        for (Employee moved : List.of(first, second)) {
+            AuditEntryView transfer = entriesFor(Tombstone.EMPLOYEE, moved.getId()).stream()
+                    .filter(entry -> entry.action().equals("TRANSFER")).findFirst().orElseThrow();
+            assertEquals(2, transfer.rowCount());
+            assertEquals("auditor", transfer.principal());
+            assertEquals(change(source.getId().intValue(), target.getId().intValue()), changes(transfer).get("departmentId"));
+        }
+    }
+
+    @Test
+    void departmentDeleteAuditsEachEmployeeItUnassigns() throws Exception {
+        Department closing = fixture.department("Audit Closing");
+        Employee employee = create("audit.closing@example.com", closing);
+
+        departmentService.deleteDepartment(closing.getId(), DepartmentDeletePolicy.UNASSIGN, null);
+
+        AuditEntryView transfer = entriesFor(Tombstone.EMPLOYEE, employee.getId()).get(0);
+        assertEquals("TRANSFER", transfer.action());
+        assertEquals(1, transfer.rowCount());
+        assertEquals(change(closing.getId().intValue(), null), changes(transfer).get("departmentId"));
+    }
+
+    @Test
+    void rolledBackChangesAreNotRecorded() {
+        Department target = fixture.department("Audit Target");
+        create("audit.duplicate@example.com", source);
+        assertTrue(auditLogService.flush(5_000));
+        long written = auditLogService.getWrittenCount();
+
+        assertThrows(DuplicateEmailException.class, () -> create("audit.duplicate@example.com", target));
+
+        assertTrue(auditLogService.flush(5_000));
+        assertEquals(written, auditLogService.getWrittenCount());
+    }
+
+    @Test
+    void pagesNewestFirst() {
+        Employee employee = create("audit.page@example.com", source);
+        for (int i = 0; i < 3; i++) {
+            employee.setPhone("555-000" + i);
+            employee = employeeService.updateEmployee(employee.getId(), employee);
+        }
+        assertTrue(auditLogService.flush(5_000));
+
+        CursorPage<AuditEntryView> first = auditLogService.getAuditPage(Tombstone.EMPLOYEE, employee.getId(), null, null, 3);
+        CursorPage<AuditEntryView> second = auditLogService.getAuditPage(Tombstone.EMPLOYEE, employee.getId(), null,
+                first.getNextCursor(), 3);
+
+        assertEquals(List.of("UPDATE", "UPDATE", "UPDATE"), first.getItems().stream().map(AuditEntryView::action).toList());
+        assertNotNull(first.getNextCursor());
+        assertEquals("CREATE", second.getItems().get(0).action());
+        assertTrue(second.getItems().get(0).id() < first.getItems().get(2).id());
+        assertThrows(IllegalArgumentException.class, () -> auditLogService.getAuditPage("user", null, null, null, null));
+    }
+
+    @Test
+    void fullQueueSpillsWithoutHoldingProducersConnections(@TempDir Path spillDirectory) throws Exception {
+        // Two connections for the producers and the writer together; a producer queues its entries
+        // before the transaction manager returns its connection
+        try (HikariDataSource pool = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build()) {
+            pool.setMaximumPoolSize(2);
+            pool.setConnectionTimeout(250);
+            DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(pool);
+            JdbcTemplate poolJdbcTemplate = new JdbcTemplate(pool);
+            AuditLogService small = new AuditLogService(poolJdbcTemplate, transactionManager, objectMapper,
+                    2, 1, 10, spillDirectory.toString(), 3, 10, 5_000);
+            small.start();
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+            ExecutorService producers = Executors.newFixedThreadPool(2);
+            try {
+                List<Future<?>> transactions = new ArrayList<>();
+                for (int t = 0; t < 6; t++) {
+                    int transaction = t;
+                    transactions.add(producers.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                        poolJdbcTemplate.queryForObject("SELECT 1", Integer.class);
+                        for (int i = 0; i < ENTRIES_PER_TRANSACTION; i++) {
+                            small.record(AuditAction.DELETE, Tombstone.EMPLOYEE, spilledId(transaction, i), 1, Map.of());
+                        }
+                    })));
+                }
+                for (Future<?> transaction : transactions) {
+                    transaction.get(10, TimeUnit.SECONDS);
+                }
+                assertTrue(small.flush(10_000));
+            } finally {
+                producers.shutdown();
+                small.destroy();
+            }
+
+            assertTrue(small.getSpilledCount() > 0);
+            assertEquals(0, small.getDroppedCount());
+            assertEquals(0, small.getFailedCount());
+            assertEquals(6 * ENTRIES_PER_TRANSACTION, small.getWrittenCount());
+            // Each transaction's entries are still in the order it recorded them
+            List<Long> written = jdbcTemplate.queryForList(
+                    "SELECT entity_id FROM audit_log WHERE entity_id < 0 ORDER BY id", Long.class);
+            assertEquals(6 * ENTRIES_PER_TRANSACTION, written.size());
+            Map<Long, Long> lastByTransaction = new HashMap<>();
+            for (long id : written) {
+                Long previous = lastByTransaction.put((-id - 1) / ENTRIES_PER_TRANSACTION, id);
+                assertTrue(previous == null || previous > id);
+            }
+        } finally {
+            jdbcTemplate.update("DELETE FROM audit_log WHERE entity_id < 0");
+        }
+    }
+
+    @Test
+    void setBasedChangeTakesOneQueueSlot(@TempDir Path spillDirectory) throws Exception {
+        List<Long> ids = LongStream.rangeClosed(1, 1_000).map(id -> -id).boxed().toList();
+        AuditLogService small = new AuditLogService(jdbcTemplate, transactionManager, objectMapper, 1, 100, 10,
+                spillDirectory.toString(), 3, 10, 5_000);
+        small.start();
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                    small.recordEach(AuditAction.TRANSFER, Tombstone.EMPLOYEE, ids, Map.of()));
+            assertTrue(small.flush(10_000));
+
+            assertEquals(0, small.getSpilledCount());
+            assertEquals(ids.size(), small.getWrittenCount());
+            assertEquals(ids.size(), jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM audit_log WHERE entity_id < 0 AND row_count = 1000", Integer.class));
+        } finally {
+            small.destroy();
+            jdbcTemplate.update("DELETE FROM audit_log WHERE entity_id < 0");
+        }
+    }
+
+    @Test
+    void rejectedBatchIsRetriedThenSpilledAndWrittenOnTheNextStart(@TempDir Path spillDirectory) throws Exception {
+        UnavailableTransactionManager unavailable = new UnavailableTransactionManager();
+        AuditLogService down = new AuditLogService(jdbcTemplate, unavailable, objectMapper, 10, 2, 10,
+                spillDirectory.toString(), 3, 10, 5_000);
+        down.start();
+        try {
+            down.record(AuditAction.DELETE, Tombstone.EMPLOYEE, -1L, 1, Map.of());
+            down.record(AuditAction.DELETE, Tombstone.EMPLOYEE, -2L, 1, Map.of());
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (unavailable.attempts().get() < 3 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            assertTrue(unavailable.attempts().get() >= 3, "batch was not retried");
+        } finally {
+            down.destroy();
+        }
+        assertEquals(0, down.getWrittenCount());
+        assertEquals(0, down.getFailedCount());
+        assertEquals(0, down.getDroppedCount());
+
+        AuditLogService restarted = new AuditLogService(jdbcTemplate, transactionManager, objectMapper, 10, 2, 10,
+                spillDirectory.toString(), 3, 10, 5_000);
+        restarted.start();
+        try {
+            assertTrue(restarted.flush(5_000));
+            assertEquals(2, restarted.getWrittenCount());
+            assertEquals(List.of(-1L, -2L), jdbcTemplate.queryForList(
+                    "SELECT entity_id FROM audit_log WHERE entity_id < 0 ORDER BY id", Long.class));
+        } finally {
+            restarted.destroy();
+            jdbcTemplate.update("DELETE FROM audit_log WHERE entity_id < 0");
+        }
+    }
+
+    private List<AuditEntryView> entriesFor(String entity, Long id) {
+        assertTrue(auditLogService.flush(5_000));
+        return auditLogService.getAuditPage(entity, id, null, null, null).getItems().stream()
+                .filter(entry -> entry.id() > baseline).toList();
+    }
+
+    private Map<?, ?> changes(AuditEntryView entry) throws Exception {
+        return objectMapper.readValue(entry.changes(), Map.class);
+    }
+
+    private static Map<String, Object> change(Object from, Object to) {
+        Map<String, Object> change = new HashMap<>();
+        change.put("from", from);
+        change.put("to", to);
+        return change;
+    }
+
+    // Negative, so these never meet a real employee's entries
+    private static long spilledId(int transaction, int index) {
+        return -(transaction * (long) ENTRIES_PER_TRANSACTION + index + 1);
+    }
+
+    private Employee create(String email, Department department) {
+        return fixture.employee("Audit Employee", email, department);
+    }
+
+    // Rejects every batch, counting the tries
+    private record UnavailableTransactionManager(AtomicInteger attempts) implements PlatformTransactionManager {
+
+        UnavailableTransactionManager() {
+            this(new AtomicInteger());
+        }
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("audit store unavailable");
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+}
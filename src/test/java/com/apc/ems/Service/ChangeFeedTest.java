@@ -0,0 +1,198 @@
+package com.apc.ems.Service;
+
+import com.apc.ems.DTOs.ChangeFeedPage;
+import com.apc.ems.DTOs.DepartmentTransferRequest;
+import com.apc.ems.DTOs.EmployeeView;
+import com.apc.ems.DTOs.EntityChange;
+import com.apc.ems.Entities.Department;
+import com.apc.ems.Entities.Employee;
+import com.apc.ems.Entities.Tombstone;
+import com.apc.ems.Repository.ChangeSequence;
+import com.apc.ems.TestFixture;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The change feed returns each change after a position exactly once, including deletes and the
+ * many rows of one bulk statement, never skips a change that commits late, and reads a page
+ * with a fixed number of statements.
+ */
+@SpringBootTest
+class ChangeFeedTest {
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    @Autowired
+    private ChangeSequence changeSequence;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private TestFixture fixture;
+    private Department source;
+    private String since;
+
+    @BeforeEach
+    void createFixture() {
+        fixture = new TestFixture(employeeService, departmentService);
+        source = fixture.department("Feed Source");
+        since = Long.toString(changeSequence.watermark());
+    }
+
+    @AfterEach
+    void removeFixture() {
+        fixture.remove();
+    }
+
+    @Test
+    void returnsLatestStateAndTombstonesAfterPosition() {
+        Department extra = fixture.department("Feed Extra");
+        Employee kept = create("feed.kept@example.com", source);
+        Employee removed = create("feed.removed@example.com", source);
+        kept.setName("Feed Renamed");
+        employeeService.updateEmployee(kept.getId(), kept);
+        employeeService.deleteEmployee(removed.getId());
+        departmentService.deleteDepartment(extra.getId());
+
+        ChangeFeedPage page = changeFeedService.getChangesSince(since, null);
+
+        List<EntityChange> items = page.getItems();
+        assertFalse(page.isHasMore());
+        assertEquals(3, items.size());
+        assertEquals(kept.getId(), items.get(0).id());
+        assertEquals("Feed Renamed", ((EmployeeView) items.get(0).data()).name());
+        assertEquals(change(Tombstone.EMPLOYEE, removed.getId(), true), describe(items.get(1)));
+        assertEquals(change(Tombstone.DEPARTMENT, extra.getId(), true), describe(items.get(2)));
+        assertTrue(items.get(0).seq() < items.get(1).seq() && items.get(1).seq() < items.get(2).seq());
+        assertTrue(changeFeedService.getChangesSince(page.getNextSince(), null).getItems().isEmpty());
+    }
+
+    @Test
+    void pagesThroughOneBulkStatementWithoutGapsOrRepeats() {
+        Department target = fixture.department("Feed Target");
+        Set<Long> moved = new HashSet<>();
+        for (int i = 0; i < 5; i++) {
+            moved.add(create("feed.bulk" + i + "@example.com", source).getId());
+        }
+        String afterCreates = changeFeedService.getChangesSince(since, null).getNextSince();
+        employeeService.transferEmployees(source.getId(), new DepartmentTransferRequest(target.getId(), null, null));
+
+        Set<Long> seen = new HashSet<>();
+        Set<Long> numbers = new HashSet<>();
+        String position = afterCreates;
+        ChangeFeedPage page;
+        do {
+            page = changeFeedService.getChangesSince(position, 2);
+            for (EntityChange change : page.getItems()) {
+                assertTrue(seen.add(change.id()), "repeated " + change.id());
+                assertEquals(target.getId(), ((EmployeeView) change.data()).department().id());
+                numbers.add(change.seq());
+            }
+            position = page.getNextSince();
+        } while (page.isHasMore());
+
+        assertEquals(moved, seen);
+        assertEquals(1, numbers.size());
+    }
+
+    @Test
+    void waitsForChangesThatCommitLate() throws Exception {
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        AtomicReference<Employee> late = new AtomicReference<>();
+        Thread writer = new Thread(() -> transactionTemplate.executeWithoutResult(status -> {
+            late.set(create("feed.late@example.com", source));
+            written.countDown();
+            await(commit);
+        }));
+        writer.start();
+        try {
+            assertTrue(written.await(10, TimeUnit.SECONDS));
+            // Committed after the late employee was numbered, so it must not move the position past it
+            Employee early = create("feed.early@example.com", source);
+
+            ChangeFeedPage before = changeFeedService.getChangesSince(since, null);
+
+            assertTrue(before.getItems().isEmpty(), "read past an uncommitted change");
+            commit.countDown();
+            writer.join(10_000);
+            List<Long> ids = changeFeedService.getChangesSince(before.getNextSince(), null).getItems().stream()
+                    .map(EntityChange::id).toList();
+            assertEquals(List.of(late.get().getId(), early.getId()), ids);
+        } finally {
+            commit.countDown();
+            writer.join(10_000);
+        }
+    }
+
+    @Test
+    void readsAPageWithOneStatementPerSource() {
+        for (int i = 0; i < 3; i++) {
+            create("feed.count" + i + "@example.com", source);
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        ChangeFeedPage page = changeFeedService.getChangesSince(since, 2);
+
+        assertEquals(2, page.getItems().size());
+        assertTrue(page.isHasMore());
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void rejectsInvalidPositions() {
+        assertThrows(IllegalArgumentException.class, () -> changeFeedService.getChangesSince("abc", null));
+        assertThrows(IllegalArgumentException.class, () -> changeFeedService.getChangesSince("5:7:1", null));
+        assertThrows(IllegalArgumentException.class, () -> changeFeedService.getChangesSince(since, 0));
+    }
+
+    private Employee create(String email, Department department) {
+        return fixture.employee("Feed Employee " + email, email, department);
+    }
+
+    private static String describe(EntityChange change) {
+        return change(change.entity(), change.id(), change.deleted());
+    }
+
+    private static String change(String entity, Long id, boolean deleted) {
+        return entity + " " + id + (deleted ? " deleted" : "");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
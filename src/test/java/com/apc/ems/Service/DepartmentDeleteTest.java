@@ -0,0 +1,137 @@
+package com.apc.ems.Service;
+
+import com.apc.ems.Entities.Department;
+import com.apc.ems.Entities.Employee;
+import com.apc.ems.TestFixture;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Department deletes never hydrate the roster: each policy runs a fixed number of statements
+ * whatever the department size, and employees are only removed from it on request.
+ */
+@SpringBootTest
+class DepartmentDeleteTest {
+
+    private static final int EMPLOYEES = 8;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private TestFixture fixture;
+    private Department doomed;
+    private final List<Employee> employees = new ArrayList<>();
+
+    @BeforeEach
+    void createFixture() {
+        fixture = new TestFixture(employeeService, departmentService);
+        doomed = fixture.department("Delete Doomed");
+        for (int i = 0; i < EMPLOYEES; i++) {
+            employees.add(fixture.employee("Delete Employee " + i, "delete" + i + "@example.com", doomed));
+        }
+    }
+
+    @AfterEach
+    void removeFixture() {
+        fixture.remove();
+    }
+
+    @Test
+    void rejectsNonEmptyDepartmentByDefault() {
+        assertThrows(DepartmentNotEmptyException.class, () -> departmentService.deleteDepartment(doomed.getId()));
+
+        assertTrue(departmentService.departmentExists(doomed.getId()));
+        assertEquals(doomed.getId(), departmentOf(employees.get(0)));
+    }
+
+    @Test
+    void reassignsEmployeesWithoutLoadingThem() {
+        Department target = fixture.department("Delete Target");
+        Statistics statistics = statistics();
+
+        int moved = departmentService.deleteDepartment(doomed.getId(), DepartmentDeletePolicy.REASSIGN, target.getId());
+
+        assertEquals(EMPLOYEES, moved);
+        assertEquals(0, statistics.getEntityStatistics(Employee.class.getName()).getLoadCount());
+        // Two existence checks, one UPDATE, the salary aggregate projection, the department lookup
+        // and its DELETE, whatever the department size
+        assertTrue(statistics.getPrepareStatementCount() <= 6, () -> statistics.getPrepareStatementCount() + " statements");
+        assertFalse(departmentService.departmentExists(doomed.getId()));
+        for (Employee before : employees) {
+            Employee after = employeeService.getEmployeeById(before.getId()).orElseThrow();
+            assertEquals(target.getId(), after.getDepartment().getId());
+            assertEquals(before.getVersion() + 1, after.getVersion());
+        }
+    }
+
+    @Test
+    void unassignsEmployeesWithoutLoadingThem() {
+        Statistics statistics = statistics();
+
+        int moved = departmentService.deleteDepartment(doomed.getId(), DepartmentDeletePolicy.UNASSIGN, null);
+
+        assertEquals(EMPLOYEES, moved);
+        assertEquals(0, statistics.getEntityStatistics(Employee.class.getName()).getLoadCount());
+        assertFalse(departmentService.departmentExists(doomed.getId()));
+        assertNull(employeeService.getEmployeeById(employees.get(0).getId()).orElseThrow().getDepartment());
+    }
+
+    @Test
+    void deletesEmptyDepartmentWithDefaultPolicy() {
+        Department target = fixture.department("Delete Target");
+
+        departmentService.deleteDepartment(target.getId());
+
+        assertFalse(departmentService.departmentExists(target.getId()));
+    }
+
+    @Test
+    void rejectsInvalidReassignTargets() {
+        assertThrows(IllegalArgumentException.class,
+                () -> departmentService.deleteDepartment(doomed.getId(), DepartmentDeletePolicy.REASSIGN, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> departmentService.deleteDepartment(doomed.getId(), DepartmentDeletePolicy.REASSIGN, doomed.getId()));
+        assertThrows(RuntimeException.class,
+                () -> departmentService.deleteDepartment(doomed.getId(), DepartmentDeletePolicy.REASSIGN, -1L));
+        assertTrue(departmentService.departmentExists(doomed.getId()));
+        assertEquals(doomed.getId(), departmentOf(employees.get(0)));
+    }
+
+    @Test
+    void resolvesPolicyParameter() {
+        assertEquals(DepartmentDeletePolicy.REJECT, DepartmentDeletePolicy.resolve(null));
+        assertEquals(DepartmentDeletePolicy.REASSIGN, DepartmentDeletePolicy.resolve("reassign"));
+        assertThrows(IllegalArgumentException.class, () -> DepartmentDeletePolicy.resolve("cascade"));
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    private Long departmentOf(Employee employee) {
+        return employeeService.getEmployeeById(employee.getId()).orElseThrow().getDepartment().getId();
+    }
+}
@@ -0,0 +1,121 @@
+package com.apc.ems.Service;
+
+import com.apc.ems.DTOs.BulkImportResult;
+import com.apc.ems.Entities.Employee;
+import com.apc.ems.Repository.EmployeeRepository;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Every row of an upload ends up created or reported: malformed JSON elements and rows that lose
+ * a race to a concurrent writer are row errors, never the end of the import.
+ */
+@SpringBootTest
+class EmployeeImportTest {
+
+    // Runs once right after the next e-mail pre-check, i.e. between the check and the insert
+    private static final AtomicReference<Runnable> AFTER_EMAIL_CHECK = new AtomicReference<>();
+
+    @Autowired
+    private EmployeeImportService employeeImportService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @AfterEach
+    void removeImported() {
+        AFTER_EMAIL_CHECK.set(null);
+        for (String email : List.of("import.race@example.com", "import.first@example.com",
+                "import.second@example.com", "import.third@example.com", "import.bad@example.com")) {
+            employeeService.getEmployeeByEmail(email).ifPresent(employee -> employeeService.deleteEmployee(employee.getId()));
+        }
+    }
+
+    @Test
+    void duplicateCommittedAfterThePreCheckIsARowError() throws Exception {
+        AFTER_EMAIL_CHECK.set(() -> {
+            Employee competitor = new Employee();
+            competitor.setName("Import Competitor");
+            competitor.setEmail("import.race@example.com");
+            employeeService.createEmployee(competitor);
+        });
+
+        BulkImportResult result = employeeImportService.importJson(json("""
+                [{"name": "Import Race", "email": "import.race@example.com"},
+                 {"name": "Import First", "email": "import.first@example.com"},
+                 {"name": "Import Second", "email": "import.second@example.com"}]
+                """), 10);
+
+        assertEquals(3, result.getReceived());
+        assertEquals(2, result.getCreated());
+        assertEquals(1, result.getFailed());
+        assertEquals(1, result.getErrors().get(0).getRow());
+        assertEquals("Import Competitor", employeeService.getEmployeeByEmail("import.race@example.com").orElseThrow().getName());
+        assertTrue(employeeService.getEmployeeByEmail("import.second@example.com").isPresent());
+    }
+
+    @Test
+    void malformedJsonElementsAreRowErrors() throws Exception {
+        BulkImportResult result = employeeImportService.importJson(json("""
+                [{"name": "Import First", "email": "import.first@example.com"},
+                 {"name": "Import Bad", "email": "import.bad@example.com", "salary": "abc"},
+                 42,
+                 {"name": "Import Second", "email": "import.second@example.com"},
+                 ["not", "an", "employee"],
+                 {"name": "Import Third", "email": "import.third@example.com"}]
+                """), 1);
+
+        assertEquals(6, result.getReceived());
+        assertEquals(3, result.getCreated());
+        assertEquals(List.of(2L, 3L, 5L), result.getErrors().stream().map(BulkImportResult.RowError::getRow).toList());
+        assertEquals("import.bad@example.com", result.getErrors().get(0).getEmail());
+        assertTrue(employeeService.getEmployeeByEmail("import.third@example.com").isPresent());
+    }
+
+    private static ByteArrayInputStream json(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @TestConfiguration
+    static class EmailCheckHook {
+
+        @Bean
+        static BeanPostProcessor afterEmailCheck() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof EmployeeRepository)) {
+                        return bean;
+                    }
+                    ProxyFactory proxy = new ProxyFactory(bean);
+                    proxy.addAdvice((MethodInterceptor) invocation -> {
+                        Object result = invocation.proceed();
+                        if (invocation.getMethod().getName().equals("findExistingEmails")) {
+                            Runnable hook = AFTER_EMAIL_CHECK.getAndSet(null);
+                            if (hook != null) {
+                                hook.run();
+                            }
+                        }
+                        return result;
+                    });
+                    return proxy.getProxy();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.apc.ems.Service;
+
+import com.apc.ems.DTOs.DepartmentTransferRequest;
+import com.apc.ems.DTOs.DepartmentTransferResult;
+import com.apc.ems.DTOs.EmployeeSearchCriteria;
+import com.apc.ems.TestFixture;
+import com.apc.ems.Entities.Department;
+import com.apc.ems.Entities.Employee;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Bulk transfers move exactly the selected employees with a fixed number of statements,
+ * bump their versions and leave no stale second-level cache entry behind.
+ */
+@SpringBootTest
+class EmployeeTransferTest {
+
+    private static final int EMPLOYEES = 6;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private TestFixture fixture;
+    private Department source;
+    private Department target;
+    private final List<Employee> employees = new ArrayList<>();
+
+    @BeforeEach
+    void createFixture() {
+        fixture = new TestFixture(employeeService, departmentService);
+        source = fixture.department("Transfer Source");
+        target = fixture.department("Transfer Target");
+        for (int i = 0; i < EMPLOYEES; i++) {
+            employees.add(fixture.employee("Transfer Employee " + i, "transfer" + i + "@example.com", source,
+                    10_000.0 * (i + 1)));
+        }
+    }
+
+    @AfterEach
+    void removeFixture() {
+        fixture.remove();
+    }
+
+    @Test
+    void transfersWholeDepartmentWithConstantStatementCount() {
+        // Warm the second-level cache so a missed eviction would show up as a stale department
+        employees.forEach(employee -> employeeService.getEmployeeById(employee.getId()));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        DepartmentTransferResult result = employeeService.transferEmployees(source.getId(),
+                new DepartmentTransferRequest(target.getId(), null, null));
+
+        assertEquals(EMPLOYEES, result.getTransferred());
+        assertEquals(null, result.getRequested());
+        // Two existence checks, one UPDATE and the projection that moves the salary aggregates,
+        // whatever the department size
+        assertEquals(4, statistics.getPrepareStatementCount());
+        for (Employee before : employees) {
+            Employee after = employeeService.getEmployeeById(before.getId()).orElseThrow();
+            assertEquals(target.getId(), after.getDepartment().getId());
+            assertEquals(before.getVersion() + 1, after.getVersion());
+        }
+    }
+
+    @Test
+    void transfersOnlyListedEmployeesStillInTheSourceDepartment() {
+        Long outsider = employees.get(5).getId();
+        employeeService.transferEmployees(source.getId(),
+                new DepartmentTransferRequest(target.getId(), List.of(outsider), null));
+
+        DepartmentTransferResult result = employeeService.transferEmployees(source.getId(),
+                new DepartmentTransferRequest(target.getId(), List.of(employees.get(0).getId(), outsider), null));
+
+        assertEquals(2, result.getRequested());
+        assertEquals(1, result.getTransferred());
+        assertEquals(target.getId(), departmentOf(employees.get(0)));
+        assertEquals(source.getId(), departmentOf(employees.get(1)));
+    }
+
+    @Test
+    void transfersOnlyEmployeesMatchingTheFilter() {
+        EmployeeSearchCriteria filter = new EmployeeSearchCriteria();
+        filter.setMinSalary(40_000.0);
+
+        DepartmentTransferResult result = employeeService.transferEmployees(source.getId(),
+                new DepartmentTransferRequest(target.getId(), null, filter));
+
+        assertEquals(3, result.getTransferred());
+        assertEquals(source.getId(), departmentOf(employees.get(2)));
+        assertEquals(target.getId(), departmentOf(employees.get(3)));
+    }
+
+    @Test
+    void changesTheEmployeeTag() {
+        String before = employeeService.getEmployeeTag(employees.get(0).getId()).orElseThrow();
+
+        employeeService.transferEmployees(source.getId(), new DepartmentTransferRequest(target.getId(), null, null));
+
+        assertNotEquals(before, employeeService.getEmployeeTag(employees.get(0).getId()).orElseThrow());
+    }
+
+    @Test
+    void rejectsInvalidTargets() {
+        assertThrows(IllegalArgumentException.class, () -> employeeService.transferEmployees(source.getId(),
+                new DepartmentTransferRequest(source.getId(), null, null)));
+        assertThrows(RuntimeException.class, () -> employeeService.transferEmployees(source.getId(),
+                new DepartmentTransferRequest(-1L, null, null)));
+        assertEquals(source.getId(), departmentOf(employees.get(0)));
+    }
+
+    private Long departmentOf(Employee employee) {
+        return employeeService.getEmployeeById(employee.getId()).orElseThrow().getDepartment().getId();
+    }
+}
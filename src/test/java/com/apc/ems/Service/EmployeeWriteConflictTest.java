@@ -0,0 +1,161 @@
+package com.apc.ems.Service;
+
+import com.apc.ems.DTOs.EmployeeUpsertResult;
+import com.apc.ems.Entities.Employee;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Email uniqueness is enforced by the database constraint: duplicates surface as a typed
+ * conflict even when writers race, and upserts by email are a single write statement.
+ */
+@SpringBootTest
+class EmployeeWriteConflictTest {
+
+    private static final int WRITERS = 8;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private TypeaheadService typeaheadService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<String> emails = new ArrayList<>();
+
+    @AfterEach
+    void removeFixture() {
+        for (String email : emails) {
+            employeeService.getEmployeeByEmail(email).ifPresent(employee -> employeeService.deleteEmployee(employee.getId()));
+        }
+        emails.clear();
+    }
+
+    @Test
+    void duplicateCreateIsAConflict() {
+        employeeService.createEmployee(employee("Conflict First", email("conflict.first@example.com")));
+
+        assertThrows(DuplicateEmailException.class,
+                () -> employeeService.createEmployee(employee("Conflict Second", "conflict.first@example.com")));
+    }
+
+    @Test
+    void concurrentCreatesOfOneEmailLetExactlyOneWin() throws Exception {
+        String email = email("conflict.race@example.com");
+        List<Future<Employee>> results = race(() -> employeeService.createEmployee(employee("Conflict Racer", email)));
+
+        int created = 0;
+        for (Future<Employee> result : results) {
+            try {
+                result.get();
+                created++;
+            } catch (ExecutionException e) {
+                assertInstanceOf(DuplicateEmailException.class, e.getCause());
+            }
+        }
+        assertEquals(1, created);
+    }
+
+    @Test
+    void updateToATakenEmailIsAConflict() {
+        employeeService.createEmployee(employee("Conflict Taken", email("conflict.taken@example.com")));
+        Employee other = employeeService.createEmployee(employee("Conflict Other", email("conflict.other@example.com")));
+
+        assertThrows(DuplicateEmailException.class,
+                () -> employeeService.updateEmployee(other.getId(), employee("Conflict Other", "conflict.taken@example.com")));
+        assertEquals("conflict.other@example.com", employeeService.getEmployeeById(other.getId()).orElseThrow().getEmail());
+    }
+
+    @Test
+    void upsertInsertsThenUpdatesWithOneWriteStatement() {
+        String email = email("conflict.upsert@example.com");
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        EmployeeUpsertResult inserted = employeeService.upsertEmployeeByEmail(email, employee("Upsert Before", null));
+        statistics.clear();
+        Employee changes = employee("Upsert After", email);
+        changes.setSalary(75_000.0);
+        EmployeeUpsertResult updated = employeeService.upsertEmployeeByEmail(email, changes);
+
+        assertTrue(inserted.created());
+        assertFalse(updated.created());
+        assertEquals(inserted.employee().id(), updated.employee().id());
+        assertEquals(inserted.employee().version() + 1, updated.employee().version());
+        assertEquals("Upsert After", updated.employee().name());
+        // The upsert itself and the read-back of the stored row
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals("Upsert After", employeeService.getEmployeeById(updated.employee().id()).orElseThrow().getName());
+        assertEquals(updated.employee().id(), typeaheadService.typeahead("Upsert Aft", 10).get(0).getId());
+    }
+
+    @Test
+    void concurrentUpsertsOfOneEmailLeaveOneRow() throws Exception {
+        String email = email("conflict.upsert.race@example.com");
+        List<Future<EmployeeUpsertResult>> results = race(
+                () -> employeeService.upsertEmployeeByEmail(email, employee("Upsert Racer", email)));
+
+        int created = 0;
+        for (Future<EmployeeUpsertResult> result : results) {
+            created += result.get().created() ? 1 : 0;
+        }
+        assertEquals(1, created);
+        assertEquals(WRITERS - 1, employeeService.getEmployeeByEmail(email).orElseThrow().getVersion());
+    }
+
+    @Test
+    void upsertRejectsMismatchedEmail() {
+        assertThrows(IllegalArgumentException.class, () -> employeeService.upsertEmployeeByEmail(
+                email("conflict.path@example.com"), employee("Upsert Mismatch", "conflict.body@example.com")));
+    }
+
+    // Start all writers at once so they contend for the same row
+    private <T> List<Future<T>> race(Callable<T> write) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<T>> results = new ArrayList<>();
+        try (ExecutorService writers = Executors.newFixedThreadPool(WRITERS)) {
+            for (int i = 0; i < WRITERS; i++) {
+                results.add(writers.submit(() -> {
+                    start.await();
+                    return write.call();
+                }));
+            }
+            start.countDown();
+        }
+        return results;
+    }
+
+    private String email(String email) {
+        emails.add(email);
+        return email;
+    }
+
+    private static Employee employee(String name, String email) {
+        Employee employee = new Employee();
+        employee.setName(name);
+        employee.setEmail(email);
+        employee.setSalary(50_000.0);
+        return employee;
+    }
+}
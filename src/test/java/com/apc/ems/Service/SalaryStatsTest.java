@@ -0,0 +1,209 @@
+package com.apc.ems.Service;
+
+import com.apc.ems.DTOs.DepartmentTransferRequest;
+import com.apc.ems.DTOs.SalaryStats;
+import com.apc.ems.Entities.Department;
+import com.apc.ems.Entities.Employee;
+import com.apc.ems.TestFixture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Salary aggregates follow every write path as it commits, and the reconciliation job finds
+ * them in line with the database unless a row was changed behind the application's back.
+ */
+@SpringBootTest
+class SalaryStatsTest {
+
+    @Autowired
+    private SalaryStatsService salaryStatsService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestFixture fixture;
+    private Department finance;
+    private final List<Employee> employees = new ArrayList<>();
+
+    @BeforeEach
+    void createFixture() {
+        fixture = new TestFixture(employeeService, departmentService);
+        finance = fixture.department("Stats Finance");
+        employees.add(create("stats0@example.com", 42_000.0));
+        employees.add(create("stats1@example.com", 58_000.0));
+        employees.add(create("stats2@example.com", 61_500.0));
+        employees.add(create("stats3@example.com", null));
+    }
+
+    @AfterEach
+    void removeFixture() {
+        fixture.remove();
+    }
+
+    @Test
+    void createdEmployeesAreCounted() {
+        SalaryStats stats = salaryStatsService.getDepartmentStats(finance.getId());
+
+        assertEquals(4, stats.getHeadcount());
+        assertEquals(3, stats.getSalariedCount());
+        assertEquals(161_500.0, stats.getTotalSalary(), 0.001);
+        assertEquals(161_500.0 / 3, stats.getAverageSalary(), 0.001);
+        assertEquals(42_000.0, stats.getMinSalary());
+        assertEquals(61_500.0, stats.getMaxSalary());
+        assertEquals(3, stats.getBands().size());
+        assertEquals(40_000.0, stats.getBands().get(0).from());
+        assertEquals(50_000.0, stats.getBands().get(0).to());
+        assertEquals(60_000.0, stats.getBands().get(2).from());
+        assertEquals(1, stats.getBands().get(2).count());
+        assertReconciled();
+    }
+
+    @Test
+    void updatesAndDeletesMoveMinAndMax() {
+        long companyHeadcount = salaryStatsService.getCompanyStats().getHeadcount();
+        Employee highest = employees.get(2);
+        Employee lowest = employees.get(0);
+        employeeService.deleteEmployee(highest.getId());
+        Employee changes = copy(lowest);
+        changes.setSalary(45_000.0);
+        employeeService.updateEmployee(lowest.getId(), changes);
+
+        SalaryStats stats = salaryStatsService.getDepartmentStats(finance.getId());
+        assertEquals(3, stats.getHeadcount());
+        assertEquals(45_000.0, stats.getMinSalary());
+        assertEquals(58_000.0, stats.getMaxSalary());
+        assertEquals(companyHeadcount - 1, salaryStatsService.getCompanyStats().getHeadcount());
+        assertReconciled();
+    }
+
+    @Test
+    void assignmentAndTransfersMoveEmployeesBetweenDepartments() {
+        Department legal = fixture.department("Stats Legal");
+        employeeService.assignEmployeeToDepartment(employees.get(0).getId(), legal.getId());
+        assertEquals(1, salaryStatsService.getDepartmentStats(legal.getId()).getHeadcount());
+
+        employeeService.transferEmployees(finance.getId(), new DepartmentTransferRequest(legal.getId(), null, null));
+
+        assertEquals(0, salaryStatsService.getDepartmentStats(finance.getId()).getHeadcount());
+        assertNull(salaryStatsService.getDepartmentStats(finance.getId()).getAverageSalary());
+        SalaryStats legalStats = salaryStatsService.getDepartmentStats(legal.getId());
+        assertEquals(4, legalStats.getHeadcount());
+        assertEquals(161_500.0, legalStats.getTotalSalary(), 0.001);
+        assertReconciled();
+    }
+
+    @Test
+    void departmentDeletePoliciesMoveTheAggregates() {
+        long unassigned = salaryStatsService.getDepartmentStats(null).getHeadcount();
+
+        departmentService.deleteDepartment(finance.getId(), DepartmentDeletePolicy.UNASSIGN, null);
+
+        assertEquals(0, salaryStatsService.getDepartmentStats(finance.getId()).getHeadcount());
+        assertEquals(unassigned + 4, salaryStatsService.getDepartmentStats(null).getHeadcount());
+        assertReconciled();
+    }
+
+    @Test
+    void deletedDepartmentIsMergedIntoTheTarget() {
+        Department legal = fixture.department("Stats Legal");
+        employeeService.assignEmployeeToDepartment(employees.get(0).getId(), legal.getId());
+
+        departmentService.deleteDepartment(finance.getId(), DepartmentDeletePolicy.REASSIGN, legal.getId());
+
+        SalaryStats legalStats = salaryStatsService.getDepartmentStats(legal.getId());
+        assertEquals(4, legalStats.getHeadcount());
+        assertEquals(161_500.0, legalStats.getTotalSalary(), 0.001);
+        assertEquals(0, salaryStatsService.getDepartmentStats(finance.getId()).getHeadcount());
+
+        // A later write to an employee that came with the merge replaces its contribution in legal
+        Employee moved = employeeService.getEmployeeById(employees.get(2).getId()).orElseThrow();
+        Employee changes = copy(moved);
+        changes.setSalary(70_000.0);
+        employeeService.updateEmployee(moved.getId(), changes);
+
+        legalStats = salaryStatsService.getDepartmentStats(legal.getId());
+        assertEquals(4, legalStats.getHeadcount());
+        assertEquals(70_000.0, legalStats.getMaxSalary());
+        assertReconciled();
+    }
+
+    @Test
+    void staleWriteAfterDeleteIsIgnored() {
+        long companyHeadcount = salaryStatsService.getCompanyStats().getHeadcount();
+        Employee removed = employees.get(1);
+        employeeService.deleteEmployee(removed.getId());
+
+        // An update that committed before the delete but is applied after it
+        salaryStatsService.employeeChanged(removed.getId(), removed.getVersion(), finance.getId(), removed.getSalary());
+
+        assertEquals(3, salaryStatsService.getDepartmentStats(finance.getId()).getHeadcount());
+        assertEquals(companyHeadcount - 1, salaryStatsService.getCompanyStats().getHeadcount());
+        assertReconciled();
+    }
+
+    @Test
+    void upsertsAreApplied() {
+        Department legal = fixture.department("Stats Legal");
+        String email = "stats.upsert@example.com";
+        Employee details = new Employee();
+        details.setName("Stats Upsert");
+        details.setSalary(90_000.0);
+        details.setDepartment(legal);
+        fixture.track(employeeService.upsertEmployeeByEmail(email, details).employee().id());
+        details.setSalary(95_000.0);
+        employeeService.upsertEmployeeByEmail(email, details);
+
+        SalaryStats stats = salaryStatsService.getDepartmentStats(legal.getId());
+        assertEquals(1, stats.getHeadcount());
+        assertEquals(95_000.0, stats.getMaxSalary());
+        assertReconciled();
+    }
+
+    @Test
+    void reconciliationRepairsChangesMadeBehindTheApplication() {
+        long drifts = salaryStatsService.getDriftCount();
+        jdbcTemplate.update("UPDATE employees SET salary = 99000 WHERE id = ?", employees.get(1).getId());
+
+        Set<Long> drifted = salaryStatsService.reconcile();
+
+        assertEquals(Set.of(finance.getId()), drifted);
+        assertEquals(drifts + 1, salaryStatsService.getDriftCount());
+        assertEquals(99_000.0, salaryStatsService.getDepartmentStats(finance.getId()).getMaxSalary());
+        assertReconciled();
+    }
+
+    private void assertReconciled() {
+        assertTrue(salaryStatsService.reconcile().isEmpty(), "aggregates differ from a full recompute");
+    }
+
+    private Employee create(String email, Double salary) {
+        return fixture.employee("Stats Employee " + email, email, finance, salary);
+    }
+
+    private static Employee copy(Employee employee) {
+        Employee copy = new Employee();
+        copy.setName(employee.getName());
+        copy.setEmail(employee.getEmail());
+        copy.setSalary(employee.getSalary());
+        copy.setDepartment(employee.getDepartment());
+        return copy;
+    }
+}
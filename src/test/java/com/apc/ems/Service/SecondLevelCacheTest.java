@@ -0,0 +1,113 @@
+package com.apc.ems.Service;
+
+import com.apc.ems.Entities.Department;
+import com.apc.ems.Entities.Employee;
+import com.apc.ems.TestFixture;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Repeated department and employee lookups must be served from the second-level cache,
+ * and department updates and deletes must never leave a stale entry behind.
+ */
+@SpringBootTest
+class SecondLevelCacheTest {
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private TestFixture fixture;
+    private Department department;
+
+    @BeforeEach
+    void createFixture() {
+        fixture = new TestFixture(employeeService, departmentService);
+        department = fixture.department("Cache Dept");
+    }
+
+    @AfterEach
+    void removeFixture() {
+        fixture.remove();
+    }
+
+    @Test
+    void departmentByIdIsServedFromCache() {
+        departmentService.getDepartmentById(department.getId());
+
+        Optional<Department> cached = statementsFor(0, () -> departmentService.getDepartmentById(department.getId()));
+        assertEquals("Cache Dept", cached.orElseThrow().getName());
+    }
+
+    @Test
+    void departmentByNameIsServedFromQueryCache() {
+        departmentService.getDepartmentByName("Cache Dept");
+
+        Optional<Department> cached = statementsFor(0, () -> departmentService.getDepartmentByName("Cache Dept"));
+        assertEquals(department.getId(), cached.orElseThrow().getId());
+    }
+
+    @Test
+    void employeeByIdIsServedFromCache() {
+        Employee employee = fixture.employee("Cache Employee", "cache.employee@example.com", department);
+        employeeService.getEmployeeById(employee.getId());
+
+        Optional<Employee> cached = statementsFor(0, () -> employeeService.getEmployeeById(employee.getId()));
+        assertEquals("cache.employee@example.com", cached.orElseThrow().getEmail());
+    }
+
+    @Test
+    void updateReplacesCachedDepartment() {
+        departmentService.getDepartmentById(department.getId());
+        departmentService.getDepartmentByName("Cache Dept");
+
+        Department details = TestFixture.departmentNamed("Cache Dept Renamed");
+        details.setDescription("after");
+        departmentService.updateDepartment(department.getId(), details);
+
+        assertEquals("after", departmentService.getDepartmentById(department.getId()).orElseThrow().getDescription());
+        assertFalse(departmentService.getDepartmentByName("Cache Dept").isPresent());
+        assertTrue(departmentService.getDepartmentByName("Cache Dept Renamed").isPresent());
+    }
+
+    @Test
+    void deleteEvictsCachedDepartmentAndEmployees() {
+        Employee employee = fixture.employee("Cache Employee", "cache.employee@example.com", department);
+        departmentService.getDepartmentById(department.getId());
+        departmentService.getDepartmentByName("Cache Dept");
+        employeeService.getEmployeeById(employee.getId());
+
+        departmentService.deleteDepartment(department.getId(), DepartmentDeletePolicy.UNASSIGN, null);
+
+        assertFalse(departmentService.getDepartmentById(department.getId()).isPresent());
+        assertFalse(departmentService.getDepartmentByName("Cache Dept").isPresent());
+        assertNull(employeeService.getEmployeeById(employee.getId()).orElseThrow().getDepartment());
+    }
+
+    private <T> T statementsFor(long expected, Supplier<T> lookup) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        T result = lookup.get();
+        assertEquals(expected, statistics.getPrepareStatementCount());
+        return result;
+    }
+}
@@ -0,0 +1,124 @@
+package com.apc.ems.Service;
+
+import com.apc.ems.DTOs.EmployeeSummary;
+import com.apc.ems.Entities.Employee;
+import com.apc.ems.Repository.EmployeeRepository;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Writes that commit while the typeahead index is reloading survive the reload: the snapshot
+ * being streamed never resurrects a deleted employee or hides a new one. Writes applied out of
+ * order keep the newest state.
+ */
+@SpringBootTest
+class TypeaheadRebuildTest {
+
+    // Runs once when the reload reads its first row, i.e. while the snapshot is being streamed
+    private static final AtomicReference<Runnable> DURING_LOAD = new AtomicReference<>();
+
+    @Autowired
+    private TypeaheadService typeaheadService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @AfterEach
+    void removeEmployees() {
+        DURING_LOAD.set(null);
+        for (String email : List.of("typeahead.ghost@example.com", "typeahead.newcomer@example.com")) {
+            employeeService.getEmployeeByEmail(email).ifPresent(employee -> employeeService.deleteEmployee(employee.getId()));
+        }
+    }
+
+    @Test
+    void writesDuringReloadAreReplayed() throws Exception {
+        Employee ghost = create("Quillon Ghost", "typeahead.ghost@example.com");
+        DURING_LOAD.set(() -> {
+            // Committed from another thread, as a concurrent request would
+            Thread writer = new Thread(() -> {
+                employeeService.deleteEmployee(ghost.getId());
+                create("Quillon Newcomer", "typeahead.newcomer@example.com");
+            });
+            writer.start();
+            try {
+                writer.join(10_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        typeaheadService.rebuild();
+
+        List<String> names = typeaheadService.typeahead("quillon", 10).stream().map(EmployeeSummary::getName).toList();
+        assertTrue(DURING_LOAD.get() == null, "reload did not read any row");
+        assertEquals(List.of("Quillon Newcomer"), names);
+    }
+
+    @Test
+    void outOfOrderWritesKeepTheNewestState() {
+        long id = 9_000_000_001L;
+        typeaheadService.index(id, 2, "Zephyrine Newer", "typeahead.order@example.com");
+        typeaheadService.index(id, 1, "Zephyrine Older", "typeahead.order@example.com");
+        assertEquals(List.of("Zephyrine Newer"), names("zephyrine"));
+
+        typeaheadService.remove(id, 3);
+        typeaheadService.index(id, 3, "Zephyrine Stale", "typeahead.order@example.com");
+        assertEquals(List.of(), names("zephyrine"));
+    }
+
+    private List<String> names(String query) {
+        return typeaheadService.typeahead(query, 10).stream().map(EmployeeSummary::getName).toList();
+    }
+
+    private Employee create(String name, String email) {
+        Employee employee = new Employee();
+        employee.setName(name);
+        employee.setEmail(email);
+        return employeeService.createEmployee(employee);
+    }
+
+    @TestConfiguration
+    static class LoadHook {
+
+        @Bean
+        static BeanPostProcessor duringLoad() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof EmployeeRepository)) {
+                        return bean;
+                    }
+                    ProxyFactory proxy = new ProxyFactory(bean);
+                    proxy.addAdvice((MethodInterceptor) invocation -> {
+                        Object result = invocation.proceed();
+                        if (invocation.getMethod().getName().equals("streamNameRows")) {
+                            return ((Stream<?>) result).peek(row -> {
+                                Runnable hook = DURING_LOAD.getAndSet(null);
+                                if (hook != null) {
+                                    hook.run();
+                                }
+                            });
+                        }
+                        return result;
+                    });
+                    return proxy.getProxy();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.apc.ems;
+
+import com.apc.ems.Entities.Department;
+import com.apc.ems.Entities.Employee;
+import com.apc.ems.Service.DepartmentService;
+import com.apc.ems.Service.EmployeeService;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Departments and employees created through the services for one test, removed again by
+ * {@link #remove()}. Rows a test already deleted, or that went away with their department,
+ * are skipped, and creating from several threads is safe.
+ */
+public class TestFixture {
+
+    private final EmployeeService employeeService;
+    private final DepartmentService departmentService;
+    private final List<Long> employees = new CopyOnWriteArrayList<>();
+    private final List<Long> departments = new CopyOnWriteArrayList<>();
+
+    public TestFixture(EmployeeService employeeService, DepartmentService departmentService) {
+        this.employeeService = employeeService;
+        this.departmentService = departmentService;
+    }
+
+    // Unsaved department details, for creates and updates alike
+    public static Department departmentNamed(String name) {
+        Department department = new Department();
+        department.setName(name);
+        return department;
+    }
+
+    public Department department(String name) {
+        Department created = departmentService.createDepartment(departmentNamed(name));
+        departments.add(created.getId());
+        return created;
+    }
+
+    public Employee employee(String name, String email, Department department) {
+        return employee(name, email, department, null);
+    }
+
+    public Employee employee(String name, String email, Department department, Double salary) {
+        Employee employee = new Employee();
+        employee.setName(name);
+        employee.setEmail(email);
+        employee.setSalary(salary);
+        employee.setDepartment(department);
+        Employee created = employeeService.createEmployee(employee);
+        employees.add(created.getId());
+        return created;
+    }
+
+    // Remove an employee the test created some other way, such as an upsert
+    public void track(Long employeeId) {
+        employees.add(employeeId);
+    }
+
+    public void remove() {
+        for (Long id : employees) {
+            if (employeeService.employeeExists(id)) {
+                employeeService.deleteEmployee(id);
+            }
+        }
+        employees.clear();
+        for (Long id : departments) {
+            if (departmentService.departmentExists(id)) {
+                departmentService.deleteDepartment(id);
+            }
+        }
+        departments.clear();
+    }
+}